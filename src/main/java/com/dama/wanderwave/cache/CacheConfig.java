@@ -1,22 +0,0 @@
-package com.dama.wanderwave.cache;
-
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-
-import java.util.Set;
-import java.util.concurrent.TimeUnit;
-
-@Configuration
-public class CacheConfig {
-
-    @Bean
-    public Cache<String, Set<String>> userRecommendedPostsCache() {
-        return Caffeine.newBuilder()
-                .expireAfterWrite(30, TimeUnit.SECONDS)
-                .maximumSize(1000)
-                .build();
-    }
-
-}
@@ -26,17 +26,17 @@ public class Chat {
 	@Column(name = "chat_id", nullable = false, updatable = false)
 	private String id;
 
-	@ManyToOne(fetch = FetchType.EAGER)
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "sender_id", nullable = false)
 	@NotNull(message = "Sender must be specified")
 	private User sender;
 
-	@OneToOne(fetch = FetchType.EAGER)
+	@OneToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "recipient_id", nullable = false)
 	@NotNull(message = "Recipient must be specified")
 	private User recipient;
 
-	@OneToMany(fetch = FetchType.EAGER, cascade = CascadeType.ALL, mappedBy = "chat")
+	@OneToMany(fetch = FetchType.LAZY, mappedBy = "chat")
 	private List<ChatMessage> messages;
 
 	@Builder.Default
@@ -9,4 +9,5 @@ public record ChatListElement(String userId,
                               String name,
                               String imgUrl,
                               String content,
-                              LocalDateTime createdAt) { }
+                              LocalDateTime createdAt,
+                              int unreadCount) { }
@@ -1,24 +1,26 @@
 package com.dama.wanderwave.chat;
 
+import com.dama.wanderwave.chat.summary.ConversationSummaryService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.dama.wanderwave.handler.chat.ChatRoomException;
 import com.dama.wanderwave.handler.chat.ChatRoomNotFoundException;
 import com.dama.wanderwave.handler.user.UserNotFoundException;
 import com.dama.wanderwave.hash.HashUUIDGenerator;
+import com.dama.wanderwave.message.ChatMessageRepository;
+import com.dama.wanderwave.message.writer.ChatMessageWriter;
 import com.dama.wanderwave.user.User;
 import com.dama.wanderwave.user.UserRepository;
 import com.dama.wanderwave.user.UserService;
-import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.sql.Timestamp;
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -29,7 +31,19 @@ public class ChatService {
     private final UserRepository userRepository;
     private final HashUUIDGenerator hashUUIDGenerator;
     private final UserService userService;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ConversationSummaryService conversationSummaryService;
+    private final ChatMessageWriter chatMessageWriter;
 
+    private final Cache<String, String> chatIds = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    private final Cache<String, Boolean> participants = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
 
     public Optional<Chat> findOrCreateChatRoom(String senderId, String recipientId, boolean createNewRoomIfNotExists) {
         log.info("Getting chat room between senderId: {} and recipientId: {}, createNewRoomIfNotExists: {}", senderId, recipientId, createNewRoomIfNotExists);
@@ -49,9 +63,41 @@ public class ChatService {
     public Chat findChatByUsers(String senderId, String recipientId) {
         log.info("Getting chat room between senderId: {} and recipientId: {}", senderId, recipientId);
         return chatRepository.findBySenderIdAndRecipientId(senderId, recipientId)
-                .orElse(chatRepository.findBySenderIdAndRecipientId(recipientId, senderId)
-                        .orElse(null));
+                .orElse(null);
+    }
+
+    public Optional<String> findChatId(String senderId, String recipientId) {
+        return chatRepository.findIdBySenderIdAndRecipientId(senderId, recipientId);
+    }
 
+    /**
+     * The id of the chat between the two users, creating the room on first use.
+     * Ids are cached, so sending a message usually needs no query.
+     */
+    public String resolveChatId(String senderId, String recipientId) {
+        return chatIds.get(chatKey(senderId, recipientId), key -> findOrCreateChatRoom(senderId, recipientId, true)
+                .map(Chat::getId)
+                .orElseThrow(() -> new ChatRoomNotFoundException("Chat room could not be created or found.")));
+    }
+
+    /**
+     * Whether the user takes part in the chat. Only positive answers are cached,
+     * so a chat created later is seen right away.
+     */
+    public boolean isParticipant(String chatId, String userId) {
+        String key = chatId + ':' + userId;
+        if (participants.getIfPresent(key) != null) {
+            return true;
+        }
+        boolean participant = chatRepository.existsByIdAndParticipantId(chatId, userId);
+        if (participant) {
+            participants.put(key, Boolean.TRUE);
+        }
+        return participant;
+    }
+
+    private static String chatKey(String senderId, String recipientId) {
+        return senderId.compareTo(recipientId) <= 0 ? senderId + ':' + recipientId : recipientId + ':' + senderId;
     }
 
     @Transactional
@@ -119,37 +165,20 @@ public class ChatService {
 
     public List<ChatListElement> retrieveContactsWithLastMessages() {
         User user = userService.getAuthenticatedUser();
-        return getLatestMessagesForUser(user.getId());
-    }
-
-    private List<ChatListElement> getLatestMessagesForUser(String userId) {
-        List<Tuple> tuples = chatRepository.findChatListWithLastMessage(userId);
-
-        return tuples.stream()
-                .map(tuple -> {
-                    LocalDateTime createdAt = Optional.ofNullable(tuple.get("createdAt", Timestamp.class))
-                            .map(Timestamp::toLocalDateTime)
-                            .orElse(null);
-
-                    return ChatListElement.builder()
-                            .userId(tuple.get("userId", String.class))
-                            .name(tuple.get("name", String.class))
-                            .imgUrl(tuple.get("imgUrl", String.class))
-                            .content(tuple.get("content", String.class))
-                            .createdAt(createdAt)
-                            .build();
-                })
-                .sorted((o1, o2) -> o2.createdAt().compareTo(o1.createdAt()))
-                .toList();
+        return conversationSummaryService.contactsOf(user.getId());
     }
 
+    @Transactional
     public void clearChat(String senderId, String recipientId) {
-        Chat chatRoom = chatRepository.findBySenderIdAndRecipientId(senderId, recipientId)
-                .orElse(chatRepository.findBySenderIdAndRecipientId(recipientId, senderId)
-                        .orElse(null));
-
-        if (chatRoom != null) {
-            chatRepository.deleteById(chatRoom.getId());
-        }
+        findChatId(senderId, recipientId).ifPresent(chatId -> {
+            chatIds.invalidate(chatKey(senderId, recipientId));
+            participants.invalidate(chatId + ':' + senderId);
+            participants.invalidate(chatId + ':' + recipientId);
+            chatMessageWriter.discard(chatId);
+            int deleted = chatMessageRepository.deleteByChatId(chatId);
+            chatRepository.deleteChatById(chatId);
+            conversationSummaryService.removeConversation(senderId, recipientId);
+            log.info("Cleared chat room {} with {} messages", chatId, deleted);
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.dama.wanderwave.chat.read;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record MarkReadRequest(@NotBlank String chatId, @NotBlank String upToMessageId) {
+}
@@ -0,0 +1,8 @@
+package com.dama.wanderwave.chat.read;
+
+/**
+ * Tells a chat partner that {@code readerId} has read every message of the
+ * chat up to and including {@code messageId}.
+ */
+public record ReadReceipt(String chatId, String readerId, String messageId) {
+}
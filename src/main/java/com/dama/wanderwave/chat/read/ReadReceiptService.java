@@ -0,0 +1,211 @@
+package com.dama.wanderwave.chat.read;
+
+import com.dama.wanderwave.chat.ChatService;
+import com.dama.wanderwave.handler.user.UnauthorizedActionException;
+import com.dama.wanderwave.user.presence.PresenceService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Advances the read high-water marks kept in {@code conversation_summaries}.
+ * <p>
+ * {@link #markRead} only records the newest message a user has read in a chat;
+ * repeated calls for the same chat overwrite each other until the scheduled
+ * flush, which applies every pending mark with one {@code UPDATE ... FROM (VALUES ...)}.
+ * A mark never moves backwards, and the unread count is recounted from the
+ * partner's messages after it. The summary rows are locked first, in the same
+ * order {@link com.dama.wanderwave.chat.summary.ConversationSummaryService} writes
+ * them, so the recount sees every message whose {@code unread_count + 1} has
+ * already been applied and a concurrent message batch adds its count after it.
+ * Each advanced mark sends one {@link ReadReceipt} to the partner if they are online.
+ * <p>
+ * A message is delivered before {@link com.dama.wanderwave.message.writer.ChatMessageWriter}
+ * stores it, so a mark can name a message that has no row yet. Such a mark is kept
+ * for the next flush until it is {@code max-wait-ms} old, unless a newer mark for
+ * the chat replaces it.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ReadReceiptService {
+
+    static final String RECEIPTS_DESTINATION = "/queue/receipts";
+
+    private static final String LOCK_SQL = """
+            SELECT r.message_id
+            FROM (VALUES %s) AS r(user_id, chat_id, message_id)
+                     JOIN messages m ON m.id = r.message_id AND m.chat_id = r.chat_id
+                     JOIN conversation_summaries s ON s.user_id = r.user_id
+                AND s.partner_id = CASE WHEN m.sender_id = r.user_id THEN m.recipient_id ELSE m.sender_id END
+            WHERE m.sender_id = r.user_id OR m.recipient_id = r.user_id
+            ORDER BY s.user_id, s.partner_id
+            FOR UPDATE OF s
+            """;
+
+    private static final String MARK_READ_SQL = """
+            UPDATE conversation_summaries s
+            SET last_read_message_id = m.id,
+                last_read_at         = m.created_at,
+                unread_count         = (SELECT count(*)
+                                        FROM messages x
+                                        WHERE x.chat_id = m.chat_id
+                                          AND x.sender_id = s.partner_id
+                                          AND (x.created_at, x.id) > (m.created_at, m.id))
+            FROM (VALUES %s) AS r(user_id, chat_id, message_id)
+                     JOIN messages m ON m.id = r.message_id AND m.chat_id = r.chat_id
+            WHERE s.user_id = r.user_id
+              AND (m.sender_id = r.user_id OR m.recipient_id = r.user_id)
+              AND s.partner_id = CASE WHEN m.sender_id = r.user_id THEN m.recipient_id ELSE m.sender_id END
+              AND (s.last_read_at IS NULL OR (s.last_read_at, s.last_read_message_id) < (m.created_at, m.id))
+            RETURNING s.user_id, s.partner_id, r.chat_id, m.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ChatService chatService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+    private final PresenceService presenceService;
+
+    @Value("${application.chat.read-receipts.max-batch:500}")
+    private int maxBatch;
+
+    @Value("${application.chat.read-receipts.max-wait-ms:30000}")
+    private long maxWaitMs;
+
+    private final Map<Key, Mark> pending = new ConcurrentHashMap<>();
+
+    Clock clock = Clock.systemUTC();
+
+    private DistributionSummary batchSize;
+    private TransactionTemplate transactionTemplate;
+
+    record Key(String userId, String chatId) {
+    }
+
+    private record Mark(String messageId, long markedAt) {
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        batchSize = DistributionSummary.builder("chat.read-receipts.flush.batch.size")
+                .description("Number of read marks written by one flush")
+                .register(meterRegistry);
+        Gauge.builder("chat.read-receipts.pending", pending, Map::size)
+                .description("Read marks waiting for the next flush")
+                .register(meterRegistry);
+    }
+
+    public void markRead(String userId, String chatId, String upToMessageId) {
+        if (!chatService.isParticipant(chatId, userId)) {
+            throw new UnauthorizedActionException("User is not a participant of chat " + chatId);
+        }
+        pending.put(new Key(userId, chatId), new Mark(upToMessageId, clock.millis()));
+    }
+
+    @Scheduled(fixedDelayString = "${application.chat.read-receipts.flush-interval-ms:250}")
+    public synchronized void flush() {
+        List<Map.Entry<Key, Mark>> drained = new ArrayList<>();
+        pending.forEach((key, mark) -> {
+            if (pending.remove(key, mark)) {
+                drained.add(Map.entry(key, mark));
+            }
+        });
+
+        for (int from = 0; from < drained.size(); from += maxBatch) {
+            List<Map.Entry<Key, Mark>> chunk = drained.subList(from, Math.min(from + maxBatch, drained.size()));
+            Written written;
+            try {
+                written = write(chunk);
+            } catch (DataAccessException e) {
+                log.error("Failed to write {} read marks, keeping them for the next attempt", chunk.size(), e);
+                chunk.forEach(entry -> pending.putIfAbsent(entry.getKey(), entry.getValue()));
+                continue;
+            }
+            batchSize.record(chunk.size());
+            keepUnstored(chunk, written.found());
+            written.advanced().forEach(this::send);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Written write(List<Map.Entry<Key, Mark>> chunk) {
+        String values = String.join(", ", Collections.nCopies(chunk.size(), "(?, ?, ?)"));
+        Object[] args = new Object[chunk.size() * 3];
+        int i = 0;
+        for (Map.Entry<Key, Mark> entry : chunk) {
+            args[i++] = entry.getKey().userId();
+            args[i++] = entry.getKey().chatId();
+            args[i++] = entry.getValue().messageId();
+        }
+
+        return transactionTemplate.execute(status -> {
+            Set<String> found = new HashSet<>(jdbcTemplate.queryForList(LOCK_SQL.formatted(values), String.class, args));
+            List<Advanced> advanced = jdbcTemplate.query(MARK_READ_SQL.formatted(values),
+                    (rs, rowNum) -> new Advanced(rs.getString(2), new ReadReceipt(rs.getString(3), rs.getString(1), rs.getString(4))),
+                    args);
+            return new Written(found, advanced);
+        });
+    }
+
+    /**
+     * Puts back the marks whose message has no row yet, dropping the ones that
+     * waited longer than {@code max-wait-ms}.
+     */
+    private void keepUnstored(List<Map.Entry<Key, Mark>> chunk, Set<String> found) {
+        long expired = clock.millis() - maxWaitMs;
+        for (Map.Entry<Key, Mark> entry : chunk) {
+            Mark mark = entry.getValue();
+            if (found.contains(mark.messageId())) {
+                continue;
+            }
+            if (mark.markedAt() < expired) {
+                log.warn("Dropping read mark of {} in chat {}, message {} was not stored within {} ms",
+                        entry.getKey().userId(), entry.getKey().chatId(), mark.messageId(), maxWaitMs);
+                continue;
+            }
+            pending.putIfAbsent(entry.getKey(), mark);
+        }
+    }
+
+    private void send(Advanced advanced) {
+        if (!presenceService.isOnline(advanced.partnerId())) {
+            return;
+        }
+        messagingTemplate.convertAndSendToUser(advanced.partnerId(), RECEIPTS_DESTINATION, advanced.receipt());
+    }
+
+    private record Advanced(String partnerId, ReadReceipt receipt) {
+    }
+
+    private record Written(Set<String> found, List<Advanced> advanced) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.dama.wanderwave.chat.summary;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of one user's side of a conversation: the last message, the last
+ * message the user has read and how many messages from the partner came after it.
+ */
+@Getter
+@Setter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "conversation_summaries")
+public class ConversationSummary {
+
+	@EmbeddedId
+	private ConversationSummaryId id;
+
+	@Column(name = "last_message_id", nullable = false)
+	private String lastMessageId;
+
+	@Column(name = "last_message_preview", nullable = false)
+	private String lastMessagePreview;
+
+	@Column(name = "last_message_at", nullable = false)
+	private LocalDateTime lastMessageAt;
+
+	@Column(name = "unread_count", nullable = false)
+	private int unreadCount;
+
+	@Column(name = "last_read_message_id")
+	private String lastReadMessageId;
+
+	@Column(name = "last_read_at")
+	private LocalDateTime lastReadAt;
+}
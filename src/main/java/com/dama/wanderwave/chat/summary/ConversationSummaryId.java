@@ -0,0 +1,22 @@
+package com.dama.wanderwave.chat.summary;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class ConversationSummaryId implements Serializable {
+
+	@Column(name = "user_id", nullable = false)
+	private String userId;
+
+	@Column(name = "partner_id", nullable = false)
+	private String partnerId;
+}
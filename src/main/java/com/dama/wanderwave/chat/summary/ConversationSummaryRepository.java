@@ -0,0 +1,24 @@
+package com.dama.wanderwave.chat.summary;
+
+import com.dama.wanderwave.chat.ChatListElement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ConversationSummaryRepository extends JpaRepository<ConversationSummary, ConversationSummaryId> {
+
+    @Query("SELECT new com.dama.wanderwave.chat.ChatListElement(u.id, u.nickname, u.imageUrl, " +
+            "s.lastMessagePreview, s.lastMessageAt, s.unreadCount) " +
+            "FROM ConversationSummary s JOIN User u ON u.id = s.id.partnerId " +
+            "WHERE s.id.userId = :userId " +
+            "ORDER BY s.lastMessageAt DESC, s.id.partnerId")
+    List<ChatListElement> findContactsByUserId(@Param("userId") String userId);
+
+    @Modifying
+    @Query("DELETE FROM ConversationSummary s WHERE (s.id.userId = :userId AND s.id.partnerId = :partnerId) " +
+            "OR (s.id.userId = :partnerId AND s.id.partnerId = :userId)")
+    int deleteConversation(@Param("userId") String userId, @Param("partnerId") String partnerId);
+}
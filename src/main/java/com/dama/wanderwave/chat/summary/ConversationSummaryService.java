@@ -0,0 +1,104 @@
+package com.dama.wanderwave.chat.summary;
+
+import com.dama.wanderwave.chat.ChatListElement;
+import com.dama.wanderwave.message.ChatMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains {@link ConversationSummary} rows in the transaction that stores a
+ * message, so the contacts list is a single indexed scan per user.
+ */
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ConversationSummaryService {
+
+    static final int PREVIEW_LENGTH = 255;
+
+    /**
+     * Creates or advances the user's summary. A message older than the current
+     * last one still counts as unread but does not replace the preview.
+     */
+    static final String RECORD_MESSAGE_SQL = """
+            INSERT INTO conversation_summaries (user_id, partner_id, last_message_id, last_message_preview, last_message_at, unread_count)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (user_id, partner_id) DO UPDATE SET
+                last_message_id = CASE WHEN EXCLUDED.last_message_at >= conversation_summaries.last_message_at
+                    THEN EXCLUDED.last_message_id ELSE conversation_summaries.last_message_id END,
+                last_message_preview = CASE WHEN EXCLUDED.last_message_at >= conversation_summaries.last_message_at
+                    THEN EXCLUDED.last_message_preview ELSE conversation_summaries.last_message_preview END,
+                last_message_at = GREATEST(EXCLUDED.last_message_at, conversation_summaries.last_message_at),
+                unread_count = conversation_summaries.unread_count + EXCLUDED.unread_count
+            """;
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::userId).thenComparing(Key::partnerId);
+
+    private final ConversationSummaryRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+
+    record Key(String userId, String partnerId) {
+    }
+
+    record Delta(Key key, String messageId, String preview, LocalDateTime sentAt, int unread) {
+
+        Delta merge(Delta other) {
+            Delta newest = other.sentAt().isBefore(sentAt) ? this : other;
+            return new Delta(key, newest.messageId(), newest.preview(), newest.sentAt(), unread + other.unread());
+        }
+    }
+
+    /**
+     * Folds the messages into one upsert per affected summary row and sends them
+     * as a single JDBC batch. Rows are written in key order, so concurrent
+     * batches lock them in the same order.
+     */
+    public void recordMessages(Collection<ChatMessage> messages) {
+        Map<Key, Delta> deltas = new TreeMap<>(KEY_ORDER);
+        for (ChatMessage message : messages) {
+            String preview = preview(message.getContent());
+            String senderId = message.getSenderId();
+            String recipientId = message.getRecipientId();
+
+            Key senderSide = new Key(senderId, recipientId);
+            deltas.merge(senderSide, new Delta(senderSide, message.getId(), preview, message.getCreatedAt(), 0), Delta::merge);
+            if (!senderId.equals(recipientId)) {
+                Key recipientSide = new Key(recipientId, senderId);
+                deltas.merge(recipientSide, new Delta(recipientSide, message.getId(), preview, message.getCreatedAt(), 1), Delta::merge);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(RECORD_MESSAGE_SQL, deltas.values(), deltas.size(), (ps, delta) -> {
+            ps.setString(1, delta.key().userId());
+            ps.setString(2, delta.key().partnerId());
+            ps.setString(3, delta.messageId());
+            ps.setString(4, delta.preview());
+            ps.setTimestamp(5, Timestamp.valueOf(delta.sentAt()));
+            ps.setInt(6, delta.unread());
+        });
+    }
+
+    public List<ChatListElement> contactsOf(String userId) {
+        return repository.findContactsByUserId(userId);
+    }
+
+    public void removeConversation(String userId, String partnerId) {
+        repository.deleteConversation(userId, partnerId);
+    }
+
+    static String preview(String content) {
+        return content.length() <= PREVIEW_LENGTH ? content : content.substring(0, PREVIEW_LENGTH);
+    }
+}
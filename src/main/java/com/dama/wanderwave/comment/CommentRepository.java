@@ -4,9 +4,28 @@ import com.dama.wanderwave.post.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, String> {
 
     Page<Comment> findAllByPost(Post post, Pageable pageable);
 
+    @Query(value = "SELECT c.id AS id, c.content AS content, c.createdAt AS createdAt, c.user.id AS userId " +
+            "FROM Comment c WHERE c.post.id = :postId ORDER BY c.createdAt DESC, c.id DESC",
+            countQuery = "SELECT count(c) FROM Comment c WHERE c.post.id = :postId")
+    Page<CommentRow> findRowsByPostId(@Param("postId") String postId, Pageable pageable);
+
+    @Query("SELECT c.id AS id, c.content AS content, c.createdAt AS createdAt, c.user.id AS userId " +
+            "FROM Comment c " +
+            "WHERE c.post.id = :postId AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentRow> findRowsByPostIdBefore(@Param("postId") String postId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") String id,
+                                            Pageable pageable);
+
 }
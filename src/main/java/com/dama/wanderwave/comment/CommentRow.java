@@ -0,0 +1,14 @@
+package com.dama.wanderwave.comment;
+
+import com.dama.wanderwave.utils.CursorKey;
+
+/**
+ * The columns a comment listing needs, read without loading the comment's
+ * user and post; authors are resolved separately by id.
+ */
+public interface CommentRow extends CursorKey {
+
+    String getContent();
+
+    String getUserId();
+}
@@ -2,15 +2,22 @@ package com.dama.wanderwave.comment;
 
 import com.dama.wanderwave.handler.comment.CommentNotFoundException;
 import com.dama.wanderwave.handler.post.PostNotFoundException;
-import com.dama.wanderwave.notification.Notification;
 import com.dama.wanderwave.notification.NotificationRepository;
 import com.dama.wanderwave.notification.NotificationService;
 import com.dama.wanderwave.post.Post;
 import com.dama.wanderwave.post.PostRepository;
+import com.dama.wanderwave.post.counter.PostCounterService;
+import com.dama.wanderwave.post.trending.TrendingEvent;
+import com.dama.wanderwave.post.trending.TrendingService;
 import com.dama.wanderwave.post.request.CreateCommentRequest;
+import com.dama.wanderwave.post.response.AccountInfoResponse;
 import com.dama.wanderwave.post.response.CommentResponse;
 import com.dama.wanderwave.user.User;
 import com.dama.wanderwave.user.UserService;
+import com.dama.wanderwave.user.response.ShortUserResponse;
+import com.dama.wanderwave.user.summary.UserSummaryCache;
+import com.dama.wanderwave.utils.Cursor;
+import com.dama.wanderwave.utils.CursorSlice;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
@@ -22,6 +29,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,6 +44,9 @@ public class CommentService {
     private final ModelMapper modelMapper;
     private final NotificationService notificationService;
     private final NotificationRepository notificationRepository;
+    private final PostCounterService postCounterService;
+    private final TrendingService trendingService;
+    private final UserSummaryCache userSummaryCache;
 
     @Transactional
     public String createComment(CreateCommentRequest createCommentRequest) {
@@ -60,8 +72,8 @@ public class CommentService {
 
         Comment savedComment = commentRepository.save(comment);
 
-        post.setCommentsCount(post.getCommentsCount() + 1);
-        postRepository.save(post);
+        postCounterService.incrementComments(post.getId());
+        trendingService.record(post.getId(), TrendingEvent.COMMENT);
 
         log.info("Comment created successfully with id: {}", savedComment.getId());
 
@@ -80,29 +92,59 @@ public class CommentService {
         log.info("Fetching all comments for post {} with page number: {}, page size: {}",
                 postId, pageable.getPageNumber(), pageable.getPageSize());
 
-        Post post = findPostById(postId);
+        checkCommentsEnabled(postId);
 
-        if (post.getIsDisabledComments()) {
-            throw new RuntimeException("Comments are disabled.");
-        }
-
-        Page<Comment> commentsPage = commentRepository.findAllByPost(post, pageable);
+        Page<CommentRow> rows = commentRepository.findRowsByPostId(postId, pageable);
 
         log.info("Retrieved {} comments on page {}, total elements: {}",
-                commentsPage.getContent().size(),
-                commentsPage.getNumber(),
-                commentsPage.getTotalElements());
+                rows.getContent().size(),
+                rows.getNumber(),
+                rows.getTotalElements());
 
-        List<CommentResponse> commentResponses = commentsPage.getContent().stream()
-                .map(comment -> modelMapper.map(comment, CommentResponse.class))
-                .sorted((o1, o2) -> o2.getCreationDate().compareTo(o1.getCreationDate()))
-                .toList();
+        return new PageImpl<>(toResponses(rows.getContent()), rows.getPageable(), rows.getTotalElements());
+    }
+
+    public CursorSlice<CommentResponse> getAllCommentsForPost(Cursor cursor, int size, String postId) {
+        log.info("Fetching comments for post {} after cursor: {}, size: {}", postId, cursor, size);
+
+        checkCommentsEnabled(postId);
+
+        List<CommentRow> rows = commentRepository.findRowsByPostIdBefore(
+                postId, cursor.createdAt(), cursor.id(), CursorSlice.limit(size));
+
+        return CursorSlice.of(rows, size, CommentRow::toCursor, this::toResponses);
+    }
 
-        return new PageImpl<>(
-                commentResponses,
-                commentsPage.getPageable(),
-                commentsPage.getTotalElements()
-        );
+    private void checkCommentsEnabled(String postId) {
+        boolean disabled = postRepository.findCommentsDisabledById(postId)
+                .orElseThrow(() -> {
+                    log.error("Post with id {} not found", postId);
+                    return new PostNotFoundException("Post with id " + postId + " not found");
+                });
+
+        if (disabled) {
+            throw new RuntimeException("Comments are disabled.");
+        }
+    }
+
+    /**
+     * Authors of the whole page are resolved with one cache lookup instead of
+     * loading a user per comment.
+     */
+    private List<CommentResponse> toResponses(List<CommentRow> rows) {
+        Map<String, ShortUserResponse> authors = userSummaryCache.getAll(
+                rows.stream().map(CommentRow::getUserId).collect(Collectors.toSet()));
+
+        return rows.stream()
+                .map(row -> CommentResponse.builder()
+                        .id(row.getId())
+                        .text(row.getContent())
+                        .creationDate(row.getCreatedAt())
+                        .accountInfo(Optional.ofNullable(authors.get(row.getUserId()))
+                                .map(AccountInfoResponse::fromShortUser)
+                                .orElse(null))
+                        .build())
+                .toList();
     }
 
     @Transactional
@@ -130,14 +172,11 @@ public class CommentService {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new CommentNotFoundException("Comment with id " + id + " not found"));
 
-        List<Notification> notifications = notificationRepository.findAllByObjectId(comment.getId());
-        notificationRepository.deleteAll(notifications);
-
-        Post post = comment.getPost();
-        post.setCommentsCount(post.getCommentsCount() - 1);
-        postRepository.save(post);
+        notificationRepository.deleteAllByObjectId(comment.getId());
 
         commentRepository.deleteById(id);
+        postCounterService.decrementComments(comment.getPost().getId());
+        trendingService.record(comment.getPost().getId(), TrendingEvent.UNCOMMENT);
         log.info("Comment deleted successfully with id: {}", id);
 
         return "Comment deleted successfully";
@@ -1,9 +1,12 @@
 package com.dama.wanderwave.handler;
 
 import com.dama.wanderwave.handler.azure.FileTypeException;
+import com.dama.wanderwave.handler.chat.ChatMessageNotFoundException;
 import com.dama.wanderwave.handler.chat.ChatRoomException;
 import com.dama.wanderwave.handler.chat.ChatRoomNotFoundException;
+import com.dama.wanderwave.handler.chat.ChatUnavailableException;
 import com.dama.wanderwave.handler.comment.CommentNotFoundException;
+import com.dama.wanderwave.handler.cursor.InvalidCursorException;
 import com.dama.wanderwave.handler.email.EmailSendingException;
 import com.dama.wanderwave.handler.email.EmailTemplateException;
 import com.dama.wanderwave.handler.post.CategoryTypeNotFoundException;
@@ -40,6 +43,7 @@ public enum ExceptionStatus {
     ROLE_NOT_FOUND(RoleNotFoundException.class, NOT_FOUND),
     TOKEN_NOT_FOUND(TokenNotFoundException.class, NOT_FOUND),
     CHAT_ROOM_NOT_FOUND(ChatRoomNotFoundException.class, NOT_FOUND),
+    CHAT_MESSAGE_NOT_FOUND(ChatMessageNotFoundException.class, NOT_FOUND),
     POST_NOT_FOUND(PostNotFoundException.class, NOT_FOUND),
     COMMENT_NOT_FOUND(CommentNotFoundException.class, NOT_FOUND),
     REPORT_NOT_FOUND(ReportNotFoundException.class, NOT_FOUND),
@@ -60,6 +64,7 @@ public enum ExceptionStatus {
     BANNED_USER(BannedUserException.class, BAD_REQUEST),
     IS_LIKED(IsLikedException.class, BAD_REQUEST),
     IS_SAVED(IsSavedException.class, BAD_REQUEST),
+    INVALID_CURSOR(InvalidCursorException.class, BAD_REQUEST),
 
     FILE_TYPE_EXCEPTION(FileTypeException.class, BAD_REQUEST),
     // UNAUTHORIZED
@@ -68,6 +73,9 @@ public enum ExceptionStatus {
     // CONFLICT
     UNIQUE_CONSTRAINT_VIOLATION(UniqueConstraintViolationException.class, CONFLICT),
 
+    // SERVICE_UNAVAILABLE
+    CHAT_UNAVAILABLE(ChatUnavailableException.class, SERVICE_UNAVAILABLE),
+
     // INTERNAL_SERVER_ERROR
     EMAIL_TEMPLATE(EmailTemplateException.class, INTERNAL_SERVER_ERROR),
     EMAIL_SENDING(EmailSendingException.class, INTERNAL_SERVER_ERROR),
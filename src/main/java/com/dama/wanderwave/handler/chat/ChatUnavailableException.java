@@ -0,0 +1,10 @@
+package com.dama.wanderwave.handler.chat;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper=false)
+public class ChatUnavailableException extends RuntimeException {
+	public final String message;
+}
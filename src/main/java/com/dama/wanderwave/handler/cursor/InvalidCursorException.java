@@ -0,0 +1,10 @@
+package com.dama.wanderwave.handler.cursor;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class InvalidCursorException extends RuntimeException {
+    private final String message;
+}
@@ -1,5 +1,6 @@
 package com.dama.wanderwave.hashtag;
 
+import com.dama.wanderwave.hashtag.index.PostHashtagRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,4 +13,9 @@ public interface HashTagRepository extends JpaRepository<HashTag, String> {
 
     @Query("SELECT h FROM HashTag h WHERE h.title LIKE :prefix%")
     List<HashTag> findByTitleStartingWith(@Param("prefix") String prefix);
+
+    @Query(value = "SELECT ph.post_id AS postId, ph.hashtag_id AS hashtagId FROM post_hashtags ph " +
+            "JOIN (SELECT post_id, created_at FROM posts ORDER BY created_at DESC LIMIT :limit) p ON p.post_id = ph.post_id " +
+            "ORDER BY p.created_at, p.post_id", nativeQuery = true)
+    List<PostHashtagRow> findRecentPostHashtags(@Param("limit") int limit);
 }
@@ -0,0 +1,242 @@
+package com.dama.wanderwave.hashtag.index;
+
+import com.dama.wanderwave.hashtag.HashTagRepository;
+import com.dama.wanderwave.utils.TransactionHooks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory hashtag index used to pick recommendation candidates.
+ * <p>
+ * Every hashtag gets an int ordinal. Per ordinal the index keeps the ids of the
+ * most recent posts carrying it and an {@link IntCounter} of how many posts it
+ * shares with every other hashtag. Both are kept in sync by
+ * {@link #postCreated}, {@link #postModified} and {@link #postDeleted}, and
+ * seeded from the newest posts at startup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class HashtagIndexService {
+
+    private static final double SEED_WEIGHT = 1.0;
+    private static final double RELATED_WEIGHT = 0.5;
+    private static final int RELATED_PER_SEED = 5;
+    private static final int SAMPLE_ATTEMPTS_PER_CANDIDATE = 4;
+
+    private final HashTagRepository hashTagRepository;
+
+    @Value("${application.hashtag-index.posts-per-hashtag:64}")
+    private int postsPerHashtag;
+
+    @Value("${application.hashtag-index.seed-posts:20000}")
+    private int seedPosts;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<List<String>> recentPosts = new ArrayList<>();
+    private final List<IntCounter> cooccurrence = new ArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        List<PostHashtagRow> rows;
+        try {
+            rows = hashTagRepository.findRecentPostHashtags(seedPosts);
+        } catch (DataAccessException e) {
+            log.error("Failed to seed hashtag index, starting empty", e);
+            return;
+        }
+
+        String currentPost = null;
+        List<String> currentTags = new ArrayList<>();
+        for (PostHashtagRow row : rows) {
+            if (!row.getPostId().equals(currentPost)) {
+                if (currentPost != null) {
+                    postCreatedNow(currentPost, currentTags);
+                }
+                currentPost = row.getPostId();
+                currentTags = new ArrayList<>();
+            }
+            currentTags.add(row.getHashtagId());
+        }
+        if (currentPost != null) {
+            postCreatedNow(currentPost, currentTags);
+        }
+        log.info("Seeded hashtag index with {} hashtags", ordinals.size());
+    }
+
+    public void postCreated(String postId, Collection<String> hashtagIds) {
+        List<String> tags = List.copyOf(hashtagIds);
+        TransactionHooks.afterCommit(() -> postCreatedNow(postId, tags));
+    }
+
+    public void postModified(String postId, Collection<String> oldHashtagIds, Collection<String> newHashtagIds) {
+        Set<String> oldTags = Set.copyOf(oldHashtagIds);
+        Set<String> newTags = Set.copyOf(newHashtagIds);
+        if (oldTags.equals(newTags)) {
+            return;
+        }
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unlink(postId, oldTags);
+                link(postId, newTags);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void postDeleted(String postId, Collection<String> hashtagIds) {
+        List<String> tags = List.copyOf(hashtagIds);
+        TransactionHooks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unlink(postId, tags);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Samples up to {@code limit} distinct recent posts, choosing hashtags in
+     * proportion to how often they appear in {@code seedHashtagIds} plus a smaller
+     * share for the hashtags that most often accompany them.
+     */
+    public List<String> candidatePostIds(Collection<String> seedHashtagIds, int limit, Predicate<String> exclude) {
+        return candidatePostIds(seedHashtagIds, limit, exclude, ThreadLocalRandom.current());
+    }
+
+    List<String> candidatePostIds(Collection<String> seedHashtagIds, int limit, Predicate<String> exclude, Random random) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> weights = weigh(seedHashtagIds);
+            if (weights.isEmpty()) {
+                return List.of();
+            }
+
+            int[] tags = new int[weights.size()];
+            double[] cumulative = new double[weights.size()];
+            double total = 0;
+            int i = 0;
+            for (Map.Entry<Integer, Double> entry : weights.entrySet()) {
+                total += entry.getValue();
+                tags[i] = entry.getKey();
+                cumulative[i++] = total;
+            }
+
+            LinkedHashSet<String> picked = new LinkedHashSet<>();
+            for (int attempt = 0; attempt < limit * SAMPLE_ATTEMPTS_PER_CANDIDATE && picked.size() < limit; attempt++) {
+                int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                int tag = tags[index < 0 ? Math.min(-index - 1, tags.length - 1) : index];
+                List<String> posts = recentPosts.get(tag);
+                String postId = posts.get(random.nextInt(posts.size()));
+                if (!exclude.test(postId)) {
+                    picked.add(postId);
+                }
+            }
+            return List.copyOf(picked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Integer, Double> weigh(Collection<String> seedHashtagIds) {
+        Map<Integer, Double> weights = new HashMap<>();
+        for (String hashtagId : seedHashtagIds) {
+            Integer seed = ordinals.get(hashtagId);
+            if (seed == null) {
+                continue;
+            }
+            if (!recentPosts.get(seed).isEmpty()) {
+                weights.merge(seed, SEED_WEIGHT, Double::sum);
+            }
+            relatedOf(seed).forEach((related, share) -> weights.merge(related, RELATED_WEIGHT * share, Double::sum));
+        }
+        return weights;
+    }
+
+    /**
+     * The hashtags most often used together with {@code seed}, each with its share of the strongest one.
+     */
+    private Map<Integer, Double> relatedOf(int seed) {
+        PriorityQueue<int[]> strongest = new PriorityQueue<>(Comparator.comparingInt((int[] e) -> e[1]));
+        cooccurrence.get(seed).forEach((tag, count) -> {
+            if (recentPosts.get(tag).isEmpty()) {
+                return;
+            }
+            strongest.add(new int[]{tag, count});
+            if (strongest.size() > RELATED_PER_SEED) {
+                strongest.poll();
+            }
+        });
+
+        Map<Integer, Double> related = new HashMap<>();
+        int max = strongest.stream().mapToInt(e -> e[1]).max().orElse(1);
+        strongest.forEach(e -> related.put(e[0], (double) e[1] / max));
+        return related;
+    }
+
+    private void postCreatedNow(String postId, Collection<String> hashtagIds) {
+        lock.writeLock().lock();
+        try {
+            link(postId, hashtagIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void link(String postId, Collection<String> hashtagIds) {
+        int[] tags = hashtagIds.stream().distinct().mapToInt(this::ordinalOf).toArray();
+        for (int tag : tags) {
+            List<String> posts = recentPosts.get(tag);
+            if (!posts.contains(postId)) {
+                posts.add(postId);
+                if (posts.size() > postsPerHashtag) {
+                    posts.removeFirst();
+                }
+            }
+        }
+        countPairs(tags, 1);
+    }
+
+    private void unlink(String postId, Collection<String> hashtagIds) {
+        int[] tags = hashtagIds.stream().distinct().map(ordinals::get).filter(Objects::nonNull)
+                .mapToInt(Integer::intValue).toArray();
+        for (int tag : tags) {
+            recentPosts.get(tag).remove(postId);
+        }
+        countPairs(tags, -1);
+    }
+
+    private void countPairs(int[] tags, int delta) {
+        for (int a : tags) {
+            for (int b : tags) {
+                if (a != b) {
+                    cooccurrence.get(a).add(b, delta);
+                }
+            }
+        }
+    }
+
+    private int ordinalOf(String hashtagId) {
+        return ordinals.computeIfAbsent(hashtagId, id -> {
+            recentPosts.add(new ArrayList<>());
+            cooccurrence.add(new IntCounter());
+            return recentPosts.size() - 1;
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package com.dama.wanderwave.hashtag.index;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing {@code int -> int} counter that stores neither boxed keys nor
+ * entry objects. Counts that drop to zero are removed with backward shift
+ * deletion, so the table never fills up with tombstones.
+ */
+final class IntCounter {
+
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private int[] counts;
+    private int size;
+
+    IntCounter() {
+        this(4);
+    }
+
+    IntCounter(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+        keys = new int[capacity];
+        counts = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    int get(int key) {
+        int slot = find(key);
+        return keys[slot] == EMPTY ? 0 : counts[slot];
+    }
+
+    void add(int key, int delta) {
+        int slot = find(key);
+        if (keys[slot] == EMPTY) {
+            if (delta <= 0) {
+                return;
+            }
+            keys[slot] = key;
+            counts[slot] = delta;
+            if (++size * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            return;
+        }
+        counts[slot] += delta;
+        if (counts[slot] <= 0) {
+            removeAt(slot);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Calls {@code action} with every key and its count, in no particular order.
+     */
+    void forEach(Visitor action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                action.accept(keys[i], counts[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+        void accept(int key, int count);
+    }
+
+    private int find(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void removeAt(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = mix(keys[next]) & mask;
+            // Move the entry back if the hole lies between its home slot and where it sits now.
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                counts[hole] = counts[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        counts[hole] = 0;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new int[capacity];
+        counts = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,7 @@
+package com.dama.wanderwave.hashtag.index;
+
+public interface PostHashtagRow {
+    String getPostId();
+
+    String getHashtagId();
+}
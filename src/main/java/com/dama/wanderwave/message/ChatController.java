@@ -2,15 +2,22 @@ package com.dama.wanderwave.message;
 
 import com.dama.wanderwave.chat.ChatListElement;
 import com.dama.wanderwave.chat.ChatService;
+import com.dama.wanderwave.chat.read.MarkReadRequest;
+import com.dama.wanderwave.chat.read.ReadReceiptService;
 import com.dama.wanderwave.handler.post.PostNotFoundException;
+import com.dama.wanderwave.handler.user.UnauthorizedActionException;
 import com.dama.wanderwave.message.request.ChatMessageRequest;
 import com.dama.wanderwave.message.response.ChatMessageResponse;
 import com.dama.wanderwave.post.PostRepository;
+import com.dama.wanderwave.user.AuthenticatedUserHolder;
+import com.dama.wanderwave.utils.Cursor;
+import com.dama.wanderwave.utils.CursorSlice;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,17 +26,11 @@ import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.handler.annotation.SendTo;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.messaging.simp.user.SimpSession;
-import org.springframework.messaging.simp.user.SimpSubscription;
-import org.springframework.messaging.simp.user.SimpUser;
-import org.springframework.messaging.simp.user.SimpUserRegistry;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.security.Principal;
 import java.util.List;
-import java.util.Map;
 
 @Slf4j
 @Controller
@@ -37,11 +38,13 @@ import java.util.Map;
 //@RequestMapping("/api/chats")
 public class ChatController {
 
-    private final SimpMessagingTemplate messagingTemplate;
     private final ChatMessageService messageService;
     private final ChatService chatService;
     private final PostRepository postRepository;
-    private final SimpUserRegistry simpUserRegistry;
+    private final ReadReceiptService readReceiptService;
+    private final AuthenticatedUserHolder authenticatedUserHolder;
+
+    private static final int MAX_MESSAGES_SIZE = 100;
 
     @Value("${application.frontend-url}")
     private String FRONTEND_URL;
@@ -50,78 +53,131 @@ public class ChatController {
     @Operation(summary = "Process chat message", description = "Sends a chat message to the recipient.")
     public void processMessage(
             @Payload ChatMessageRequest chatMessage,
-            @Header("postId") String postId
+            @Header("postId") String postId,
+            Principal principal
     ) {
+        if (principal == null) {
+            throw new UnauthorizedActionException("Chat messages can only be sent from an authenticated session");
+        }
+        if (chatMessage.getSenderId() != null && !chatMessage.getSenderId().equals(principal.getName())) {
+            log.warn("Rejected chat message of session user {} claiming sender {}", principal.getName(), chatMessage.getSenderId());
+            throw new UnauthorizedActionException("Chat messages can only be sent as the session user");
+        }
+        chatMessage.setSenderId(principal.getName());
+
         log.info("Processing chat message from sender: {} to recipient: {}", chatMessage.getSenderId(), chatMessage.getRecipientId());
 
         if (postId != null && postId.length() == 16) {
             log.debug("Post ID provided: {}", postId);
-            postRepository.findById(postId).orElseThrow(
-                    () -> {
-                        log.error("Post not found with id: {}", postId);
-                        return new PostNotFoundException("Post not found with id: " + postId);
-                    }
-            );
+            if (!postRepository.existsById(postId)) {
+                log.error("Post not found with id: {}", postId);
+                throw new PostNotFoundException("Post not found with id: " + postId);
+            }
             chatMessage.setContent(FRONTEND_URL + "/p/" + postId);
             log.debug("Updated chat message content with post URL: {}", chatMessage.getContent());
         }
 
-        ChatMessage savedMsg = messageService.save(chatMessage);
-        log.info("Chat message saved with ID: {}", savedMsg.getId());
-
-        log.info("Sending chat notification to recipient: {}", savedMsg.getRecipientId());
-
-        ChatNotification notification = ChatNotification.builder()
-                .id(savedMsg.getId())
-                .senderId(savedMsg.getSenderId())
-                .recipientId(savedMsg.getRecipientId())
-                .content(savedMsg.getContent())
-                .build();
-
-        messagingTemplate.convertAndSendToUser(
-                savedMsg.getRecipientId(),
-                "/queue/messages",
-                notification
-        );
+        ChatMessage sentMsg = messageService.send(chatMessage);
+        log.info("Chat message {} sent to recipient: {}", sentMsg.getId(), sentMsg.getRecipientId());
+    }
 
-        log.info("Notification sent to recipient: {}", savedMsg.getRecipientId());
-//        sendChatNotification(savedMsg, token);
+    @MessageMapping("/chat.read")
+    @Operation(summary = "Mark chat as read", description = "Marks every message of a chat up to the given one as read.")
+    public void markRead(@Payload @Valid MarkReadRequest request, Principal principal) {
+        readReceiptService.markRead(principal.getName(), request.chatId(), request.upToMessageId());
     }
 
-//    void sendChatNotification(ChatMessage savedMsg, String token) {
-//        log.info("Sending chat notification to recipient: {}", savedMsg.getRecipientId());
-//
-//        ChatNotification notification = ChatNotification.builder()
-//                .id(savedMsg.getId())
-//                .senderId(savedMsg.getSenderId())
-//                .recipientId(savedMsg.getRecipientId())
-//                .content(savedMsg.getContent())
-//                .build();
-//
-//        Map<String, Object> headers = new HashMap<>();
-//        headers.put("Authorization", token);
-//
-//        messagingTemplate.convertAndSendToUser(
-//                savedMsg.getRecipientId(),
-//                "/queue/messages",
-//                notification,
-//                headers
-//        );
-//
-//        log.info("Notification sent to recipient: {}", savedMsg.getRecipientId());
-//    }
+    @PatchMapping("/api/chats/read/{chatId}")
+    @Operation(summary = "Mark chat as read",
+            description = "Marks every message of the chat up to the given one as read. " +
+                    "Marks are applied in batches, so the unread count follows shortly after.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Read mark accepted", content = @Content)
+    })
+    public ResponseEntity<Void> markRead(@Parameter(description = "ID of the chat") @PathVariable("chatId") String chatId,
+                                         @Parameter(description = "ID of the newest message read") @RequestParam("upTo") String upTo) {
+        readReceiptService.markRead(authenticatedUserHolder.getId(), chatId, upTo);
+        return ResponseEntity.accepted().build();
+    }
 
     @GetMapping("/api/chats/messages/{senderId}/{recipientId}")
-    @Operation(summary = "Retrieve chat messages", description = "Fetches chat messages between two users.")
+    @Operation(summary = "Retrieve chat messages",
+            description = "Fetches the newest chat messages between two users, newest first. " +
+                    "Older messages are loaded with the before or cursor parameters.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Messages retrieved successfully", content = @Content)
     })
     public ResponseEntity<List<ChatMessageResponse>> findChatMessages(
             @Parameter(description = "ID of the sender") @PathVariable("senderId") String senderId,
-            @Parameter(description = "ID of the recipient") @PathVariable("recipientId") String recipientId) {
+            @Parameter(description = "ID of the recipient") @PathVariable("recipientId") String recipientId,
+            @Parameter(description = "Maximum number of messages") @RequestParam(value = "size", defaultValue = "50") int size) {
         log.info("Fetching chat messages between sender: {} and recipient: {}", senderId, recipientId);
 
-        List<ChatMessageResponse> chatMessages = messageService.findChatMessages(senderId, recipientId);
+        List<ChatMessageResponse> chatMessages = messageService.findChatMessages(senderId, recipientId, Math.min(size, MAX_MESSAGES_SIZE));
+        log.debug("Retrieved {} messages", chatMessages.size());
+
+        return ResponseEntity.ok(chatMessages);
+    }
+
+    @GetMapping(value = "/api/chats/messages/{senderId}/{recipientId}", params = "cursor")
+    @Operation(summary = "Retrieve a slice of chat messages",
+            description = "Fetches chat messages between two users, newest first, continuing after the given cursor. " +
+                    "An empty cursor returns the newest messages.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Messages retrieved successfully", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content)
+    })
+    public ResponseEntity<CursorSlice<ChatMessageResponse>> findChatMessages(
+            @Parameter(description = "ID of the sender") @PathVariable("senderId") String senderId,
+            @Parameter(description = "ID of the recipient") @PathVariable("recipientId") String recipientId,
+            @Parameter(description = "Cursor returned with the previous slice") @RequestParam("cursor") String cursor,
+            @Parameter(description = "Maximum number of messages") @RequestParam(value = "size", defaultValue = "50") int size) {
+        log.info("Fetching chat messages between sender: {} and recipient: {} after cursor: {}", senderId, recipientId, cursor);
+
+        CursorSlice<ChatMessageResponse> chatMessages =
+                messageService.findChatMessages(senderId, recipientId, Cursor.decode(cursor), Math.min(size, MAX_MESSAGES_SIZE));
+        log.debug("Retrieved {} messages", chatMessages.content().size());
+
+        return ResponseEntity.ok(chatMessages);
+    }
+
+    @GetMapping(value = "/api/chats/messages/{senderId}/{recipientId}", params = {"before", "!after"})
+    @Operation(summary = "Retrieve older chat messages",
+            description = "Fetches chat messages sent before the given message, newest first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Messages retrieved successfully", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Chat room or message not found", content = @Content)
+    })
+    public ResponseEntity<List<ChatMessageResponse>> findChatMessagesBefore(
+            @Parameter(description = "ID of the sender") @PathVariable("senderId") String senderId,
+            @Parameter(description = "ID of the recipient") @PathVariable("recipientId") String recipientId,
+            @Parameter(description = "ID of the oldest message the client has") @RequestParam("before") String before,
+            @Parameter(description = "Maximum number of messages") @RequestParam(value = "size", defaultValue = "50") int size) {
+        log.info("Fetching chat messages between sender: {} and recipient: {} before message: {}", senderId, recipientId, before);
+
+        List<ChatMessageResponse> chatMessages =
+                messageService.findChatMessagesBefore(senderId, recipientId, before, Math.min(size, MAX_MESSAGES_SIZE));
+        log.debug("Retrieved {} messages", chatMessages.size());
+
+        return ResponseEntity.ok(chatMessages);
+    }
+
+    @GetMapping(value = "/api/chats/messages/{senderId}/{recipientId}", params = {"after", "!before"})
+    @Operation(summary = "Retrieve newer chat messages",
+            description = "Fetches chat messages sent right after the given message, newest first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Messages retrieved successfully", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Chat room or message not found", content = @Content)
+    })
+    public ResponseEntity<List<ChatMessageResponse>> findChatMessagesAfter(
+            @Parameter(description = "ID of the sender") @PathVariable("senderId") String senderId,
+            @Parameter(description = "ID of the recipient") @PathVariable("recipientId") String recipientId,
+            @Parameter(description = "ID of the newest message the client has") @RequestParam("after") String after,
+            @Parameter(description = "Maximum number of messages") @RequestParam(value = "size", defaultValue = "50") int size) {
+        log.info("Fetching chat messages between sender: {} and recipient: {} after message: {}", senderId, recipientId, after);
+
+        List<ChatMessageResponse> chatMessages =
+                messageService.findChatMessagesAfter(senderId, recipientId, after, Math.min(size, MAX_MESSAGES_SIZE));
         log.debug("Retrieved {} messages", chatMessages.size());
 
         return ResponseEntity.ok(chatMessages);
@@ -4,6 +4,7 @@ import com.dama.wanderwave.chat.Chat;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.hibernate.annotations.GenericGenerator;
 import org.springframework.data.annotation.CreatedDate;
@@ -31,12 +32,13 @@ public class ChatMessage {
     @NotNull(message = "Recipient ID must be specified")
     private String recipientId;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "chat_id", nullable = false, referencedColumnName = "chat_id", foreignKey = @ForeignKey(name = "fk_message_chat"))
     @NotNull(message = "Chat must be specified")
     private Chat chat;
 
     @NotBlank(message = "Message content cannot be blank")
+    @Size(max = 1024, message = "Message content must be at most 1024 characters")
     @Column(length = 1024, nullable = false)
     private String content;
 
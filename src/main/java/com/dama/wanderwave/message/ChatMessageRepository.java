@@ -1,11 +1,38 @@
 package com.dama.wanderwave.message;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ChatMessageRepository extends JpaRepository<ChatMessage, ChatMessageKey> {
-	List<ChatMessage> findByChatId( String chatRoomId);
-}
\ No newline at end of file
+public interface ChatMessageRepository extends JpaRepository<ChatMessage, String> {
+	@Query("SELECT m FROM ChatMessage m " +
+			"WHERE m.chat.id = :chatId AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+			"ORDER BY m.createdAt DESC, m.id DESC")
+	List<ChatMessage> findByChatIdBefore(@Param("chatId") String chatId,
+										 @Param("createdAt") LocalDateTime createdAt,
+										 @Param("id") String id,
+										 Pageable pageable);
+
+	@Query("SELECT m FROM ChatMessage m " +
+			"WHERE m.chat.id = :chatId AND (m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :id)) " +
+			"ORDER BY m.createdAt ASC, m.id ASC")
+	List<ChatMessage> findByChatIdAfter(@Param("chatId") String chatId,
+										@Param("createdAt") LocalDateTime createdAt,
+										@Param("id") String id,
+										Pageable pageable);
+
+	@Query("SELECT m.createdAt FROM ChatMessage m WHERE m.id = :id AND m.chat.id = :chatId")
+	Optional<LocalDateTime> findCreatedAtByIdAndChatId(@Param("id") String id, @Param("chatId") String chatId);
+
+	@Modifying
+	@Query("DELETE FROM ChatMessage m WHERE m.chat.id = :chatId")
+	int deleteByChatId(@Param("chatId") String chatId);
+}
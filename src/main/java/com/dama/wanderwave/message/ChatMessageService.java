@@ -2,48 +2,164 @@ package com.dama.wanderwave.message;
 
 import com.dama.wanderwave.chat.Chat;
 import com.dama.wanderwave.chat.ChatService;
+import com.dama.wanderwave.handler.chat.ChatMessageNotFoundException;
 import com.dama.wanderwave.handler.chat.ChatRoomNotFoundException;
+import com.dama.wanderwave.hash.HashUUIDGenerator;
 import com.dama.wanderwave.message.request.ChatMessageRequest;
 import com.dama.wanderwave.message.response.ChatMessageResponse;
+import com.dama.wanderwave.message.writer.ChatMessageWriter;
+import com.dama.wanderwave.user.presence.PresenceService;
+import com.dama.wanderwave.utils.Cursor;
+import com.dama.wanderwave.utils.CursorSlice;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 
 @Service
 @RequiredArgsConstructor
 public class ChatMessageService {
     private final ChatMessageRepository repository;
     private final ChatService chatService;
+    private final ChatMessageWriter chatMessageWriter;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final HashUUIDGenerator hashUUIDGenerator;
+    private final MeterRegistry meterRegistry;
+    private final PresenceService presenceService;
+    private final Validator validator;
 
-    public ChatMessage save(ChatMessageRequest chatMessageRequest) {
-        Chat chat = chatService
-                .findOrCreateChatRoom(chatMessageRequest.getSenderId(), chatMessageRequest.getRecipientId(), true)
-                .orElseThrow(() -> new ChatRoomNotFoundException("Chat room could not be created or found."));
+    static final String MESSAGES_DESTINATION = "/queue/messages";
+
+    private static final List<String> VALIDATED_PROPERTIES = List.of("senderId", "recipientId", "content");
+
+    private Timer deliveryTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        deliveryTimer = Timer.builder("chat.messages.delivery")
+                .description("Time from receiving a chat message to handing it to the recipient's sessions")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Validates the message, queues it on {@link ChatMessageWriter}, which stores
+     * it with the next batch, and then delivers it to the recipient. The id and
+     * timestamp are assigned here, so the recipient sees the values that will be
+     * stored; a message that is invalid or cannot be queued is never delivered.
+     * An offline recipient gets no push and loads the message on return.
+     *
+     * @throws ConstraintViolationException if the message breaks the entity constraints
+     */
+    public ChatMessage send(ChatMessageRequest chatMessageRequest) {
+        long start = System.nanoTime();
 
         ChatMessage chatMessage = ChatMessage.builder()
+                .id(hashUUIDGenerator.encodeString(UUID.randomUUID().toString()))
                 .recipientId(chatMessageRequest.getRecipientId())
                 .senderId(chatMessageRequest.getSenderId())
                 .content(chatMessageRequest.getContent())
-                .chat(chat)
                 .createdAt(LocalDateTime.now())
                 .build();
+        validate(chatMessage);
 
-        return repository.save(chatMessage);
+        String chatId = chatService.resolveChatId(chatMessage.getSenderId(), chatMessage.getRecipientId());
+        chatMessage.setChat(Chat.builder().id(chatId).build());
+        chatMessageWriter.append(chatMessage);
+
+        if (presenceService.isOnline(chatMessage.getRecipientId())) {
+            ChatNotification notification = ChatNotification.builder()
+                    .id(chatMessage.getId())
+                    .senderId(chatMessage.getSenderId())
+                    .recipientId(chatMessage.getRecipientId())
+                    .content(chatMessage.getContent())
+                    .createdAt(chatMessage.getCreatedAt())
+                    .build();
+            messagingTemplate.convertAndSendToUser(chatMessage.getRecipientId(), MESSAGES_DESTINATION, notification);
+            deliveryTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return chatMessage;
     }
 
-    public List<ChatMessageResponse> findChatMessages(String senderId, String recipientId) {
-        Optional<Chat> chatRoom = Optional.ofNullable(chatService.findChatByUsers(senderId, recipientId));
+    private void validate(ChatMessage chatMessage) {
+        Set<ConstraintViolation<ChatMessage>> violations = new HashSet<>();
+        VALIDATED_PROPERTIES.forEach(property -> violations.addAll(validator.validateProperty(chatMessage, property)));
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+    }
 
-        return chatRoom.map(room -> repository.findByChatId(room.getId()))
+    /**
+     * Up to {@code size} newest messages of the chat, newest first.
+     */
+    public List<ChatMessageResponse> findChatMessages(String senderId, String recipientId, int size) {
+        return chatService.findChatId(senderId, recipientId)
+                .map(chatId -> repository.findByChatIdBefore(chatId, Cursor.FIRST.createdAt(), Cursor.FIRST.id(), PageRequest.of(0, size)))
                 .orElseGet(Collections::emptyList)
                 .stream()
                 .map(this::fromChatMessage)
-                .sorted((o1, o2) -> o2.getCreatedAt().compareTo(o1.getCreatedAt()))
+                .toList();
+    }
+
+    public CursorSlice<ChatMessageResponse> findChatMessages(String senderId, String recipientId, Cursor cursor, int size) {
+        Optional<String> chatId = chatService.findChatId(senderId, recipientId);
+        if (chatId.isEmpty()) {
+            return new CursorSlice<>(List.of(), null, false);
+        }
+
+        List<ChatMessage> messages = repository.findByChatIdBefore(
+                chatId.get(), cursor.createdAt(), cursor.id(), CursorSlice.limit(size));
+
+        return CursorSlice.of(messages, size,
+                message -> new Cursor(message.getCreatedAt(), message.getId()),
+                slice -> slice.stream()
+                        .map(this::fromChatMessage)
+                        .toList());
+    }
+
+    /**
+     * Up to {@code size} messages sent before the given message, newest first.
+     */
+    public List<ChatMessageResponse> findChatMessagesBefore(String senderId, String recipientId, String messageId, int size) {
+        return findChatMessagesAround(senderId, recipientId, messageId, (chatId, createdAt) ->
+                repository.findByChatIdBefore(chatId, createdAt, messageId, PageRequest.of(0, size)));
+    }
+
+    /**
+     * Up to {@code size} messages sent right after the given message, newest first.
+     */
+    public List<ChatMessageResponse> findChatMessagesAfter(String senderId, String recipientId, String messageId, int size) {
+        return findChatMessagesAround(senderId, recipientId, messageId, (chatId, createdAt) ->
+                repository.findByChatIdAfter(chatId, createdAt, messageId, PageRequest.of(0, size)).reversed());
+    }
+
+    private List<ChatMessageResponse> findChatMessagesAround(String senderId, String recipientId, String messageId,
+                                                             BiFunction<String, LocalDateTime, List<ChatMessage>> query) {
+        String chatId = chatService.findChatId(senderId, recipientId)
+                .orElseThrow(() -> new ChatRoomNotFoundException("Chat room could not be found."));
+        LocalDateTime createdAt = repository.findCreatedAtByIdAndChatId(messageId, chatId)
+                .or(() -> chatMessageWriter.findUnstored(messageId, chatId).map(ChatMessage::getCreatedAt))
+                .or(() -> repository.findCreatedAtByIdAndChatId(messageId, chatId))
+                .orElseThrow(() -> new ChatMessageNotFoundException("Message not found with id: " + messageId));
+
+        return query.apply(chatId, createdAt).stream()
+                .map(this::fromChatMessage)
                 .toList();
     }
 
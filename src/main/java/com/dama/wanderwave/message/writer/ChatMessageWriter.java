@@ -0,0 +1,363 @@
+package com.dama.wanderwave.message.writer;
+
+import com.dama.wanderwave.chat.summary.ConversationSummaryService;
+import com.dama.wanderwave.handler.chat.ChatUnavailableException;
+import com.dama.wanderwave.message.ChatMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Stores chat messages after they have been delivered.
+ * <p>
+ * {@link #append} puts a message on a bounded queue; a single writer thread
+ * takes whatever has queued up, waiting at most {@code max-delay-ms} for a batch
+ * of {@code batch-size}, and inserts it with one JDBC batch together with the
+ * matching {@code conversation_summaries} upserts, in one transaction. With
+ * {@code synchronous-commit} off that transaction does not wait for its WAL
+ * flush, trading the last few batches on a database crash for throughput.
+ * <p>
+ * A full queue blocks the caller for at most {@code enqueue-timeout-ms}, after
+ * which the send fails instead of holding a broker thread. A batch that keeps
+ * failing is retried {@code max-retries} times and then stored message by
+ * message, dropping the ones that still fail, so one bad batch cannot stall
+ * every chat. On shutdown the writer stops taking new messages only after the
+ * web server and the message broker have stopped, and drains the queue before
+ * the data source is closed.
+ * <p>
+ * Messages are delivered before they are stored, so a reader may name one that
+ * has no row yet: {@link #findUnstored} finds it in the queue. A chat that is
+ * being cleared calls {@link #discard} first, so no queued message of it is
+ * inserted after its rows are deleted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ChatMessageWriter implements SmartLifecycle {
+
+    static final String INSERT_SQL = """
+            INSERT INTO messages (id, chat_id, content, created_at, sender_id, recipient_id)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (id) DO NOTHING
+            """;
+
+    private static final String ASYNC_COMMIT_SQL = "SET LOCAL synchronous_commit TO off";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ConversationSummaryService conversationSummaryService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.chat.write-behind.capacity:10000}")
+    private int capacity;
+
+    @Value("${application.chat.write-behind.batch-size:200}")
+    private int batchSize;
+
+    @Value("${application.chat.write-behind.max-delay-ms:5}")
+    private long maxDelayMs;
+
+    @Value("${application.chat.write-behind.synchronous-commit:true}")
+    private boolean synchronousCommit;
+
+    @Value("${application.chat.write-behind.retry-delay-ms:1000}")
+    private long retryDelayMs;
+
+    @Value("${application.chat.write-behind.max-retries:10}")
+    private int maxRetries;
+
+    @Value("${application.chat.write-behind.enqueue-timeout-ms:1000}")
+    private long enqueueTimeoutMs;
+
+    @Value("${application.chat.write-behind.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMs;
+
+    private final ReentrantLock writeLock = new ReentrantLock(true);
+
+    private BlockingQueue<ChatMessage> queue;
+    private TransactionTemplate transactionTemplate;
+    private volatile boolean running;
+    private Thread writer;
+
+    private Counter persisted;
+    private Counter dropped;
+    private Counter rejected;
+    private DistributionSummary batchSizes;
+    private Timer flushTimer;
+
+    @PostConstruct
+    void init() {
+        queue = new ArrayBlockingQueue<>(capacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        persisted = Counter.builder("chat.messages.persisted")
+                .description("Chat messages inserted by the write-behind writer")
+                .register(meterRegistry);
+        dropped = Counter.builder("chat.messages.dropped")
+                .description("Chat messages the database did not take, e.g. for a deleted chat")
+                .register(meterRegistry);
+        rejected = Counter.builder("chat.messages.rejected")
+                .description("Chat messages refused because the write-behind queue stayed full")
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("chat.messages.batch.size")
+                .description("Number of chat messages inserted by one batch")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("chat.messages.batch.duration")
+                .description("Time taken to insert one batch of chat messages")
+                .register(meterRegistry);
+        Gauge.builder("chat.messages.queued", queue, BlockingQueue::size)
+                .description("Delivered chat messages waiting to be stored")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the message for the next batch, waiting up to {@code enqueue-timeout-ms}
+     * while the queue is full. Once the writer has stopped the message is stored
+     * right away instead.
+     *
+     * @throws ChatUnavailableException if the queue stayed full
+     */
+    public void append(ChatMessage message) {
+        if (running) {
+            try {
+                if (queue.offer(message, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+                rejected.increment();
+                log.error("Chat message queue stayed full for {} ms, rejecting message {}", enqueueTimeoutMs, message.getId());
+                throw new ChatUnavailableException("Chat is temporarily unavailable, please try again");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while queueing message {}, storing it directly", message.getId());
+            }
+        }
+        write(List.of(message));
+    }
+
+    /**
+     * Removes the queued messages of the chat once the writer has finished the
+     * batch it is collecting or storing, so the caller can delete the chat's rows
+     * without one of its messages being inserted afterwards.
+     *
+     * @return the number of messages discarded
+     */
+    public int discard(String chatId) {
+        List<ChatMessage> discarded = new ArrayList<>();
+        writeLock.lock();
+        try {
+            queue.removeIf(message -> chatId.equals(message.getChat().getId()) && discarded.add(message));
+        } finally {
+            writeLock.unlock();
+        }
+
+        if (!discarded.isEmpty()) {
+            dropped.increment(discarded.size());
+            log.info("Discarded {} queued messages of cleared chat {}", discarded.size(), chatId);
+        }
+        return discarded.size();
+    }
+
+    /**
+     * Finds a message of the chat that is still queued. When it is not queued but
+     * may be in the batch being stored, waits until that batch is done, so a
+     * message that was accepted is either returned here or found in the database.
+     */
+    public Optional<ChatMessage> findUnstored(String messageId, String chatId) {
+        for (ChatMessage message : queue) {
+            if (message.getId().equals(messageId) && chatId.equals(message.getChat().getId())) {
+                return Optional.of(message);
+            }
+        }
+        writeLock.lock();
+        writeLock.unlock();
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::run, "chat-message-writer");
+        writer.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+            log.error("Chat message writer did not drain in {} ms, {} messages were not stored", shutdownTimeoutMs, queue.size());
+            return;
+        }
+
+        List<ChatMessage> late = new ArrayList<>();
+        queue.drainTo(late);
+        if (!late.isEmpty()) {
+            write(late);
+        }
+        log.info("Chat message writer stopped with its queue drained");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<ChatMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                writeLock.lockInterruptibly();
+                try {
+                    if (fill(batch)) {
+                        writeWithRetry(batch);
+                    }
+                } finally {
+                    writeLock.unlock();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                dropped.increment(batch.size());
+                log.error("Dropping {} chat messages after an unexpected failure", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Waits for a first message, then collects more until the batch is full or
+     * {@code max-delay-ms} has passed since the first one arrived.
+     */
+    private boolean fill(List<ChatMessage> batch) throws InterruptedException {
+        ChatMessage first = queue.poll(maxDelayMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return false;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            ChatMessage next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return true;
+    }
+
+    /**
+     * Retries a failing batch up to {@code max-retries} times, then stores its
+     * messages one by one so only the ones that still fail are dropped.
+     */
+    private void writeWithRetry(List<ChatMessage> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxRetries) {
+                    log.error("Failed to store {} chat messages {} times, storing them one by one", batch.size(), attempt, e);
+                    writeOneByOne(batch);
+                    return;
+                }
+                log.error("Failed to store {} chat messages, retrying in {} ms", batch.size(), retryDelayMs, e);
+                Thread.sleep(retryDelayMs);
+            }
+        }
+    }
+
+    private void writeOneByOne(List<ChatMessage> batch) {
+        for (ChatMessage message : batch) {
+            try {
+                write(List.of(message));
+            } catch (RuntimeException e) {
+                dropped.increment();
+                log.error("Dropping chat message {} that could not be stored", message.getId(), e);
+            }
+        }
+    }
+
+    private void write(List<ChatMessage> batch) {
+        try {
+            flushTimer.record(() -> insert(batch));
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() == 1) {
+                dropped.increment();
+                log.error("Dropping chat message {} rejected by the database", batch.getFirst().getId(), e);
+                return;
+            }
+            log.warn("Batch of {} chat messages rejected, storing them one by one", batch.size());
+            batch.forEach(message -> write(List.of(message)));
+            return;
+        }
+        persisted.increment(batch.size());
+        batchSizes.record(batch.size());
+    }
+
+    private void insert(List<ChatMessage> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!synchronousCommit) {
+                jdbcTemplate.execute(ASYNC_COMMIT_SQL);
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, message) -> {
+                ps.setString(1, message.getId());
+                ps.setString(2, message.getChat().getId());
+                ps.setString(3, message.getContent());
+                ps.setTimestamp(4, Timestamp.valueOf(message.getCreatedAt()));
+                ps.setString(5, message.getSenderId());
+                ps.setString(6, message.getRecipientId());
+            });
+            conversationSummaryService.recordMessages(batch);
+        });
+    }
+}
@@ -1,11 +1,13 @@
 package com.dama.wanderwave.notification;
 
 import com.dama.wanderwave.user.User;
+import com.vladmihalcea.hibernate.type.array.StringArrayType;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Type;
 import org.springframework.data.annotation.CreatedDate;
 
 import java.time.LocalDateTime;
@@ -50,6 +52,17 @@ public class Notification {
 	@JoinColumn(name = "action_user_id", nullable = false, referencedColumnName = "user_id", foreignKey = @ForeignKey(name = "fk_notification_sender_user"))
 	private User actionUser;
 
+	@Builder.Default
+	@Column(name = "actor_count", nullable = false)
+	private int actorCount = 1;
+
+	@Type(StringArrayType.class)
+	@Column(name = "sample_actor_ids", columnDefinition = "TEXT[]", nullable = false)
+	private String[] sampleActorIds;
+
+	@Column(name = "bucket_start", nullable = false)
+	private LocalDateTime bucketStart;
+
 	public enum NotificationType {
 		LIKE, COMMENT, FOLLOW
 	}
@@ -2,6 +2,8 @@ package com.dama.wanderwave.notification;
 
 import com.dama.wanderwave.notification.request.NotificationRequest;
 import com.dama.wanderwave.notification.response.NotificationResponse;
+import com.dama.wanderwave.utils.Cursor;
+import com.dama.wanderwave.utils.CursorSlice;
 import com.dama.wanderwave.utils.ResponseRecord;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -25,7 +27,12 @@ public class NotificationController {
     @Operation(summary = "Get notifications by user ID", description = "Retrieves all notifications for a specific user.")
     public ResponseEntity<ResponseRecord> getNotificationsByUserId(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            CursorSlice<NotificationResponse> slice = notificationService.getNotifications(Cursor.decode(cursor), size);
+            return ResponseEntity.ok(new ResponseRecord(HttpStatus.OK.value(), slice));
+        }
         List<NotificationResponse> response = notificationService.getNotifications(page, size);
         return ResponseEntity.ok(new ResponseRecord(HttpStatus.OK.value(), response));
     }
@@ -39,6 +46,12 @@ public class NotificationController {
         return ResponseEntity.ok(new ResponseRecord(HttpStatus.OK.value(), response));
     }
 
+    @GetMapping("/unread-count")
+    @Operation(summary = "Get unread notification count", description = "Returns the number of unread notifications of the current user.")
+    public ResponseEntity<ResponseRecord> getUnreadCount() {
+        return ResponseEntity.ok(new ResponseRecord(HttpStatus.OK.value(), notificationService.getUnreadCount()));
+    }
+
     @PostMapping("/mark-as-read/{notificationId}")
     @Operation(summary = "Mark notification as read", description = "Marks a specific notification as read.")
     public ResponseEntity<ResponseRecord> markNotificationAsRead(@PathVariable String notificationId) {
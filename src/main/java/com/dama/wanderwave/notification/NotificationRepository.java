@@ -1,20 +1,40 @@
 package com.dama.wanderwave.notification;
 
-import com.dama.wanderwave.user.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, String> {
     Page<Notification> findByRecipientIdOrderByCreatedAtDesc(String recipientId, Pageable pageable);
 
+    @Query("SELECT n FROM Notification n " +
+            "WHERE n.recipient.id = :recipientId AND n.bucketStart <= :createdAt " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findByRecipientIdBefore(@Param("recipientId") String recipientId,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") String id,
+                                               Pageable pageable);
+
     Page<Notification> findByRecipientIdAndIsReadFalseOrderByCreatedAtDesc(String recipientId, Pageable pageable);
 
-    List<Notification> findByRecipientIdAndIsReadFalse(String recipientId);
+    long countByRecipientIdAndIsReadFalse(String recipientId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :id AND n.isRead = false")
+    int markAsReadById(@Param("id") String id);
 
-    boolean existsByRecipientAndActionUserAndObjectId(User recipientId, User actionUser, String objectId);
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.recipient.id = :recipientId AND n.isRead = false")
+    int markAllAsReadByRecipientId(@Param("recipientId") String recipientId);
 
-    List<Notification> findAllByObjectId(String objectId);
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.objectId = :objectId")
+    int deleteAllByObjectId(@Param("objectId") String objectId);
 }
\ No newline at end of file
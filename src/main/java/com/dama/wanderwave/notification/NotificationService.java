@@ -1,19 +1,26 @@
 package com.dama.wanderwave.notification;
 
-import com.dama.wanderwave.handler.user.UserNotFoundException;
+import com.dama.wanderwave.notification.pipeline.NotificationEvent;
+import com.dama.wanderwave.notification.pipeline.NotificationPipeline;
 import com.dama.wanderwave.notification.response.NotificationResponse;
+import com.dama.wanderwave.notification.unread.UnreadNotificationCounter;
+import com.dama.wanderwave.user.AuthenticatedUserHolder;
 import com.dama.wanderwave.user.User;
-import com.dama.wanderwave.user.UserRepository;
+import com.dama.wanderwave.user.response.ShortUserResponse;
+import com.dama.wanderwave.user.summary.UserSummaryCache;
+import com.dama.wanderwave.utils.Cursor;
+import com.dama.wanderwave.utils.CursorSlice;
+import com.dama.wanderwave.utils.TransactionHooks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -21,90 +28,55 @@ import java.util.List;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
-    private final UserRepository userRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationPipeline notificationPipeline;
+    private final AuthenticatedUserHolder authenticatedUserHolder;
+    private final UserSummaryCache userSummaryCache;
+    private final UnreadNotificationCounter unreadNotificationCounter;
 
     public void sendLikeNotification(String recipientId, String objectId, String actionUserId) {
-        User recipient = findUserByIdOrThrow(recipientId);
-        User actionUser = findUserByIdOrThrow(actionUserId);
-
-        if (notificationRepository.existsByRecipientAndActionUserAndObjectId(recipient, actionUser, objectId)) {
-            return;
-        }
-
-        createNotification(
-                recipientId,
-                Notification.NotificationType.LIKE,
-                objectId,
-                actionUserId
-        );
+        publish(recipientId, Notification.NotificationType.LIKE, objectId, actionUserId);
     }
 
     public void sendCommentNotification(String recipientId, String objectId, String actionUserId) {
-        createNotification(
-                recipientId,
-                Notification.NotificationType.COMMENT,
-                objectId,
-                actionUserId
-        );
+        publish(recipientId, Notification.NotificationType.COMMENT, objectId, actionUserId);
     }
 
     public void sendFollowNotification(String recipientId, String objectId, String actionUserId) {
-        User recipient = findUserByIdOrThrow(recipientId);
-        User actionUser = findUserByIdOrThrow(actionUserId);
-
-        if (notificationRepository.existsByRecipientAndActionUserAndObjectId(recipient, actionUser, objectId)) {
-            return;
-        }
-
-        createNotification(
-                recipientId,
-                Notification.NotificationType.FOLLOW,
-                objectId,
-                actionUserId
-        );
+        publish(recipientId, Notification.NotificationType.FOLLOW, objectId, actionUserId);
     }
 
-    private NotificationResponse createNotification(String recipientId, Notification.NotificationType type, String objectId, String actionUserId) {
-        User recipient = findUserByIdOrThrow(recipientId);
-        User actionUser = findUserByIdOrThrow(actionUserId);
-
-        Notification notification = Notification.builder()
-                .recipient(recipient)
-                .type(type)
-                .objectId(objectId)
-                .actionUser(actionUser)
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        Notification savedNotification = notificationRepository.save(notification);
-        sendRealTimeNotification(savedNotification);
-        return NotificationResponse.fromEntity(savedNotification);
+    /**
+     * Hands the notification to the pipeline once the caller's transaction has
+     * committed, so a rolled back like never notifies and the caller never waits
+     * for the insert or the push.
+     */
+    private void publish(String recipientId, Notification.NotificationType type, String objectId, String actionUserId) {
+        NotificationEvent event = new NotificationEvent(recipientId, type, objectId, actionUserId, LocalDateTime.now());
+        TransactionHooks.afterCommit(() -> notificationPipeline.submit(event));
     }
 
-    private void sendRealTimeNotification(Notification notification) {
-        messagingTemplate.convertAndSendToUser(
-                notification.getRecipient().getId(),
-                "/queue/notifications",
-                NotificationResponse.fromEntity(notification)
-        );
+    public List<NotificationResponse> getNotifications(int page, int size) {
+        User user = getAuthenticatedUser();
+        return toResponses(notificationRepository
+                .findByRecipientIdOrderByCreatedAtDesc(user.getId(), PageRequest.of(page, size))
+                .getContent());
     }
 
-    public List<NotificationResponse> getNotifications(int page, int size) {
+    public CursorSlice<NotificationResponse> getNotifications(Cursor cursor, int size) {
         User user = getAuthenticatedUser();
-        return notificationRepository.findByRecipientIdOrderByCreatedAtDesc(user.getId(), PageRequest.of(page, size))
-                .stream()
-                .map(NotificationResponse::fromEntity)
-                .toList();
+        List<Notification> notifications = notificationRepository.findByRecipientIdBefore(
+                user.getId(), cursor.createdAt(), cursor.id(), CursorSlice.limit(size));
+
+        return CursorSlice.of(notifications, size,
+                notification -> new Cursor(notification.getCreatedAt(), notification.getId()),
+                this::toResponses);
     }
 
     public List<NotificationResponse> getUnreadNotifications(int page, int size) {
         User user = getAuthenticatedUser();
-        return notificationRepository
+        return toResponses(notificationRepository
                 .findByRecipientIdAndIsReadFalseOrderByCreatedAtDesc(user.getId(), PageRequest.of(page, size))
-                .stream()
-                .map(NotificationResponse::fromEntity)
-                .toList();
+                .getContent());
     }
 
     public Notification getNotificationById(String notificationId) {
@@ -112,35 +84,56 @@ public class NotificationService {
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
     }
 
+    /**
+     * Marks the notification as read with a conditional update, so of two
+     * concurrent calls only the one that changed the row lowers the unread count.
+     */
+    @Transactional
     public Notification markNotificationAsRead(String notificationId) {
-        log.info("Attempting to mark notification with ID: {} as read", notificationId);
-
         Notification notification = getNotificationById(notificationId);
-        notification.setRead(true);
-
-        log.info("Notification with ID: {} marked as read", notificationId);
+        String recipientId = notification.getRecipient().getId();
 
-        Notification savedNotification = notificationRepository.save(notification);
-        log.info("Notification with ID: {} successfully marked as read and saved", notificationId);
+        int marked = notificationRepository.markAsReadById(notificationId);
+        notification.setRead(true);
+        if (marked == 1) {
+            TransactionHooks.afterCommit(() -> unreadNotificationCounter.decrement(recipientId));
+        }
+        log.debug("Marked notification {} as read, changed: {}", notificationId, marked == 1);
 
-        return savedNotification;
+        return notification;
     }
 
+    /**
+     * Marks every unread notification of the user as read with one statement.
+     */
+    @Transactional
     public void markAllNotificationsAsRead() {
-        User user = getAuthenticatedUser();
-        List<Notification> notifications = notificationRepository.findByRecipientIdAndIsReadFalse(user.getId());
-        notifications.forEach(notification -> notification.setRead(true));
-        notificationRepository.saveAll(notifications);
+        String userId = authenticatedUserHolder.getId();
+        int marked = notificationRepository.markAllAsReadByRecipientId(userId);
+        log.debug("Marked {} notifications of user {} as read", marked, userId);
+        TransactionHooks.afterCommit(() -> unreadNotificationCounter.reset(userId));
     }
 
-    private User getAuthenticatedUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+    public long getUnreadCount() {
+        return unreadNotificationCounter.get(authenticatedUserHolder.getId());
     }
 
-    private User findUserByIdOrThrow(String userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User not found with id " + userId));
+    /**
+     * Maps a page of notifications, loading the sample actors of all of them
+     * with at most one query.
+     */
+    private List<NotificationResponse> toResponses(List<Notification> notifications) {
+        Map<String, ShortUserResponse> sampleActors = userSummaryCache.getAll(notifications.stream()
+                .filter(notification -> notification.getSampleActorIds() != null)
+                .flatMap(notification -> Arrays.stream(notification.getSampleActorIds()))
+                .distinct()
+                .toList());
+        return notifications.stream()
+                .map(notification -> NotificationResponse.fromEntity(notification, sampleActors))
+                .toList();
+    }
+
+    private User getAuthenticatedUser() {
+        return authenticatedUserHolder.get();
     }
 }
\ No newline at end of file
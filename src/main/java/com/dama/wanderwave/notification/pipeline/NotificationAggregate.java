@@ -0,0 +1,48 @@
+package com.dama.wanderwave.notification.pipeline;
+
+import com.dama.wanderwave.notification.Notification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The notifications of one batch that fall into the same aggregated row: same
+ * recipient, type and object within one time bucket.
+ */
+record NotificationAggregate(Key key, String actionUserId, LocalDateTime createdAt, int actorCount, List<String> sampleActorIds) {
+
+    static final int SAMPLE_ACTORS = 3;
+
+    static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::recipientId)
+            .thenComparing(Key::type)
+            .thenComparing(Key::objectId)
+            .thenComparing(Key::bucketStart);
+
+    record Key(String recipientId, Notification.NotificationType type, String objectId, LocalDateTime bucketStart) {
+    }
+
+    static NotificationAggregate of(Key key, NotificationEvent event) {
+        return new NotificationAggregate(key, event.actionUserId(), event.createdAt(), 1, List.of(event.actionUserId()));
+    }
+
+    /**
+     * Keeps the newest actor as the action user and up to {@link #SAMPLE_ACTORS}
+     * distinct actors, newest first.
+     */
+    NotificationAggregate merge(NotificationAggregate other) {
+        boolean otherIsNewer = !other.createdAt().isBefore(createdAt);
+        NotificationAggregate newer = otherIsNewer ? other : this;
+        NotificationAggregate older = otherIsNewer ? this : other;
+
+        List<String> samples = new ArrayList<>(SAMPLE_ACTORS);
+        for (List<String> actors : List.of(newer.sampleActorIds(), older.sampleActorIds())) {
+            actors.stream()
+                    .filter(actor -> !samples.contains(actor))
+                    .limit(SAMPLE_ACTORS - samples.size())
+                    .forEach(samples::add);
+        }
+        return new NotificationAggregate(key, newer.actionUserId(), newer.createdAt(), actorCount + other.actorCount(), samples);
+    }
+}
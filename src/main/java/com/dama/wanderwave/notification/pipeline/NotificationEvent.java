@@ -0,0 +1,21 @@
+package com.dama.wanderwave.notification.pipeline;
+
+import com.dama.wanderwave.notification.Notification;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification to create once the transaction that caused it has committed,
+ * referring to users and the object by id only.
+ */
+public record NotificationEvent(String recipientId, Notification.NotificationType type, String objectId,
+                                String actionUserId, LocalDateTime createdAt) {
+
+    /**
+     * Likes and follows notify once per recipient, action user and object;
+     * every comment notifies.
+     */
+    boolean deduplicated() {
+        return type != Notification.NotificationType.COMMENT;
+    }
+}
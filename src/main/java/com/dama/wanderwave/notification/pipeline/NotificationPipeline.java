@@ -0,0 +1,363 @@
+package com.dama.wanderwave.notification.pipeline;
+
+import com.dama.wanderwave.hash.HashUUIDGenerator;
+import com.dama.wanderwave.notification.Notification;
+import com.dama.wanderwave.notification.push.NotificationPushCoalescer;
+import com.dama.wanderwave.notification.response.NotificationResponse;
+import com.dama.wanderwave.notification.unread.UnreadNotificationCounter;
+import com.dama.wanderwave.user.presence.PresenceService;
+import com.dama.wanderwave.user.response.ShortUserResponse;
+import com.dama.wanderwave.user.summary.UserSummaryCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Creates notifications off the request thread.
+ * <p>
+ * {@link #submit} is called after the causing transaction has committed. Likes
+ * and follows already notified within {@code dedupe-window} are dropped right
+ * there; the rest go on a bounded queue, and a full queue drops the event rather
+ * than slowing the caller down.
+ * <p>
+ * A single worker thread takes whatever has queued up and folds it into one
+ * row per recipient, type and object within an aggregation {@code bucket},
+ * carrying an actor count and a few sample actors ("Alice and 41 others liked
+ * your post"). The rows are upserted with one statement that references users
+ * by id only. A row that is new or was read before adds one to its
+ * recipient's {@link UnreadNotificationCounter}, and each row is then pushed to
+ * its recipient if they are online.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class NotificationPipeline implements SmartLifecycle {
+
+    /**
+     * Creates or folds into the aggregated row of each key. The newest actor
+     * becomes the action user, the row moves up to the newest notification's
+     * time and becomes unread again. The last column tells whether the row was
+     * new or read before: the subquery sees the table as it was before the
+     * statement.
+     */
+    static final String UPSERT_SQL = """
+            INSERT INTO notifications AS n (notification_id, recipient_id, type, object_id, bucket_start, action_user_id,
+                                            created_at, actor_count, sample_actor_ids, is_read)
+            VALUES %1$s
+            ON CONFLICT (recipient_id, type, object_id, bucket_start) DO UPDATE SET
+                action_user_id   = CASE WHEN EXCLUDED.created_at >= n.created_at
+                    THEN EXCLUDED.action_user_id ELSE n.action_user_id END,
+                created_at       = GREATEST(EXCLUDED.created_at, n.created_at),
+                actor_count      = n.actor_count + EXCLUDED.actor_count,
+                sample_actor_ids = ARRAY(SELECT s.actor
+                                         FROM unnest(CASE WHEN EXCLUDED.created_at >= n.created_at
+                                                         THEN EXCLUDED.sample_actor_ids || n.sample_actor_ids
+                                                         ELSE n.sample_actor_ids || EXCLUDED.sample_actor_ids END)
+                                                  WITH ORDINALITY AS s(actor, position)
+                                         GROUP BY s.actor
+                                         ORDER BY min(s.position)
+                                         LIMIT %2$d),
+                is_read          = false
+            RETURNING n.notification_id, n.recipient_id, n.type, n.object_id, n.action_user_id, n.created_at,
+                      n.actor_count, n.sample_actor_ids,
+                      COALESCE((SELECT o.is_read FROM notifications o WHERE o.notification_id = n.notification_id), true)
+            """;
+
+    private static final String UPSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, string_to_array(?, ','), false)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HashUUIDGenerator hashUUIDGenerator;
+    private final PresenceService presenceService;
+    private final UserSummaryCache userSummaryCache;
+    private final NotificationPushCoalescer notificationPushCoalescer;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.notifications.pipeline.capacity:10000}")
+    private int capacity;
+
+    @Value("${application.notifications.pipeline.batch-size:200}")
+    private int batchSize;
+
+    @Value("${application.notifications.pipeline.max-delay-ms:10}")
+    private long maxDelayMs;
+
+    @Value("${application.notifications.aggregation.bucket:PT1H}")
+    private Duration bucket;
+
+    @Value("${application.notifications.pipeline.dedupe-window:PT10M}")
+    private Duration dedupeWindow;
+
+    @Value("${application.notifications.pipeline.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private BlockingQueue<NotificationEvent> queue;
+    private Cache<Key, Boolean> recent;
+    private volatile boolean running;
+    private Thread worker;
+
+    private Counter created;
+    private Counter rows;
+    private Counter deduplicated;
+    private Counter dropped;
+    private Counter pushFailed;
+    private DistributionSummary batchSizes;
+
+    private record Key(String recipientId, String objectId, String actionUserId) {
+    }
+
+    private record Upserted(String id, String recipientId, Notification.NotificationType type, String objectId,
+                            String actionUserId, LocalDateTime createdAt, int actorCount, List<String> sampleActorIds,
+                            boolean becameUnread) {
+    }
+
+    @PostConstruct
+    void init() {
+        queue = new ArrayBlockingQueue<>(capacity);
+        recent = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(dedupeWindow)
+                .build();
+
+        created = Counter.builder("notifications.pipeline.created")
+                .description("Notifications stored by the pipeline, new rows or folded into an aggregated one")
+                .register(meterRegistry);
+        deduplicated = Counter.builder("notifications.pipeline.deduplicated")
+                .description("Like and follow notifications skipped as already sent")
+                .register(meterRegistry);
+        dropped = Counter.builder("notifications.pipeline.dropped")
+                .description("Notifications lost to a full queue or a failed insert")
+                .register(meterRegistry);
+        pushFailed = Counter.builder("notifications.pipeline.push.failed")
+                .description("Stored notification rows that could not be counted as unread or pushed")
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("notifications.pipeline.batch.size")
+                .description("Number of notifications inserted by one batch")
+                .register(meterRegistry);
+        rows = Counter.builder("notifications.pipeline.rows")
+                .description("Aggregated notification rows created or updated by the pipeline")
+                .register(meterRegistry);
+        Gauge.builder("notifications.pipeline.queued", queue, BlockingQueue::size)
+                .description("Notifications waiting to be inserted")
+                .register(meterRegistry);
+    }
+
+    public void submit(NotificationEvent event) {
+        if (event.deduplicated()) {
+            Key key = new Key(event.recipientId(), event.objectId(), event.actionUserId());
+            if (recent.asMap().putIfAbsent(key, Boolean.TRUE) != null) {
+                deduplicated.increment();
+                return;
+            }
+        }
+        if (!running) {
+            write(List.of(event));
+            return;
+        }
+        if (!queue.offer(event)) {
+            dropped.increment();
+            log.warn("Notification queue is full, dropping {} notification for {}", event.type(), event.recipientId());
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "notification-pipeline");
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            worker.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            worker.interrupt();
+            log.error("Notification pipeline did not drain in {} ms, {} notifications were not created", shutdownTimeoutMs, queue.size());
+            return;
+        }
+
+        List<NotificationEvent> late = new ArrayList<>();
+        queue.drainTo(late);
+        if (!late.isEmpty()) {
+            write(late);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    int queued() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<NotificationEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                NotificationEvent first = queue.poll(maxDelayMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                dropped.increment(batch.size());
+                log.error("Dropping {} notifications after an unexpected failure", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<NotificationEvent> batch) {
+        List<Upserted> upserted;
+        try {
+            upserted = upsert(batch);
+        } catch (DataIntegrityViolationException e) {
+            if (batch.size() == 1) {
+                dropped.increment();
+                log.warn("Dropping {} notification for {} rejected by the database", batch.getFirst().type(), batch.getFirst().recipientId(), e);
+                return;
+            }
+            batch.forEach(event -> write(List.of(event)));
+            return;
+        } catch (DataAccessException e) {
+            dropped.increment(batch.size());
+            log.error("Failed to create {} notifications", batch.size(), e);
+            return;
+        }
+        created.increment(batch.size());
+        rows.increment(upserted.size());
+        batchSizes.record(batch.size());
+        try {
+            upserted.stream()
+                    .filter(Upserted::becameUnread)
+                    .collect(Collectors.groupingBy(Upserted::recipientId, Collectors.counting()))
+                    .forEach(unreadNotificationCounter::increment);
+            push(upserted);
+        } catch (RuntimeException e) {
+            pushFailed.increment(upserted.size());
+            log.error("Stored {} notification rows but failed to count or push them", upserted.size(), e);
+        }
+    }
+
+    /**
+     * Folds the batch into one row per aggregation key and writes them with a
+     * single statement, in key order so concurrent writers lock rows in the
+     * same order.
+     */
+    private List<Upserted> upsert(List<NotificationEvent> batch) {
+        Map<NotificationAggregate.Key, NotificationAggregate> aggregates = new TreeMap<>(NotificationAggregate.KEY_ORDER);
+        for (NotificationEvent event : batch) {
+            NotificationAggregate.Key key = new NotificationAggregate.Key(event.recipientId(), event.type(), event.objectId(),
+                    bucketStart(event.createdAt()));
+            aggregates.merge(key, NotificationAggregate.of(key, event), NotificationAggregate::merge);
+        }
+
+        List<Object> args = new ArrayList<>(aggregates.size() * 9);
+        for (NotificationAggregate aggregate : aggregates.values()) {
+            args.add(hashUUIDGenerator.encodeString(UUID.randomUUID().toString()));
+            args.add(aggregate.key().recipientId());
+            args.add(aggregate.key().type().name());
+            args.add(aggregate.key().objectId());
+            args.add(Timestamp.valueOf(aggregate.key().bucketStart()));
+            args.add(aggregate.actionUserId());
+            args.add(Timestamp.valueOf(aggregate.createdAt()));
+            args.add(aggregate.actorCount());
+            args.add(String.join(",", aggregate.sampleActorIds()));
+        }
+
+        String values = String.join(", ", Collections.nCopies(aggregates.size(), UPSERT_ROW));
+        return jdbcTemplate.query(UPSERT_SQL.formatted(values, NotificationAggregate.SAMPLE_ACTORS),
+                (rs, rowNum) -> new Upserted(
+                        rs.getString(1),
+                        rs.getString(2),
+                        Notification.NotificationType.valueOf(rs.getString(3)),
+                        rs.getString(4),
+                        rs.getString(5),
+                        rs.getTimestamp(6).toLocalDateTime(),
+                        rs.getInt(7),
+                        List.of((String[]) rs.getArray(8).getArray()),
+                        rs.getBoolean(9)),
+                args.toArray());
+    }
+
+    LocalDateTime bucketStart(LocalDateTime createdAt) {
+        long bucketSeconds = bucket.toSeconds();
+        long epochSecond = createdAt.toEpochSecond(ZoneOffset.UTC);
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochSecond, bucketSeconds) * bucketSeconds, 0, ZoneOffset.UTC);
+    }
+
+    private void push(List<Upserted> upserted) {
+        List<Upserted> online = upserted.stream()
+                .filter(row -> presenceService.isOnline(row.recipientId()))
+                .toList();
+        if (online.isEmpty()) {
+            return;
+        }
+
+        Map<String, ShortUserResponse> actors = userSummaryCache.getAll(online.stream()
+                .flatMap(row -> Stream.concat(Stream.of(row.actionUserId()), row.sampleActorIds().stream()))
+                .distinct()
+                .toList());
+        online.forEach(row -> notificationPushCoalescer.push(row.recipientId(), NotificationResponse.builder()
+                .id(row.id())
+                .isRead(false)
+                .createdAt(row.createdAt())
+                .type(row.type())
+                .objectId(row.objectId())
+                .actionUser(actors.get(row.actionUserId()))
+                .actorCount(row.actorCount())
+                .sampleActors(row.sampleActorIds().stream()
+                        .map(actors::get)
+                        .filter(Objects::nonNull)
+                        .toList())
+                .build()));
+    }
+}
@@ -0,0 +1,14 @@
+package com.dama.wanderwave.notification.push;
+
+import com.dama.wanderwave.notification.Notification;
+import com.dama.wanderwave.notification.response.NotificationResponse;
+
+import java.util.List;
+
+/**
+ * A burst of notifications of one type pushed as a single frame. {@code count}
+ * is the number of pushes the burst folded; {@code notifications} holds the
+ * latest state of at most the newest {@code max-batch} of them, oldest first.
+ */
+public record NotificationBatch(Notification.NotificationType type, int count, List<NotificationResponse> notifications) {
+}
@@ -0,0 +1,134 @@
+package com.dama.wanderwave.notification.push;
+
+import com.dama.wanderwave.notification.Notification;
+import com.dama.wanderwave.notification.response.NotificationResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects real-time notification pushes for the length of one flush interval.
+ * <p>
+ * A recipient that got a single notification of a type in that window receives
+ * it on {@code /queue/notifications} as before; a burst of the same type is sent
+ * once as a {@link NotificationBatch} on {@code /queue/notifications/batch}, so a
+ * popular post does not flood its author's session with one frame per like.
+ * Repeated pushes of one aggregated notification keep only its latest state.
+ * <p>
+ * A recipient gets frames at most once per {@code min-interval-ms}; until then
+ * their pushes keep collecting.
+ */
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class NotificationPushCoalescer {
+
+    static final String NOTIFICATIONS_DESTINATION = "/queue/notifications";
+    static final String BATCH_DESTINATION = "/queue/notifications/batch";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.notifications.coalesce.max-batch:50}")
+    private int maxBatch;
+
+    @Value("${application.notifications.push.min-interval-ms:1000}")
+    private long minIntervalMs;
+
+    private final Map<Key, Burst> pending = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastPushed = new ConcurrentHashMap<>();
+
+    private Counter frames;
+    private Counter coalesced;
+    private Counter deferred;
+
+    record Key(String recipientId, Notification.NotificationType type) {
+    }
+
+    private static final class Burst {
+        private final LinkedHashMap<String, NotificationResponse> newest = new LinkedHashMap<>();
+        private int count;
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        frames = Counter.builder("notifications.push.frames")
+                .description("Notification frames pushed to online recipients")
+                .register(meterRegistry);
+        coalesced = Counter.builder("notifications.push.coalesced")
+                .description("Notifications that shared a frame with an earlier one of the same type")
+                .register(meterRegistry);
+        deferred = Counter.builder("notifications.push.deferred")
+                .description("Flushes that held a recipient's pushes back to respect the push rate limit")
+                .register(meterRegistry);
+        Gauge.builder("notifications.push.pending", pending, Map::size)
+                .description("Recipient and type pairs waiting for the next push")
+                .register(meterRegistry);
+    }
+
+    public void push(String recipientId, NotificationResponse notification) {
+        pending.compute(new Key(recipientId, notification.getType()), (key, burst) -> {
+            Burst target = burst != null ? burst : new Burst();
+            target.newest.remove(notification.getId());
+            if (target.newest.size() >= maxBatch) {
+                target.newest.pollFirstEntry();
+            }
+            target.newest.put(notification.getId(), notification);
+            target.count++;
+            return target;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${application.notifications.coalesce.window-ms:200}")
+    public void flush() {
+        flush(false);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush(true);
+    }
+
+    private synchronized void flush(boolean force) {
+        long now = System.nanoTime();
+        long minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMs);
+        Set<String> pushedNow = new HashSet<>();
+        pending.keySet().forEach(key -> {
+            String recipientId = key.recipientId();
+            Long last = lastPushed.get(recipientId);
+            if (!force && !pushedNow.contains(recipientId) && last != null && now - last < minIntervalNanos) {
+                deferred.increment();
+                return;
+            }
+            Burst burst = pending.remove(key);
+            if (burst != null) {
+                send(key, burst);
+                pushedNow.add(recipientId);
+                lastPushed.put(recipientId, now);
+            }
+        });
+        lastPushed.values().removeIf(last -> now - last >= minIntervalNanos);
+    }
+
+    private void send(Key key, Burst burst) {
+        frames.increment();
+        coalesced.increment(burst.count - 1);
+        if (burst.newest.size() == 1) {
+            messagingTemplate.convertAndSendToUser(key.recipientId(), NOTIFICATIONS_DESTINATION, burst.newest.firstEntry().getValue());
+            return;
+        }
+        messagingTemplate.convertAndSendToUser(key.recipientId(), BATCH_DESTINATION,
+                new NotificationBatch(key.type(), burst.count, new ArrayList<>(burst.newest.values())));
+    }
+}
@@ -6,6 +6,10 @@ import lombok.Builder;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Data
 @Builder
@@ -16,8 +20,23 @@ public class NotificationResponse {
     private Notification.NotificationType type;
     private String objectId;
     private ShortUserResponse actionUser;
+    private int actorCount;
+    private List<ShortUserResponse> sampleActors;
 
     public static NotificationResponse fromEntity(Notification notification) {
+        return fromEntity(notification, Map.of());
+    }
+
+    /**
+     * Fills in the sample actors found in {@code users}, in the order the
+     * notification keeps them, newest first.
+     */
+    public static NotificationResponse fromEntity(Notification notification, Map<String, ShortUserResponse> users) {
+        String[] sampleActorIds = notification.getSampleActorIds() != null ? notification.getSampleActorIds() : new String[0];
+        List<ShortUserResponse> sampleActors = Arrays.stream(sampleActorIds)
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .toList();
         return NotificationResponse.builder()
                 .id(notification.getId())
                 .isRead(notification.isRead())
@@ -25,6 +44,8 @@ public class NotificationResponse {
                 .type(notification.getType())
                 .objectId(notification.getObjectId())
                 .actionUser(ShortUserResponse.fromEntity(notification.getActionUser()))
+                .actorCount(notification.getActorCount())
+                .sampleActors(sampleActors)
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.dama.wanderwave.notification.retention;
+
+import com.dama.wanderwave.notification.unread.UnreadNotificationCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of {@code notifications} in step with the calendar.
+ * <p>
+ * Rows are partitioned by the month of their {@code bucket_start}. Partitions are
+ * created {@code months-ahead} months in advance so inserts never miss one, and
+ * partitions that ended more than {@code retention.months} months ago are detached
+ * and dropped whole instead of deleting their rows one by one.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class NotificationPartitionMaintainer {
+
+    static final Pattern PARTITION_NAME = Pattern.compile("notifications_p(\\d{4})_(\\d{2})");
+
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+                     JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'notifications'::regclass
+            """;
+
+    private static final String CREATE_SQL =
+            "CREATE TABLE IF NOT EXISTS %s PARTITION OF notifications FOR VALUES FROM ('%s-01') TO ('%s-01')";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+
+    @Value("${application.notifications.retention.months:6}")
+    private int retentionMonths;
+
+    @Value("${application.notifications.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    Clock clock = Clock.systemDefaultZone();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${application.notifications.partitions.cron:0 15 3 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now(clock);
+        try {
+            createAhead(current);
+            dropExpired(current);
+        } catch (DataAccessException e) {
+            log.error("Failed to maintain notification partitions", e);
+        }
+    }
+
+    void createAhead(YearMonth current) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            jdbcTemplate.execute(CREATE_SQL.formatted(partitionName(month), month, month.plusMonths(1)));
+        }
+    }
+
+    void dropExpired(YearMonth current) {
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        List<String> expired = jdbcTemplate.queryForList(PARTITIONS_SQL, String.class).stream()
+                .filter(name -> {
+                    YearMonth month = monthOf(name);
+                    return month != null && month.isBefore(oldestKept);
+                })
+                .sorted()
+                .toList();
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        for (String name : expired) {
+            jdbcTemplate.execute("ALTER TABLE notifications DETACH PARTITION " + name);
+            jdbcTemplate.execute("DROP TABLE " + name);
+            log.info("Dropped expired notification partition {}", name);
+        }
+        unreadNotificationCounter.invalidateAll();
+    }
+
+    static String partitionName(YearMonth month) {
+        return "notifications_p%04d_%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+
+    static YearMonth monthOf(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+}
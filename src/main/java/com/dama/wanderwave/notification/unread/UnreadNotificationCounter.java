@@ -0,0 +1,83 @@
+package com.dama.wanderwave.notification.unread;
+
+import com.dama.wanderwave.notification.NotificationRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the number of unread notification rows of recently active users.
+ * <p>
+ * A user's count is loaded with one indexed {@code count(*)} the first time it
+ * is asked for, then moved by the pipeline as rows become unread and by the
+ * read endpoints as they are read. Changes for users that are not loaded are
+ * skipped; the next load sees them in the table. Entries are reloaded after
+ * {@code expire-after-write}, which also bounds the drift between instances.
+ */
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class UnreadNotificationCounter {
+
+    static final String CACHE_NAME = "unreadNotifications";
+
+    private final NotificationRepository notificationRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.notifications.unread-cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${application.notifications.unread-cache.expire-after-write:PT5M}")
+    private Duration expireAfterWrite;
+
+    private LoadingCache<String, AtomicLong> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build(userId -> new AtomicLong(notificationRepository.countByRecipientIdAndIsReadFalse(userId)));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public long get(String userId) {
+        return cache.get(userId).get();
+    }
+
+    public void increment(String userId, long delta) {
+        AtomicLong count = cache.getIfPresent(userId);
+        if (count != null) {
+            count.updateAndGet(current -> Math.max(0, current + delta));
+        }
+    }
+
+    public void decrement(String userId) {
+        increment(userId, -1);
+    }
+
+    /**
+     * Sets the count to zero after every notification of the user was read.
+     */
+    public void reset(String userId) {
+        cache.put(userId, new AtomicLong());
+    }
+
+    /**
+     * Drops every loaded count after rows were removed in bulk, such as when
+     * expired partitions are dropped.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
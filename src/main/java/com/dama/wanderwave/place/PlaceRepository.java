@@ -2,11 +2,17 @@ package com.dama.wanderwave.place;
 
 import com.dama.wanderwave.post.Post;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface PlaceRepository extends JpaRepository<Place, String> {
 
     List<Place> findAllByPost(Post post);
 
+    @Query("SELECT pl.post.id AS postId, pl.displayName AS displayName, pl.rating AS rating FROM Place pl WHERE pl.post.id IN :postIds")
+    List<PlaceSummary> findSummariesByPostIdIn(@Param("postIds") Collection<String> postIds);
+
 }
@@ -0,0 +1,10 @@
+package com.dama.wanderwave.place;
+
+public interface PlaceSummary {
+
+    String getPostId();
+
+    String getDisplayName();
+
+    double getRating();
+}
@@ -86,12 +86,12 @@ public class Post {
 	private Set<SavedPost> savedPosts = new HashSet<>();
 
 	@Min(value = 0, message = "Likes count must be non-negative")
-	@Column(name = "post_likes")
+	@Column(name = "post_likes", updatable = false)
 	@Builder.Default
 	private Integer likesCount = 0;
 
 	@Min(value = 0, message = "Comments count must be non-negative")
-	@Column(name = "post_comments")
+	@Column(name = "post_comments", updatable = false)
 	@Builder.Default
 	private Integer commentsCount = 0;
 
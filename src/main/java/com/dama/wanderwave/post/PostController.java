@@ -7,6 +7,8 @@ import com.dama.wanderwave.post.request.PostRequest;
 import com.dama.wanderwave.post.response.CommentResponse;
 import com.dama.wanderwave.post.response.PostResponse;
 import com.dama.wanderwave.post.response.ShortPostResponse;
+import com.dama.wanderwave.utils.Cursor;
+import com.dama.wanderwave.utils.CursorSlice;
 import com.dama.wanderwave.utils.ResponseRecord;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -48,9 +50,14 @@ public class PostController {
             @ApiResponse(responseCode = "404", description = "User not found", content = @Content()),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content())
     })
-    public ResponseEntity<ResponseRecord> getUserPosts(@RequestParam int pageNumber,
+    public ResponseEntity<ResponseRecord> getUserPosts(@RequestParam(defaultValue = "0") int pageNumber,
                                                        @RequestParam @Max(MAX_PAGE_SIZE) Integer pageSize,
+                                                       @RequestParam(required = false) String cursor,
                                                        @PathVariable String nickname) {
+        if (cursor != null) {
+            CursorSlice<ShortPostResponse> posts = postService.getUserPosts(Cursor.decode(cursor), pageSize, nickname);
+            return ResponseEntity.ok().body(new ResponseRecord(HttpStatus.OK.value(), posts));
+        }
         Pageable page = PageRequest.of(pageNumber, pageSize);
         Page<ShortPostResponse> posts = postService.getUserPosts(page, nickname);
         return ResponseEntity.ok().body(new ResponseRecord(HttpStatus.OK.value(), posts));
@@ -194,8 +201,13 @@ public class PostController {
             @ApiResponse(responseCode = "404", description = "User subscription is not found", content = @Content()),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content())
     })
-    public ResponseEntity<ResponseRecord> getPersonalFlow(@RequestParam int pageNumber,
-                                                          @RequestParam @Max(MAX_PAGE_SIZE) Integer pageSize) {
+    public ResponseEntity<ResponseRecord> getPersonalFlow(@RequestParam(defaultValue = "0") int pageNumber,
+                                                          @RequestParam @Max(MAX_PAGE_SIZE) Integer pageSize,
+                                                          @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            CursorSlice<ShortPostResponse> response = postService.personalFlow(Cursor.decode(cursor), pageSize);
+            return ResponseEntity.ok().body(new ResponseRecord(HttpStatus.OK.value(), response));
+        }
         Pageable page = PageRequest.of(pageNumber, pageSize);
         Page<ShortPostResponse> response = postService.personalFlow(page);
 
@@ -217,6 +229,19 @@ public class PostController {
         return ResponseEntity.ok().body(new ResponseRecord(HttpStatus.OK.value(), response));
     }
 
+    @GetMapping("/trending")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Trending posts", description = "Get the currently trending posts, optionally within one category")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trending posts are fetched successfully", content = @Content()),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content())
+    })
+    public ResponseEntity<ResponseRecord> getTrendingPosts(@RequestParam(required = false) String category,
+                                                           @RequestParam(defaultValue = "20") @Max(MAX_PAGE_SIZE) Integer pageSize) {
+        List<ShortPostResponse> response = postService.getTrendingPosts(category, pageSize);
+        return ResponseEntity.ok().body(new ResponseRecord(HttpStatus.OK.value(), response));
+    }
+
     @GetMapping("/user/likes")
     @ResponseStatus(HttpStatus.OK)
     @Operation(summary = "User likes", description = "Get user likes")
@@ -224,8 +249,13 @@ public class PostController {
             @ApiResponse(responseCode = "200", description = "Likes are fetched successfully", content = @Content()),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content())
     })
-    public ResponseEntity<ResponseRecord> getUserLikes(@RequestParam int pageNumber,
-                                                       @RequestParam @Max(MAX_PAGE_SIZE) Integer pageSize) {
+    public ResponseEntity<ResponseRecord> getUserLikes(@RequestParam(defaultValue = "0") int pageNumber,
+                                                       @RequestParam @Max(MAX_PAGE_SIZE) Integer pageSize,
+                                                       @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            CursorSlice<ShortPostResponse> response = postService.getLikedPostsResponse(Cursor.decode(cursor), pageSize);
+            return ResponseEntity.ok().body(new ResponseRecord(HttpStatus.OK.value(), response));
+        }
         Pageable page = PageRequest.of(pageNumber, pageSize);
         Page<ShortPostResponse> response = postService.getLikedPostsResponse(page);
         return ResponseEntity.ok().body(new ResponseRecord(HttpStatus.OK.value(), response));
@@ -238,8 +268,13 @@ public class PostController {
             @ApiResponse(responseCode = "200", description = "Saved posts are fetched successfully", content = @Content()),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content())
     })
-    public ResponseEntity<ResponseRecord> getUserSaved(@RequestParam int pageNumber,
-                                                       @RequestParam @Max(MAX_PAGE_SIZE) Integer pageSize) {
+    public ResponseEntity<ResponseRecord> getUserSaved(@RequestParam(defaultValue = "0") int pageNumber,
+                                                       @RequestParam @Max(MAX_PAGE_SIZE) Integer pageSize,
+                                                       @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            CursorSlice<ShortPostResponse> response = postService.getSavedPostsResponse(Cursor.decode(cursor), pageSize);
+            return ResponseEntity.ok().body(new ResponseRecord(HttpStatus.OK.value(), response));
+        }
         Pageable page = PageRequest.of(pageNumber, pageSize);
         Page<ShortPostResponse> response = postService.getSavedPostsResponse(page);
         return ResponseEntity.ok().body(new ResponseRecord(HttpStatus.OK.value(), response));
@@ -253,9 +288,14 @@ public class PostController {
             @ApiResponse(responseCode = "200", description = "Saved posts retrieved successfully", content = @Content()),
             @ApiResponse(responseCode = "500", description = "An error occurred while retrieving saved posts", content = @Content())
     })
-    public ResponseEntity<ResponseRecord> getPostsByCategory(@RequestParam int pageNumber,
+    public ResponseEntity<ResponseRecord> getPostsByCategory(@RequestParam(defaultValue = "0") int pageNumber,
                                                              @RequestParam @Max(MAX_PAGE_SIZE) Integer pageSize,
+                                                             @RequestParam(required = false) String cursor,
                                                              @RequestParam() String category) {
+        if (cursor != null) {
+            CursorSlice<ShortPostResponse> response = postService.getPostsByCategory(Cursor.decode(cursor), pageSize, category);
+            return ResponseEntity.ok().body(new ResponseRecord(HttpStatus.OK.value(), response));
+        }
         Pageable page = PageRequest.of(pageNumber, pageSize);
         Page<ShortPostResponse> response = postService.getPostsByCategory(page, category);
         return ResponseEntity.ok().body(new ResponseRecord(HttpStatus.OK.value(), response));
@@ -333,9 +373,14 @@ public class PostController {
     })
     public ResponseEntity<ResponseRecord> getCommentsForPost(
             @PathVariable String postId,
-            @RequestParam int pageNumber,
-            @RequestParam @Max(MAX_PAGE_SIZE) Integer pageSize
+            @RequestParam(defaultValue = "0") int pageNumber,
+            @RequestParam @Max(MAX_PAGE_SIZE) Integer pageSize,
+            @RequestParam(required = false) String cursor
     ) {
+        if (cursor != null) {
+            CursorSlice<CommentResponse> comments = commentService.getAllCommentsForPost(Cursor.decode(cursor), pageSize, postId);
+            return ResponseEntity.ok().body(new ResponseRecord(HttpStatus.OK.value(), comments));
+        }
         Pageable pageable = PageRequest.of(pageNumber, pageSize);
         Page<CommentResponse> comments = commentService.getAllCommentsForPost(pageable, postId);
         return ResponseEntity.ok().body(new ResponseRecord(HttpStatus.OK.value(), comments));
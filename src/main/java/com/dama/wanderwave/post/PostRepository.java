@@ -1,7 +1,8 @@
 package com.dama.wanderwave.post;
 
-import com.dama.wanderwave.hashtag.HashTag;
+import com.dama.wanderwave.post.trending.TrendingSeed;
 import com.dama.wanderwave.user.User;
+import com.dama.wanderwave.utils.CursorKey;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,15 +10,17 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface PostRepository extends JpaRepository<Post, String> {
 
-    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.likes WHERE p.id = :postId")
-    Optional<Post> findByIdWithLikes(@Param("postId") String postId);
+    @Query("SELECT p.user.id FROM Post p WHERE p.id = :postId")
+    Optional<String> findAuthorIdById(@Param("postId") String postId);
 
-    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.savedPosts WHERE p.id = :postId")
-    Optional<Post> findByIdSaved(@Param("postId") String postId);
+    @Query("SELECT p.likesCount FROM Post p WHERE p.id = :postId")
+    Optional<Integer> findLikesCountById(@Param("postId") String postId);
 
     @Query("SELECT p FROM Post p LEFT JOIN FETCH p.hashtags WHERE p.user = :user")
     Page<Post> findByUserWithHashtags(@Param("user") User user, Pageable pageable);
@@ -28,12 +31,47 @@ public interface PostRepository extends JpaRepository<Post, String> {
     @Query("SELECT p FROM Post p JOIN p.savedPosts s WHERE s.user = :user ORDER BY s.createdAt DESC")
     Page<Post> findByUserSaved(@Param("user") User user, Pageable pageable);
 
-    Page<Post> findByHashtagsContaining(HashTag hashtag, Pageable pageable);
-
     @Query("SELECT p FROM Post p LEFT JOIN FETCH p.categoryType c LEFT JOIN FETCH p.hashtags h WHERE c.name = :category")
     Page<Post> findByCategory(@Param("category") String category, Pageable pageable);
 
-    @Query("SELECT p FROM Post p LEFT JOIN p.likes l LEFT JOIN FETCH p.hashtags h WHERE p.createdAt >= :lastWeek")
-    Page<Post> findPopularPosts(Pageable pageable, @Param("lastWeek") LocalDateTime lastWeek);
+    @Query("SELECT p.categoryType.name FROM Post p WHERE p.id = :postId")
+    Optional<String> findCategoryNameById(@Param("postId") String postId);
+
+    @Query("SELECT COALESCE(p.isDisabledComments, false) FROM Post p WHERE p.id = :postId")
+    Optional<Boolean> findCommentsDisabledById(@Param("postId") String postId);
+
+    @Query(value = "SELECT e.post_id AS postId, ct.name AS category, " +
+            "SUM(e.weight * EXP(-:decayRate * EXTRACT(EPOCH FROM (:now - e.created_at)))) AS score " +
+            "FROM (SELECT post_id, created_at, :likeWeight AS weight FROM user_likes WHERE created_at >= :since " +
+            "      UNION ALL SELECT post_id, created_at, :commentWeight FROM comments WHERE created_at >= :since " +
+            "      UNION ALL SELECT post_id, created_at, :saveWeight FROM user_saved_posts WHERE created_at >= :since) e " +
+            "JOIN posts p ON p.post_id = e.post_id " +
+            "JOIN category_types ct ON ct.category_type_id = p.category_type_id " +
+            "GROUP BY e.post_id, ct.name", nativeQuery = true)
+    List<TrendingSeed> findTrendingSeeds(@Param("since") LocalDateTime since,
+                                         @Param("now") LocalDateTime now,
+                                         @Param("decayRate") double decayRate,
+                                         @Param("likeWeight") double likeWeight,
+                                         @Param("commentWeight") double commentWeight,
+                                         @Param("saveWeight") double saveWeight);
+
+    @Query("SELECT DISTINCT p FROM Post p JOIN FETCH p.user LEFT JOIN FETCH p.categoryType LEFT JOIN FETCH p.route LEFT JOIN FETCH p.hashtags WHERE p.id IN :ids")
+    List<Post> findAllByIdInWithDetails(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT p.id AS id, p.createdAt AS createdAt FROM Post p " +
+            "WHERE p.user = :user AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<CursorKey> findKeysByUserBefore(@Param("user") User user,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") String id,
+                                         Pageable pageable);
+
+    @Query("SELECT p.id AS id, p.createdAt AS createdAt FROM Post p " +
+            "WHERE p.categoryType.name = :category AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<CursorKey> findKeysByCategoryBefore(@Param("category") String category,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") String id,
+                                             Pageable pageable);
 
 }
\ No newline at end of file
@@ -15,27 +15,33 @@ import com.dama.wanderwave.handler.user.save.IsSavedException;
 import com.dama.wanderwave.handler.user.save.SavedPostNotFound;
 import com.dama.wanderwave.hashtag.HashTag;
 import com.dama.wanderwave.hashtag.HashTagRepository;
-import com.dama.wanderwave.notification.Notification;
+import com.dama.wanderwave.hashtag.index.HashtagIndexService;
 import com.dama.wanderwave.notification.NotificationRepository;
 import com.dama.wanderwave.notification.NotificationService;
 import com.dama.wanderwave.place.Place;
 import com.dama.wanderwave.place.PlaceRepository;
+import com.dama.wanderwave.place.PlaceSummary;
 import com.dama.wanderwave.place.request.PlaceRequest;
+import com.dama.wanderwave.post.counter.PostCounterService;
+import com.dama.wanderwave.post.engagement.ViewerEngagement;
+import com.dama.wanderwave.post.engagement.ViewerEngagementService;
+import com.dama.wanderwave.post.recommendation.SeenPostsService;
 import com.dama.wanderwave.post.request.PostRequest;
+import com.dama.wanderwave.post.trending.TrendingEvent;
+import com.dama.wanderwave.post.trending.TrendingService;
 import com.dama.wanderwave.post.response.*;
 import com.dama.wanderwave.route.Route;
 import com.dama.wanderwave.route.RouteRepository;
+import com.dama.wanderwave.timeline.TimelineService;
 import com.dama.wanderwave.user.BlackList;
 import com.dama.wanderwave.user.User;
 import com.dama.wanderwave.user.UserRepository;
 import com.dama.wanderwave.user.UserService;
-import com.dama.wanderwave.user.like.Like;
-import com.dama.wanderwave.user.like.LikeId;
 import com.dama.wanderwave.user.like.LikeRepository;
-import com.dama.wanderwave.user.saved_post.SavedPost;
-import com.dama.wanderwave.user.saved_post.SavedPostId;
 import com.dama.wanderwave.user.saved_post.SavedPostRepository;
-import com.github.benmanes.caffeine.cache.Cache;
+import com.dama.wanderwave.utils.Cursor;
+import com.dama.wanderwave.utils.CursorKey;
+import com.dama.wanderwave.utils.CursorSlice;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
@@ -51,7 +57,9 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -75,8 +83,13 @@ public class PostService {
     private final RouteRepository routeRepository;
     private final NotificationRepository notificationRepository;
     private final NotificationService notificationService;
+    private final TimelineService timelineService;
+    private final PostCounterService postCounterService;
+    private final ViewerEngagementService viewerEngagementService;
+    private final TrendingService trendingService;
+    private final HashtagIndexService hashtagIndexService;
 
-    private final Cache<String, Set<String>> userRecommendedPostsCache;
+    private final SeenPostsService seenPostsService;
 
     public Page<ShortPostResponse> getUserPosts(Pageable pageRequest, String nickname) {
         log.info("getUserPosts called with nickname: {}", nickname);
@@ -93,12 +106,31 @@ public class PostService {
         }
 
         Page<Post> result = postRepository.findByUserWithHashtags(user, pageRequest);
-        Page<ShortPostResponse> postResponses = getShortPostResponseListFromPostList(pageRequest, result);
+        Page<ShortPostResponse> postResponses = getShortPostResponseListFromPostList(pageRequest, result, authenticatedUser);
 
         log.info("getUserPosts returned {} posts for nickname: {}", postResponses.getSize(), nickname);
         return postResponses;
     }
 
+    public CursorSlice<ShortPostResponse> getUserPosts(Cursor cursor, int size, String nickname) {
+        log.info("getUserPosts called with nickname: {} and cursor: {}", nickname, cursor);
+        User authenticatedUser = userService.getAuthenticatedUser();
+
+        User user = userRepository.findByNickname(nickname)
+                .orElseThrow(() -> new UserNotFoundException(nickname));
+
+        BlackList blackList = user.getBlackList();
+        if ((blackList != null && blackList.userIds() != null &&
+                blackList.userIds().contains(authenticatedUser.getId())) ||
+                user.isAccountLocked()) {
+            return new CursorSlice<>(List.of(), null, false);
+        }
+
+        List<CursorKey> keys = postRepository.findKeysByUserBefore(
+                user, cursor.createdAt(), cursor.id(), CursorSlice.limit(size));
+        return getShortPostSlice(keys, size, authenticatedUser);
+    }
+
     @Transactional
     public String modifyPost(PostRequest request) {
         log.info("modifyPost called with request: {}", request);
@@ -108,13 +140,15 @@ public class PostService {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new PostNotFoundException("Post not found with id: " + postId));
 
-        if (!post.getUser().equals(user)) {
+        if (!post.getUser().getId().equals(user.getId())) {
             throw new UnauthorizedActionException("User not authorized to perform this action");
         }
 
+        List<String> oldHashtagIds = hashtagIdsOf(post);
         updatePostFields(request, post);
 
         postRepository.save(post);
+        hashtagIndexService.postModified(postId, oldHashtagIds, hashtagIdsOf(post));
 
         return "Post modified successfully";
     }
@@ -245,6 +279,9 @@ public class PostService {
                 .map(placeRequest -> Place.fromPlaceRequest(placeRequest, post))
                 .forEach(placeRepository::save);
 
+        timelineService.fanOut(saved);
+        hashtagIndexService.postCreated(saved.getId(), hashtagIdsOf(saved));
+
         log.info("createPost successfully created post with title: {}", createPostRequest.getTitle());
         return saved.getId();
     }
@@ -261,75 +298,49 @@ public class PostService {
         log.info("likePost called with postId: {}", postId);
         User user = userService.getAuthenticatedUser();
 
-        Post post = postRepository.findByIdWithLikes(postId)
+        String authorId = postRepository.findAuthorIdById(postId)
                 .orElseThrow(() -> new PostNotFoundException("Post with id " + postId + " is not found!"));
 
-        if (isPostAlreadyLikedByUser(post, user)) {
+        if (likeRepository.insertIfAbsent(user.getId(), postId, LocalDateTime.now()) == 0) {
             throw new IsLikedException("Post is already liked by user!");
         }
 
-        Like like = createLike(post, user);
-        likeRepository.save(like);
-
-        post.setLikesCount(post.getLikesCount() + 1);
-        postRepository.save(post);
+        postCounterService.incrementLikes(postId);
+        viewerEngagementService.liked(user.getId(), postId);
+        trendingService.record(postId, TrendingEvent.LIKE);
 
-        if (!user.getId().equals(post.getUser().getId())) {
-            notificationService.sendLikeNotification(
-                    post.getUser().getId(),
-                    post.getId(),
-                    user.getId()
-            );
+        if (!user.getId().equals(authorId)) {
+            notificationService.sendLikeNotification(authorId, postId, user.getId());
         }
 
         log.info("likePost successfully liked post with id: {}", postId);
         return "Liked successfully!";
     }
 
-    private boolean isPostAlreadyLikedByUser(Post post, User user) {
-        return post.getLikes().stream()
-                .anyMatch(like -> like.getUser().getId().equals(user.getId()));
-    }
-
-    private Like createLike(Post post, User user) {
-        LikeId likeId = LikeId.builder()
-                .user_id(user.getId())
-                .post_id(post.getId())
-                .build();
-
-        return Like.builder()
-                .id(likeId)
-                .user(user)
-                .post(post)
-                .createdAt(LocalDateTime.now())
-                .build();
-    }
-
     @Transactional
     public String unlikePost(String postId) {
         log.info("unlikePost called with postId: {}", postId);
         User user = userService.getAuthenticatedUser();
 
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new PostNotFoundException("Post with id " + postId + " is not found!"));
-
-        Like like = likeRepository.findByUserAndPost(user, post)
-                .orElseThrow(() -> new LikeNotFoundException("This post isn't liked by user!"));
-
-        post.setLikesCount(post.getLikesCount() - 1);
+        if (likeRepository.deleteByUserIdAndPostId(user.getId(), postId) == 0) {
+            throw postRepository.existsById(postId)
+                    ? new LikeNotFoundException("This post isn't liked by user!")
+                    : new PostNotFoundException("Post with id " + postId + " is not found!");
+        }
 
-        postRepository.save(post);
-        likeRepository.delete(like);
+        postCounterService.decrementLikes(postId);
+        viewerEngagementService.unliked(user.getId(), postId);
+        trendingService.record(postId, TrendingEvent.UNLIKE);
         log.info("unlikePost successfully unliked post with id: {}", postId);
         return "Post is unliked successfully!";
     }
 
     public Integer getPostLikesCount(String postId) {
         log.info("getPostLikesCount called with postId: {}", postId);
-        Post post = postRepository.findByIdWithLikes(postId)
+        Integer persisted = postRepository.findLikesCountById(postId)
                 .orElseThrow(() -> new PostNotFoundException("Post with id " + postId + " is not found!"));
 
-        int count = post.getLikesCount();
+        int count = postCounterService.likesCount(postId, persisted);
         log.info("getPostLikesCount returned count: {} for postId: {}", count, postId);
         return count;
     }
@@ -339,23 +350,14 @@ public class PostService {
         log.info("savePost called with postId: {}", postId);
         User user = userService.getAuthenticatedUser();
 
-        Post post = postRepository.findByIdSaved(postId)
-                .orElseThrow(() -> new PostNotFoundException("Post with id " + postId + " is not found!"));
-
-        if (post.getSavedPosts().stream().anyMatch(e -> e.getUser().getId().equals(user.getId()))) {
-            throw new IsSavedException("Post is already saved by user!");
+        if (savedPostRepository.insertIfAbsent(user.getId(), postId, LocalDateTime.now()) == 0) {
+            throw postRepository.existsById(postId)
+                    ? new IsSavedException("Post is already saved by user!")
+                    : new PostNotFoundException("Post with id " + postId + " is not found!");
         }
 
-        SavedPostId savedPostId = new SavedPostId();
-        savedPostId.setUser_id(user.getId());
-        savedPostId.setPost_id(post.getId());
-
-        SavedPost savedPost = new SavedPost();
-        savedPost.setId(savedPostId);
-        savedPost.setUser(user);
-        savedPost.setPost(post);
-
-        savedPostRepository.save(savedPost);
+        viewerEngagementService.saved(user.getId(), postId);
+        trendingService.record(postId, TrendingEvent.SAVE);
         log.info("savePost successfully saved post with id: {}", postId);
         return "Saved successfully!";
     }
@@ -365,13 +367,14 @@ public class PostService {
         log.info("unsavePost called with postId: {}", postId);
         User user = userService.getAuthenticatedUser();
 
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new PostNotFoundException("Post with id " + postId + " is not found!"));
-
-        SavedPost savedPost = savedPostRepository.findByUserAndPost(user, post)
-                .orElseThrow(() -> new SavedPostNotFound("This post isn't saved by user!"));
+        if (savedPostRepository.deleteByUserIdAndPostId(user.getId(), postId) == 0) {
+            throw postRepository.existsById(postId)
+                    ? new SavedPostNotFound("This post isn't saved by user!")
+                    : new PostNotFoundException("Post with id " + postId + " is not found!");
+        }
 
-        savedPostRepository.delete(savedPost);
+        viewerEngagementService.unsaved(user.getId(), postId);
+        trendingService.record(postId, TrendingEvent.UNSAVE);
         log.info("unsavePost successfully unsaved post with id: {}", postId);
         return "Post is unsaved successfully!";
     }
@@ -380,107 +383,150 @@ public class PostService {
         log.info("personalFlow called");
         User user = userService.getAuthenticatedUser();
 
-        List<String> subscriptions = userRepository.findByIdAndFetchSubscriptions(user.getId());
+        Page<String> timeline = timelineService.getTimelinePostIds(user.getId(), pageRequest);
+        List<Post> posts = findPostsInOrder(timeline.getContent());
+
+        Page<ShortPostResponse> response = getShortPostResponseListFromPostList(
+                pageRequest, new PageImpl<>(posts, pageRequest, timeline.getTotalElements()), user
+        );
+        log.info("personalFlow returned {} posts", response.getNumberOfElements());
+        return response;
+    }
 
-        List<ShortPostResponse> response = new ArrayList<>();
-        for (String us : subscriptions) {
-            User subscription = userRepository.findById(us)
-                    .orElseGet(() -> {
-                        log.warn("User with ID {} not found. Skipping this subscription.", us);
-                        return null;
-                    });
+    public CursorSlice<ShortPostResponse> personalFlow(Cursor cursor, int size) {
+        log.info("personalFlow called with cursor: {}", cursor);
+        User user = userService.getAuthenticatedUser();
 
-            if (subscription == null) {
-                continue;
-            }
+        List<CursorKey> keys = timelineService.getTimelineKeys(user.getId(), cursor, CursorSlice.limit(size));
+        return getShortPostSlice(keys, size, user);
+    }
 
-            Page<Post> posts = postRepository.findByUserWithHashtags(subscription, pageRequest);
-            response.addAll(getShortPostResponseListFromPostList(pageRequest, posts).getContent());
+    private List<Post> findPostsInOrder(List<String> postIds) {
+        if (postIds.isEmpty()) {
+            return List.of();
         }
 
-        response = response.stream().sorted(Comparator.comparing(ShortPostResponse::getCreationDate)).toList();
-        log.info("personalFlow returned {} posts", response.size());
-        return new PageImpl<>(response, pageRequest, response.size());
+        Map<String, Post> postsById = postRepository.findAllByIdInWithDetails(postIds).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+        return postIds.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     public Set<ShortPostResponse> recommendationFlow(Pageable pageRequest) {
         log.info("recommendationFlow called");
         User user = userService.getAuthenticatedUser();
 
-        Set<String> recommendedPostIds = userRecommendedPostsCache.get(user.getId(), k -> new HashSet<>());
+        Predicate<String> alreadyRecommended = seenPostsService.seenBy(user.getId());
 
         List<Post> combinedPosts = Stream.of(
                         getLikedPosts(pageRequest, user).getContent(),
                         getSavedPosts(pageRequest, user).getContent())
                 .flatMap(List::stream)
-                .filter(post -> !recommendedPostIds.contains(post.getId()))
+                .filter(post -> !alreadyRecommended.test(post.getId()))
                 .toList();
 
-        Set<HashTag> uniqueHashtags = combinedPosts.stream()
-                .flatMap(post -> post.getHashtags().stream())
-                .collect(Collectors.toSet());
+        List<String> seedHashtagIds = combinedPosts.stream()
+                .flatMap(post -> hashtagIdsOf(post).stream())
+                .toList();
 
-        List<Post> hashtagPosts = uniqueHashtags.isEmpty() ? List.of() :
-                uniqueHashtags.stream()
-                        .flatMap(h -> postRepository.findByHashtagsContaining(h, pageRequest).getContent().stream())
-                        .filter(post -> !recommendedPostIds.contains(post.getId()))
-                        .toList();
+        List<Post> hashtagPosts = findPostsInOrder(
+                hashtagIndexService.candidatePostIds(seedHashtagIds, PAGE_SIZE, alreadyRecommended));
 
-        List<Post> popularPosts = getRandomPopularPosts().getContent().stream()
-                .filter(post -> !recommendedPostIds.contains(post.getId()))
-                .toList();
+        List<Post> popularPosts = findPostsInOrder(trendingService.topPostIds(null, PAGE_SIZE).stream()
+                .filter(alreadyRecommended.negate())
+                .toList());
 
         List<Post> allPosts = Stream.concat(hashtagPosts.stream(), popularPosts.stream())
                 .collect(Collectors.toList());
         Collections.shuffle(allPosts);
 
         List<ShortPostResponse> response = getShortPostResponseListFromPostList(
-                pageRequest, new PageImpl<>(allPosts, pageRequest, allPosts.size())
+                pageRequest, new PageImpl<>(allPosts, pageRequest, allPosts.size()), user
         ).getContent();
 
         response = response.stream().filter(p -> !p.getAccountInfo().getId().equals(user.getId())).toList();
 
         response = response.size() > 5 ? response.subList(0, 5) : response;
 
-        response.forEach(post -> recommendedPostIds.add(post.getId()));
-
-        userRecommendedPostsCache.put(user.getId(), recommendedPostIds);
-
         LinkedHashSet<ShortPostResponse> finalResult = new LinkedHashSet<>(response);
 
+        seenPostsService.markSeen(user.getId(), finalResult.stream().map(ShortPostResponse::getId).toList());
+
         log.info("recommendationFlow returned {} posts", finalResult.size());
         return finalResult;
     }
 
+    public List<ShortPostResponse> getTrendingPosts(String category, int size) {
+        log.info("getTrendingPosts called with category: {}, size: {}", category, size);
+        User user = userService.getAuthenticatedUser();
+
+        List<Post> posts = findPostsInOrder(trendingService.topPostIds(category, size));
+        List<ShortPostResponse> response = getResponseListFromPostList(posts, user, this::getShortPostResponseFromPost);
+
+        log.info("getTrendingPosts returned {} posts", response.size());
+        return response;
+    }
+
     public Page<ShortPostResponse> getLikedPostsResponse(Pageable pageRequest) {
         log.info("getLikedPostsResponse called");
         User user = userService.getAuthenticatedUser();
 
-        Page<ShortPostResponse> response = getShortPostResponseListFromPostList(pageRequest, getLikedPosts(pageRequest, user));
+        Page<ShortPostResponse> response = getShortPostResponseListFromPostList(pageRequest, getLikedPosts(pageRequest, user), user);
         log.info("getLikedPostsResponse returned {} posts", response.getSize());
         return response;
     }
 
+    public CursorSlice<ShortPostResponse> getLikedPostsResponse(Cursor cursor, int size) {
+        log.info("getLikedPostsResponse called with cursor: {}", cursor);
+        User user = userService.getAuthenticatedUser();
+
+        List<CursorKey> keys = likeRepository.findKeysByUserIdBefore(
+                user.getId(), cursor.createdAt(), cursor.id(), CursorSlice.limit(size));
+        return getShortPostSlice(keys, size, user);
+    }
+
 
     public Page<ShortPostResponse> getSavedPostsResponse(Pageable pageRequest) {
         log.info("getSavedPostsResponse called");
         User user = userService.getAuthenticatedUser();
 
-        Page<ShortPostResponse> response = getShortPostResponseListFromPostList(pageRequest, getSavedPosts(pageRequest, user));
+        Page<ShortPostResponse> response = getShortPostResponseListFromPostList(pageRequest, getSavedPosts(pageRequest, user), user);
         log.info("getSavedPostsResponse returned {} posts", response.getSize());
         return response;
     }
 
+    public CursorSlice<ShortPostResponse> getSavedPostsResponse(Cursor cursor, int size) {
+        log.info("getSavedPostsResponse called with cursor: {}", cursor);
+        User user = userService.getAuthenticatedUser();
+
+        List<CursorKey> keys = savedPostRepository.findKeysByUserIdBefore(
+                user.getId(), cursor.createdAt(), cursor.id(), CursorSlice.limit(size));
+        return getShortPostSlice(keys, size, user);
+    }
+
 
     public Page<ShortPostResponse> getPostsByCategory(Pageable pageRequest, String category) {
         log.info("getPostsByCategory called with category: {}", category);
+        User user = userService.getAuthenticatedUser();
         Page<Post> posts = postRepository.findByCategory(category, pageRequest);
 
-        Page<ShortPostResponse> response = getShortPostResponseListFromPostList(pageRequest, posts);
+        Page<ShortPostResponse> response = getShortPostResponseListFromPostList(pageRequest, posts, user);
         log.info("getPostsByCategory returned {} posts for category: {}", response.getSize(), category);
         return response;
     }
 
+    public CursorSlice<ShortPostResponse> getPostsByCategory(Cursor cursor, int size, String category) {
+        log.info("getPostsByCategory called with category: {} and cursor: {}", category, cursor);
+        User user = userService.getAuthenticatedUser();
+
+        List<CursorKey> keys = postRepository.findKeysByCategoryBefore(
+                category, cursor.createdAt(), cursor.id(), CursorSlice.limit(size));
+        return getShortPostSlice(keys, size, user);
+    }
+
 
     @Transactional
     public String deletePost(String postId) {
@@ -498,8 +544,11 @@ public class PostService {
         List<Place> places = placeRepository.findAllByPost(post);
         placeRepository.deleteAll(places);
 
-        List<Notification> notifications = notificationRepository.findAllByObjectId(post.getId());
-        notificationRepository.deleteAll(notifications);
+        notificationRepository.deleteAllByObjectId(post.getId());
+
+        timelineService.removePost(post.getId());
+        trendingService.remove(post.getId());
+        hashtagIndexService.postDeleted(post.getId(), hashtagIdsOf(post));
 
         postRepository.delete(post);
         log.info("deletePost successfully deleted post with id: {}", postId);
@@ -555,6 +604,7 @@ public class PostService {
     private PostResponse getPostResponseFromPost(Post p) {
         log.info("getPostResponseFromPost from post: {}", p.getId());
         User user = userService.getAuthenticatedUser();
+        ViewerEngagement engagement = viewerEngagementService.get(user.getId());
 
         AccountInfoResponse accountInfo = buildAccountInfo(p.getUser());
         CategoryResponse category = buildCategoryResponse(p.getCategoryType());
@@ -570,11 +620,11 @@ public class PostService {
                 .accountInfo(accountInfo)
                 .places(places)
                 .route(p.getRoute())
-                .isLiked(isPostLikedByUser(p, user))
-                .isSaved(isPostSavedByUser(p, user))
+                .isLiked(engagement.isLiked(p.getId()))
+                .isSaved(engagement.isSaved(p.getId()))
                 .images(p.getImages())
-                .comments(p.getCommentsCount())
-                .likes(p.getLikesCount())
+                .comments(postCounterService.commentsCount(p.getId(), p.getCommentsCount()))
+                .likes(postCounterService.likesCount(p.getId(), p.getLikesCount()))
                 .cons(p.getCons())
                 .pros(p.getPros())
                 .isDisableComments(p.getIsDisabledComments())
@@ -582,16 +632,13 @@ public class PostService {
                 .build();
     }
 
-    private ShortPostResponse getShortPostResponseFromPost(Post p) {
-        log.info("getShortPostResponseFromPost from post: {}", p.getId());
-        User user = userService.getAuthenticatedUser();
-
+    private ShortPostResponse getShortPostResponseFromPost(Post p, PostBatch batch) {
         AccountInfoResponse accountInfo = buildAccountInfo(p.getUser());
         CategoryResponse category = buildCategoryResponse(p.getCategoryType());
 
-        List<Place> places = fetchPlaces(p);
+        List<PlaceSummary> places = batch.placesByPostId().getOrDefault(p.getId(), List.of());
 
-        Place first = !places.isEmpty() ? places.getFirst() : null;
+        PlaceSummary first = !places.isEmpty() ? places.getFirst() : null;
         ShortPlaceResponse shortPlaceResponse = new ShortPlaceResponse();
         if (first != null) {
             shortPlaceResponse = ShortPlaceResponse
@@ -613,21 +660,21 @@ public class PostService {
                 .place(shortPlaceResponse)
                 .rating(calculateRating(places))
                 .accountInfo(accountInfo)
-                .likes(p.getLikesCount())
+                .likes(postCounterService.likesCount(p.getId(), p.getLikesCount()))
                 .previewImage(image)
-                .commentsCount(p.getCommentsCount())
-                .isLiked(isPostLikedByUser(p, user))
-                .isSaved(isPostSavedByUser(p, user))
+                .commentsCount(postCounterService.commentsCount(p.getId(), p.getCommentsCount()))
+                .isLiked(batch.engagement().isLiked(p.getId()))
+                .isSaved(batch.engagement().isSaved(p.getId()))
                 .build();
     }
 
-    private Double calculateRating(List<Place> places) {
+    private Double calculateRating(List<PlaceSummary> places) {
         if (places == null || places.isEmpty()) {
             return 0.0;
         }
 
         double totalRating = places.stream()
-                .mapToDouble(Place::getRating)
+                .mapToDouble(PlaceSummary::getRating)
                 .sum();
 
         return totalRating / places.size();
@@ -656,13 +703,6 @@ public class PostService {
                 .toList();
     }
 
-    private List<Place> fetchPlaces(Post p) {
-        return Optional.ofNullable(placeRepository.findAllByPost(p))
-                .orElse(Collections.emptyList())
-                .stream()
-                .toList();
-    }
-
     private List<CommentResponse> fetchAndMapComments(Post p) {
         Page<Comment> commentsPage = Optional.ofNullable(commentRepository.findAllByPost(p, PageRequest.of(0, 10)))
                 .orElse(Page.empty());
@@ -684,36 +724,56 @@ public class PostService {
                 .build();
     }
 
-    private <T> Page<T> getResponseListFromPostList(Pageable pageRequest, Page<Post> posts, Function<Post, T> mapper) {
-        log.info("getResponseListFromPostList called for {} posts", posts.getSize());
-        List<T> response = posts.getContent().stream()
-                .map(mapper)
-                .collect(Collectors.toList());
-
-        log.info("getResponseListFromPostList returned {} responses", response.size());
-        return new PageImpl<>(response, pageRequest, posts.getTotalElements());
+    /**
+     * Everything a page of short post responses needs besides the posts themselves:
+     * places loaded with one query for the page, like and save flags from the viewer's cached engagement.
+     */
+    private record PostBatch(Map<String, List<PlaceSummary>> placesByPostId,
+                             ViewerEngagement engagement) {
     }
 
-    private Page<PostResponse> getPostResponseListFromPostList(Pageable pageRequest, Page<Post> posts) {
-        return getResponseListFromPostList(pageRequest, posts, this::getPostResponseFromPost);
-    }
+    private PostBatch loadPostBatch(List<Post> posts, User viewer) {
+        if (posts.isEmpty()) {
+            return new PostBatch(Map.of(), ViewerEngagement.NONE);
+        }
+
+        List<String> postIds = posts.stream().map(Post::getId).toList();
 
-    private Page<ShortPostResponse> getShortPostResponseListFromPostList(Pageable pageRequest, Page<Post> posts) {
-        return getResponseListFromPostList(pageRequest, posts, this::getShortPostResponseFromPost);
+        Map<String, List<PlaceSummary>> placesByPostId = placeRepository.findSummariesByPostIdIn(postIds).stream()
+                .collect(Collectors.groupingBy(PlaceSummary::getPostId));
+
+        return new PostBatch(placesByPostId, viewerEngagementService.get(viewer.getId()));
     }
 
+    private <T> List<T> getResponseListFromPostList(List<Post> posts, User viewer,
+                                                    BiFunction<Post, PostBatch, T> mapper) {
+        log.info("getResponseListFromPostList called for {} posts", posts.size());
+        PostBatch batch = loadPostBatch(posts, viewer);
+
+        List<T> response = posts.stream()
+                .map(post -> mapper.apply(post, batch))
+                .collect(Collectors.toList());
+
+        log.info("getResponseListFromPostList returned {} responses", response.size());
+        return response;
+    }
 
-    private Page<Post> getRandomPopularPosts() {
-        LocalDateTime lastWeek = LocalDateTime.now().minusWeeks(1);
-        return postRepository.findPopularPosts(PageRequest.of(0, PAGE_SIZE), lastWeek);
+    private Page<ShortPostResponse> getShortPostResponseListFromPostList(Pageable pageRequest, Page<Post> posts, User viewer) {
+        List<ShortPostResponse> response = getResponseListFromPostList(posts.getContent(), viewer, this::getShortPostResponseFromPost);
+        return new PageImpl<>(response, pageRequest, posts.getTotalElements());
     }
 
-    private boolean isPostLikedByUser(Post post, User user) {
-        return likeRepository.findByUserAndPost(user, post).isPresent();
+    private CursorSlice<ShortPostResponse> getShortPostSlice(List<CursorKey> keys, int size, User viewer) {
+        return CursorSlice.of(keys, size, CursorKey::toCursor, slice -> getResponseListFromPostList(
+                findPostsInOrder(slice.stream().map(CursorKey::getId).toList()),
+                viewer,
+                this::getShortPostResponseFromPost
+        ));
     }
 
-    private boolean isPostSavedByUser(Post post, User user) {
-        return savedPostRepository.findByUserAndPost(user, post).isPresent();
+
+    private List<String> hashtagIdsOf(Post post) {
+        return post.getHashtags().stream().map(HashTag::getId).toList();
     }
 
     private Post mapToPost(PostRequest postRequest, User author, Route route) {
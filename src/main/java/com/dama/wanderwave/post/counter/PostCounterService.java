@@ -0,0 +1,188 @@
+package com.dama.wanderwave.post.counter;
+
+import com.dama.wanderwave.utils.TransactionHooks;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Likes and comments counters of posts, accumulated in memory and written
+ * behind in batches.
+ * <p>
+ * Every like or comment only adds to a {@link LongAdder} keyed by post id, so
+ * concurrent writers never contend on the {@code posts} row. A scheduled flush
+ * applies all pending deltas with one batched relative {@code UPDATE}, and only
+ * then subtracts what it wrote, so reads that merge the persisted value with
+ * {@link #pendingLikes}/{@link #pendingComments} never observe a gap.
+ * Changes made inside a transaction are only counted once it commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class PostCounterService {
+
+    private static final String FLUSH_SQL = """
+            UPDATE posts
+            SET post_likes    = GREATEST(post_likes + ?, 0),
+                post_comments = GREATEST(post_comments + ?, 0)
+            WHERE post_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Delta> pending = new ConcurrentHashMap<>();
+
+    private DistributionSummary batchSize;
+    private Timer flushDuration;
+    private Timer flushLag;
+    private volatile long lastFlushNanos = System.nanoTime();
+
+    @PostConstruct
+    void registerMetrics() {
+        batchSize = DistributionSummary.builder("posts.counters.flush.batch.size")
+                .description("Number of posts updated by one counters flush")
+                .register(meterRegistry);
+        flushDuration = Timer.builder("posts.counters.flush.duration")
+                .description("Time spent writing one batch of counter deltas")
+                .register(meterRegistry);
+        flushLag = Timer.builder("posts.counters.flush.lag")
+                .description("Upper bound of how long a counter delta waited before being persisted")
+                .register(meterRegistry);
+        Gauge.builder("posts.counters.pending", pending, Map::size)
+                .description("Posts with counter deltas not yet persisted")
+                .register(meterRegistry);
+    }
+
+    public void incrementLikes(String postId) {
+        add(postId, 1, 0);
+    }
+
+    public void decrementLikes(String postId) {
+        add(postId, -1, 0);
+    }
+
+    public void incrementComments(String postId) {
+        add(postId, 0, 1);
+    }
+
+    public void decrementComments(String postId) {
+        add(postId, 0, -1);
+    }
+
+    public long pendingLikes(String postId) {
+        Delta delta = pending.get(postId);
+        return delta == null ? 0 : delta.likes.sum();
+    }
+
+    public long pendingComments(String postId) {
+        Delta delta = pending.get(postId);
+        return delta == null ? 0 : delta.comments.sum();
+    }
+
+    public int likesCount(String postId, Integer persisted) {
+        return merge(persisted, pendingLikes(postId));
+    }
+
+    public int commentsCount(String postId, Integer persisted) {
+        return merge(persisted, pendingComments(postId));
+    }
+
+    private int merge(Integer persisted, long pendingDelta) {
+        long value = (persisted == null ? 0 : persisted) + pendingDelta;
+        return (int) Math.max(0, value);
+    }
+
+    private void add(String postId, long likes, long comments) {
+        TransactionHooks.afterCommit(() -> apply(postId, likes, comments));
+    }
+
+    private void apply(String postId, long likes, long comments) {
+        while (likes != 0 || comments != 0) {
+            Delta delta = pending.computeIfAbsent(postId, id -> new Delta());
+            delta.likes.add(likes);
+            delta.comments.add(comments);
+            if (!delta.retired) {
+                return;
+            }
+            // The flush evicted this entry concurrently; move what is left of it to a live one.
+            likes = delta.likes.sumThenReset();
+            comments = delta.comments.sumThenReset();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${application.counters.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        List<Written> written = new ArrayList<>();
+
+        pending.forEach((postId, delta) -> {
+            long likes = delta.likes.sum();
+            long comments = delta.comments.sum();
+            if (likes != 0 || comments != 0) {
+                batch.add(new Object[]{likes, comments, postId});
+                written.add(new Written(delta, likes, comments));
+            } else if (pending.remove(postId, delta)) {
+                delta.retired = true;
+                apply(postId, delta.likes.sumThenReset(), delta.comments.sumThenReset());
+            }
+        });
+
+        if (batch.isEmpty()) {
+            lastFlushNanos = System.nanoTime();
+            return;
+        }
+
+        try {
+            flushDuration.record(() -> jdbcTemplate.batchUpdate(FLUSH_SQL, batch));
+        } catch (DataAccessException e) {
+            log.error("Failed to flush counters of {} posts, keeping deltas for the next attempt", batch.size(), e);
+            return;
+        }
+
+        written.forEach(w -> {
+            w.delta().likes.add(-w.likes());
+            w.delta().comments.add(-w.comments());
+        });
+
+        long now = System.nanoTime();
+        flushLag.record(Duration.ofNanos(now - lastFlushNanos));
+        lastFlushNanos = now;
+        batchSize.record(batch.size());
+        log.debug("Flushed counters of {} posts", batch.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        if (!pending.isEmpty()) {
+            log.warn("{} posts still have unflushed counter deltas at shutdown", pending.size());
+        }
+    }
+
+    private static final class Delta {
+        private final LongAdder likes = new LongAdder();
+        private final LongAdder comments = new LongAdder();
+        private volatile boolean retired;
+    }
+
+    private record Written(Delta delta, long likes, long comments) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.dama.wanderwave.post.engagement;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable sorted set of post ids packed into two primitive arrays.
+ * <p>
+ * The UTF-8 bytes of all ids are concatenated in sorted order and {@code ends}
+ * holds where each one stops, so a 16 character id costs about 20 bytes instead
+ * of the ~80 a {@code HashSet<String>} entry takes. Lookups are a binary search;
+ * updates copy the arrays, which is fine for the per-click rate they happen at.
+ */
+public final class PostIdSet {
+
+    static final PostIdSet EMPTY = new PostIdSet(new byte[0], new int[0]);
+
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long OBJECT_BYTES = 24;
+
+    private final byte[] data;
+    private final int[] ends;
+
+    private PostIdSet(byte[] data, int[] ends) {
+        this.data = data;
+        this.ends = ends;
+    }
+
+    public static PostIdSet of(Collection<String> ids) {
+        byte[][] keys = ids.stream()
+                .distinct()
+                .map(PostIdSet::encode)
+                .sorted(Arrays::compareUnsigned)
+                .toArray(byte[][]::new);
+
+        int[] ends = new int[keys.length];
+        int length = 0;
+        for (int i = 0; i < keys.length; i++) {
+            length += keys[i].length;
+            ends[i] = length;
+        }
+
+        byte[] data = new byte[length];
+        for (int i = 0; i < keys.length; i++) {
+            System.arraycopy(keys[i], 0, data, start(ends, i), keys[i].length);
+        }
+        return new PostIdSet(data, ends);
+    }
+
+    public boolean contains(String id) {
+        return indexOf(encode(id)) >= 0;
+    }
+
+    public PostIdSet with(String id) {
+        byte[] key = encode(id);
+        int index = indexOf(key);
+        if (index >= 0) {
+            return this;
+        }
+        int insertAt = -index - 1;
+        int offset = start(ends, insertAt);
+
+        byte[] newData = new byte[data.length + key.length];
+        System.arraycopy(data, 0, newData, 0, offset);
+        System.arraycopy(key, 0, newData, offset, key.length);
+        System.arraycopy(data, offset, newData, offset + key.length, data.length - offset);
+
+        int[] newEnds = new int[ends.length + 1];
+        System.arraycopy(ends, 0, newEnds, 0, insertAt);
+        newEnds[insertAt] = offset + key.length;
+        for (int i = insertAt; i < ends.length; i++) {
+            newEnds[i + 1] = ends[i] + key.length;
+        }
+        return new PostIdSet(newData, newEnds);
+    }
+
+    public PostIdSet without(String id) {
+        int index = indexOf(encode(id));
+        if (index < 0) {
+            return this;
+        }
+        int offset = start(ends, index);
+        int length = ends[index] - offset;
+
+        byte[] newData = new byte[data.length - length];
+        System.arraycopy(data, 0, newData, 0, offset);
+        System.arraycopy(data, ends[index], newData, offset, data.length - ends[index]);
+
+        int[] newEnds = new int[ends.length - 1];
+        System.arraycopy(ends, 0, newEnds, 0, index);
+        for (int i = index + 1; i < ends.length; i++) {
+            newEnds[i - 1] = ends[i] - length;
+        }
+        return new PostIdSet(newData, newEnds);
+    }
+
+    public int size() {
+        return ends.length;
+    }
+
+    public long footprintBytes() {
+        return OBJECT_BYTES + ARRAY_HEADER_BYTES + data.length + ARRAY_HEADER_BYTES + 4L * ends.length;
+    }
+
+    private int indexOf(byte[] key) {
+        int low = 0;
+        int high = ends.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = Arrays.compareUnsigned(data, start(ends, mid), ends[mid], key, 0, key.length);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int start(int[] ends, int index) {
+        return index == 0 ? 0 : ends[index - 1];
+    }
+
+    private static byte[] encode(String id) {
+        return id.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,29 @@
+package com.dama.wanderwave.post.engagement;
+
+/**
+ * Posts one user has liked and saved.
+ */
+public record ViewerEngagement(PostIdSet liked, PostIdSet saved) {
+
+    public static final ViewerEngagement NONE = new ViewerEngagement(PostIdSet.EMPTY, PostIdSet.EMPTY);
+
+    public boolean isLiked(String postId) {
+        return liked.contains(postId);
+    }
+
+    public boolean isSaved(String postId) {
+        return saved.contains(postId);
+    }
+
+    ViewerEngagement withLiked(PostIdSet liked) {
+        return new ViewerEngagement(liked, saved);
+    }
+
+    ViewerEngagement withSaved(PostIdSet saved) {
+        return new ViewerEngagement(liked, saved);
+    }
+
+    long footprintBytes() {
+        return liked.footprintBytes() + saved.footprintBytes();
+    }
+}
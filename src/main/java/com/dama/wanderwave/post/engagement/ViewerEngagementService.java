@@ -0,0 +1,126 @@
+package com.dama.wanderwave.post.engagement;
+
+import com.dama.wanderwave.user.like.LikeRepository;
+import com.dama.wanderwave.user.saved_post.SavedPostRepository;
+import com.dama.wanderwave.utils.TransactionHooks;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.UnaryOperator;
+
+/**
+ * Answers "has this viewer liked / saved this post" from memory.
+ * <p>
+ * The first lookup for a user loads all their liked and saved post ids into a
+ * {@link ViewerEngagement}; later likes, unlikes, saves and unsaves patch the
+ * cached entry after their transaction commits instead of invalidating it.
+ * Those patches only reach this instance, so an entry is reloaded
+ * {@code expire-after-load} after it was loaded no matter how often it is read
+ * or patched, which bounds how long changes made elsewhere stay invisible.
+ * The cache is bounded by the estimated heap size of its entries.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ViewerEngagementService {
+
+    static final String CACHE_NAME = "viewerEngagement";
+
+    private final LikeRepository likeRepository;
+    private final SavedPostRepository savedPostRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.engagement.cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${application.engagement.cache.expire-after-load:PT10M}")
+    private Duration expireAfterLoad;
+
+    Ticker ticker = Ticker.systemTicker();
+
+    private LoadingCache<String, ViewerEngagement> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String userId, ViewerEngagement engagement) ->
+                        (int) Math.min(Integer.MAX_VALUE, engagement.footprintBytes()))
+                .expireAfter(new Expiry<String, ViewerEngagement>() {
+                    @Override
+                    public long expireAfterCreate(String userId, ViewerEngagement engagement, long currentTime) {
+                        return expireAfterLoad.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String userId, ViewerEngagement engagement,
+                                                  long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String userId, ViewerEngagement engagement,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                .recordStats()
+                .build(this::load);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.heap.bytes", cache, c -> c.policy().eviction()
+                        .map(eviction -> eviction.weightedSize().orElse(0))
+                        .orElse(0L))
+                .description("Estimated heap used by the cached entries")
+                .tag("cache", CACHE_NAME)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    public ViewerEngagement get(String userId) {
+        return cache.get(userId);
+    }
+
+    public void liked(String userId, String postId) {
+        update(userId, engagement -> engagement.withLiked(engagement.liked().with(postId)));
+    }
+
+    public void unliked(String userId, String postId) {
+        update(userId, engagement -> engagement.withLiked(engagement.liked().without(postId)));
+    }
+
+    public void saved(String userId, String postId) {
+        update(userId, engagement -> engagement.withSaved(engagement.saved().with(postId)));
+    }
+
+    public void unsaved(String userId, String postId) {
+        update(userId, engagement -> engagement.withSaved(engagement.saved().without(postId)));
+    }
+
+    private void update(String userId, UnaryOperator<ViewerEngagement> change) {
+        TransactionHooks.afterCommit(() -> cache.asMap().computeIfPresent(userId, (id, engagement) -> change.apply(engagement)));
+    }
+
+    private ViewerEngagement load(String userId) {
+        ViewerEngagement engagement = new ViewerEngagement(
+                PostIdSet.of(likeRepository.findPostIdsByUserId(userId)),
+                PostIdSet.of(savedPostRepository.findPostIdsByUserId(userId))
+        );
+        log.debug("Loaded engagement of user {}: {} liked, {} saved",
+                userId, engagement.liked().size(), engagement.saved().size());
+        return engagement;
+    }
+}
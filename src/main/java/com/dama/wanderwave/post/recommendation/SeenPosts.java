@@ -0,0 +1,63 @@
+package com.dama.wanderwave.post.recommendation;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Posts already recommended to one user, as two generations of fixed-size
+ * Bloom filters. When the current generation holds its expected number of ids
+ * it becomes the previous one and the old previous one is dropped, so memory
+ * stays constant.
+ * <p>
+ * A lookup asks both generations, so their false positive rates add up; each
+ * generation is sized for half the configured rate to keep the combined rate
+ * at about the configured one. Guava's element count is an estimate, so a
+ * generation may briefly run a little past its expected size before rotating.
+ */
+final class SeenPosts {
+
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+
+    private BloomFilter<CharSequence> current;
+    private BloomFilter<CharSequence> previous;
+
+    SeenPosts(int expectedInsertions, double falsePositiveRate) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate / 2;
+        this.current = newFilter();
+    }
+
+    synchronized boolean mightContain(String postId) {
+        return current.mightContain(postId) || (previous != null && previous.mightContain(postId));
+    }
+
+    synchronized void put(String postId) {
+        if (current.approximateElementCount() >= expectedInsertions) {
+            previous = current;
+            current = newFilter();
+        }
+        current.put(postId);
+    }
+
+    /**
+     * Size of both generations' bit arrays for the given combined rate.
+     */
+    static long footprintBytes(int expectedInsertions, double falsePositiveRate) {
+        return 2 * filterBytes(expectedInsertions, falsePositiveRate / 2);
+    }
+
+    /**
+     * Size of one generation's bit array, {@code -n ln p / (ln 2)^2} bits.
+     */
+    static long filterBytes(int expectedInsertions, double falsePositiveRate) {
+        double bits = -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        return (long) Math.ceil(bits / 8);
+    }
+
+    private BloomFilter<CharSequence> newFilter() {
+        return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedInsertions, falsePositiveRate);
+    }
+}
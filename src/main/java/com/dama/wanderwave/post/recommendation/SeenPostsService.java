@@ -0,0 +1,82 @@
+package com.dama.wanderwave.post.recommendation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+/**
+ * Remembers which posts were already recommended to each user so the
+ * recommendations flow does not repeat itself; a user's set is forgotten
+ * {@code horizon} after it was started.
+ * <p>
+ * Each user gets a {@link SeenPosts} of fixed size, so the whole structure is
+ * bounded by {@code max-users} times two filter generations. With the defaults,
+ * 1000 ids per user at a 1% rate, one user takes about 2.8 KB, so the default
+ * 20000 users stay under 60 MB of heap; raising {@code max-users} or
+ * {@code expected-per-user} grows that linearly. A false positive only means
+ * a post is skipped once more than necessary.
+ */
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class SeenPostsService {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.recommendations.seen.expected-per-user:1000}")
+    private int expectedPerUser;
+
+    @Value("${application.recommendations.seen.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${application.recommendations.seen.horizon:PT6H}")
+    private Duration horizon;
+
+    @Value("${application.recommendations.seen.max-users:20000}")
+    private long maxUsers;
+
+    private Cache<String, SeenPosts> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .expireAfterWrite(horizon)
+                .maximumSize(maxUsers)
+                .build();
+
+        long bytesPerUser = SeenPosts.footprintBytes(expectedPerUser, falsePositiveRate);
+        Gauge.builder("recommendations.seen.users", cache, Cache::estimatedSize)
+                .description("Users with a remembered set of recommended posts")
+                .register(meterRegistry);
+        Gauge.builder("recommendations.seen.bytes", cache, c -> c.estimatedSize() * bytesPerUser)
+                .description("Upper bound of the heap used by the recommended posts filters")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether a post was probably recommended to the user already. The returned
+     * predicate reads the live filter, so ids marked later are seen as well.
+     */
+    public Predicate<String> seenBy(String userId) {
+        SeenPosts seen = cache.getIfPresent(userId);
+        return seen == null ? postId -> false : seen::mightContain;
+    }
+
+    public void markSeen(String userId, Collection<String> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+        SeenPosts seen = cache.get(userId, id -> new SeenPosts(expectedPerUser, falsePositiveRate));
+        postIds.forEach(seen::put);
+    }
+}
@@ -1,5 +1,6 @@
 package com.dama.wanderwave.post.response;
 
+import com.dama.wanderwave.user.response.ShortUserResponse;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -15,4 +16,12 @@ public class AccountInfoResponse {
     private String nickname;
     private String imageUrl;
 
+    public static AccountInfoResponse fromShortUser(ShortUserResponse user) {
+        return AccountInfoResponse.builder()
+                .id(user.getId())
+                .nickname(user.getNickname())
+                .imageUrl(user.getAvatarUrl())
+                .build();
+    }
+
 }
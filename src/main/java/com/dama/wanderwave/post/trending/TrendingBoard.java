@@ -0,0 +1,61 @@
+package com.dama.wanderwave.post.trending;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * The {@code capacity} highest scored posts of one category, best first.
+ * Not thread safe; {@link TrendingService} guards it.
+ */
+class TrendingBoard {
+
+    static final Comparator<TrendingService.Entry> ORDER = Comparator
+            .comparingDouble((TrendingService.Entry e) -> e.score).reversed()
+            .thenComparing(e -> e.postId);
+
+    private final int capacity;
+    private final TreeSet<TrendingService.Entry> top = new TreeSet<>(ORDER);
+
+    TrendingBoard(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Must be called before the entry's score changes, since the tree is ordered by it.
+     */
+    void remove(TrendingService.Entry entry) {
+        top.remove(entry);
+    }
+
+    void offer(TrendingService.Entry entry) {
+        if (entry.score <= 0) {
+            return;
+        }
+        if (top.size() < capacity) {
+            top.add(entry);
+        } else if (ORDER.compare(entry, top.last()) < 0) {
+            top.pollLast();
+            top.add(entry);
+        }
+    }
+
+    List<String> topPostIds(int limit) {
+        List<String> ids = new ArrayList<>(Math.min(limit, top.size()));
+        Iterator<TrendingService.Entry> it = top.iterator();
+        while (it.hasNext() && ids.size() < limit) {
+            ids.add(it.next().postId);
+        }
+        return ids;
+    }
+
+    void clear() {
+        top.clear();
+    }
+
+    int size() {
+        return top.size();
+    }
+}
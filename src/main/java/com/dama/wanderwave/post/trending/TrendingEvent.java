@@ -0,0 +1,17 @@
+package com.dama.wanderwave.post.trending;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum TrendingEvent {
+    LIKE(1.0),
+    UNLIKE(-1.0),
+    COMMENT(2.0),
+    UNCOMMENT(-2.0),
+    SAVE(3.0),
+    UNSAVE(-3.0);
+
+    private final double weight;
+}
@@ -0,0 +1,9 @@
+package com.dama.wanderwave.post.trending;
+
+public interface TrendingSeed {
+    String getPostId();
+
+    String getCategory();
+
+    double getScore();
+}
@@ -0,0 +1,166 @@
+package com.dama.wanderwave.post.trending;
+
+import com.dama.wanderwave.post.PostRepository;
+import com.dama.wanderwave.utils.TransactionHooks;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory leaderboard of trending posts, overall and per category.
+ * <p>
+ * Likes, comments and saves add a weight to the post's score that decays
+ * exponentially with the configured half-life. Instead of decaying every score
+ * over time, each event's weight is scaled up by {@code e^(rate * (now - epoch))},
+ * which ranks posts exactly like decayed scores would; a periodic rebase moves
+ * the epoch forward before the numbers grow too large and drops cold posts.
+ * Each board keeps only its top {@code capacity} posts, so reads are O(K).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class TrendingService {
+
+    static final String ALL_CATEGORIES = "";
+
+    private final PostRepository postRepository;
+
+    @Value("${application.trending.half-life:PT6H}")
+    private Duration halfLife;
+
+    @Value("${application.trending.capacity:200}")
+    private int capacity;
+
+    @Value("${application.trending.min-score:0.05}")
+    private double minScore;
+
+    @Value("${application.trending.seed-window:P7D}")
+    private Duration seedWindow;
+
+    Clock clock = Clock.systemDefaultZone();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, TrendingBoard> boards = new HashMap<>();
+    private double decayRate;
+    private double epochSeconds;
+
+    static final class Entry {
+        final String postId;
+        final String category;
+        double score;
+
+        Entry(String postId, String category) {
+            this.postId = postId;
+            this.category = category;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        decayRate = Math.log(2) / halfLife.toSeconds();
+        epochSeconds = nowSeconds();
+        boards.put(ALL_CATEGORIES, new TrendingBoard(capacity));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<TrendingSeed> seeds;
+        try {
+            seeds = postRepository.findTrendingSeeds(now.minus(seedWindow), now, decayRate,
+                    TrendingEvent.LIKE.getWeight(), TrendingEvent.COMMENT.getWeight(), TrendingEvent.SAVE.getWeight());
+        } catch (DataAccessException e) {
+            log.error("Failed to seed trending posts, starting with an empty leaderboard", e);
+            return;
+        }
+
+        synchronized (this) {
+            double scale = Math.exp(decayRate * (nowSeconds() - epochSeconds));
+            seeds.forEach(seed -> add(seed.getPostId(), seed.getCategory(), seed.getScore() * scale));
+        }
+        log.info("Seeded trending leaderboard with {} posts", seeds.size());
+    }
+
+    public void record(String postId, TrendingEvent event) {
+        TransactionHooks.afterCommit(() -> apply(postId, event));
+    }
+
+    public synchronized List<String> topPostIds(String category, int limit) {
+        TrendingBoard board = boards.get(category == null ? ALL_CATEGORIES : category);
+        return board == null ? List.of() : board.topPostIds(limit);
+    }
+
+    public void remove(String postId) {
+        TransactionHooks.afterCommit(() -> {
+            synchronized (this) {
+                Entry entry = entries.remove(postId);
+                if (entry != null) {
+                    boardsOf(entry).forEach(board -> board.remove(entry));
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${application.trending.rebase-interval-ms:3600000}")
+    public synchronized void rebase() {
+        double now = nowSeconds();
+        double factor = Math.exp(-decayRate * (now - epochSeconds));
+        epochSeconds = now;
+
+        boards.values().forEach(TrendingBoard::clear);
+        entries.values().removeIf(entry -> {
+            entry.score *= factor;
+            return entry.score < minScore;
+        });
+        entries.values().forEach(entry -> boardsOf(entry).forEach(board -> board.offer(entry)));
+        log.debug("Rebased trending leaderboard, {} posts tracked", entries.size());
+    }
+
+    private void apply(String postId, TrendingEvent event) {
+        Entry known = entries.get(postId);
+        String category = known != null ? known.category : postRepository.findCategoryNameById(postId).orElse(null);
+        if (category == null) {
+            return;
+        }
+
+        synchronized (this) {
+            double scale = Math.exp(decayRate * (nowSeconds() - epochSeconds));
+            add(postId, category, event.getWeight() * scale);
+        }
+    }
+
+    private void add(String postId, String category, double delta) {
+        Entry entry = entries.computeIfAbsent(postId, id -> new Entry(id, category));
+        List<TrendingBoard> boardsOfEntry = boardsOf(entry);
+
+        boardsOfEntry.forEach(board -> board.remove(entry));
+        entry.score = Math.max(0, entry.score + delta);
+        boardsOfEntry.forEach(board -> board.offer(entry));
+    }
+
+    private List<TrendingBoard> boardsOf(Entry entry) {
+        return List.of(
+                boards.get(ALL_CATEGORIES),
+                boards.computeIfAbsent(entry.category, c -> new TrendingBoard(capacity))
+        );
+    }
+
+    private double nowSeconds() {
+        return clock.millis() / 1000.0;
+    }
+}
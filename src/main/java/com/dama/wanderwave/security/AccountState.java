@@ -0,0 +1,8 @@
+package com.dama.wanderwave.security;
+
+/**
+ * The part of a user account needed to authenticate a request that already
+ * carries a valid token.
+ */
+public record AccountState(String userId, String email, boolean accountLocked, boolean enabled) {
+}
@@ -0,0 +1,57 @@
+package com.dama.wanderwave.security;
+
+import com.dama.wanderwave.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Keeps the lock and enable flags of recently active accounts so requests
+ * authenticated from token claims do not need a query. Entries live for
+ * {@code expire-after-write} at most; banning a user evicts theirs right away.
+ */
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class AccountStateCache {
+
+	static final String CACHE_NAME = "accountState";
+
+	private final UserRepository userRepository;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${application.security.account-cache.max-size:50000}")
+	private long maxSize;
+
+	@Value("${application.security.account-cache.expire-after-write:PT5M}")
+	private Duration expireAfterWrite;
+
+	private LoadingCache<String, AccountState> cache;
+
+	@PostConstruct
+	void init() {
+		cache = Caffeine.newBuilder()
+				        .maximumSize(maxSize)
+				        .expireAfterWrite(expireAfterWrite)
+				        .recordStats()
+				        .build(email -> userRepository.findAccountStateByEmail(email).orElse(null));
+
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	public Optional<AccountState> get(String email) {
+		return Optional.ofNullable(cache.get(email));
+	}
+
+	public void evict(String email) {
+		cache.invalidate(email);
+	}
+}
@@ -1,12 +1,15 @@
 package com.dama.wanderwave.security;
 
+import com.dama.wanderwave.user.User;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -15,12 +18,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
 
 @Service
 @RequiredArgsConstructor
 public class JwtFilter extends OncePerRequestFilter {
 	private final JwtService jwtService;
 	private final UserDetailsService userDetailsService;
+	private final AccountStateCache accountStateCache;
+
+	@Value("${application.security.jwt.claims-authentication:true}")
+	private boolean claimsAuthentication;
 
 	@Override
 	protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
@@ -35,9 +43,9 @@ public class JwtFilter extends OncePerRequestFilter {
 			return;
 		}
 
-		String userEmail = jwtService.extractUsername(jwt);
-		if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-			authenticateUser(userEmail, jwt, request);
+		ValidatedToken token = jwtService.validate(jwt);
+		if (token.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+			authenticateUser(token, request);
 		}
 
 		filterChain.doFilter(request, response);
@@ -56,18 +64,42 @@ public class JwtFilter extends OncePerRequestFilter {
 		return null;
 	}
 
-	private void authenticateUser(String userEmail, String jwt, HttpServletRequest request) {
-		UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-		if (jwtService.isTokenValid(jwt, userDetails)) {
-			UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-					userDetails,
-					null,
-					userDetails.getAuthorities()
-			);
-			authToken.setDetails(
-					new WebAuthenticationDetailsSource().buildDetails(request)
-			);
-			SecurityContextHolder.getContext().setAuthentication(authToken);
+	private void authenticateUser(ValidatedToken token, HttpServletRequest request) {
+		if (claimsAuthentication) {
+			accountStateCache.get(token.subject())
+					.filter(account -> !account.accountLocked() && account.enabled())
+					.ifPresent(account -> setAuthentication(principalOf(account), token.grantedAuthorities(), request));
+			return;
+		}
+
+		UserDetails userDetails = this.userDetailsService.loadUserByUsername(token.subject());
+		if (token.isValidFor(userDetails)) {
+			setAuthentication(userDetails, userDetails.getAuthorities(), request);
 		}
 	}
+
+	/**
+	 * A detached {@link User} holding only what the token and the account state
+	 * provide; services load the full entity when they need it.
+	 */
+	private User principalOf(AccountState account) {
+		return User.builder()
+				       .id(account.userId())
+				       .email(account.email())
+				       .accountLocked(account.accountLocked())
+				       .enabled(account.enabled())
+				       .build();
+	}
+
+	private void setAuthentication(UserDetails principal, Collection<? extends GrantedAuthority> authorities, HttpServletRequest request) {
+		UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+				principal,
+				null,
+				authorities
+		);
+		authToken.setDetails(
+				new WebAuthenticationDetailsSource().buildDetails(request)
+		);
+		SecurityContextHolder.getContext().setAuthentication(authToken);
+	}
 }
@@ -1,16 +1,20 @@
 package com.dama.wanderwave.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
@@ -26,6 +30,30 @@ public class JwtService {
 	@Value("${application.security.jwt.refresh-token.expiration}")
 	private long refreshTokenExpiration;
 
+	private Key signInKey;
+	private JwtParser parser;
+
+	@PostConstruct
+	void init() {
+		signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+		parser = Jwts.parserBuilder()
+				         .setSigningKey(signInKey)
+				         .build();
+	}
+
+	/**
+	 * Parses the token once, checking its signature and expiry.
+	 *
+	 * @throws io.jsonwebtoken.JwtException if the token is malformed, forged or expired
+	 */
+	public ValidatedToken validate(String token) {
+		Claims claims = extractAllClaims(token);
+		List<String> authorities = claims.get("authorities") instanceof Collection<?> values
+				                           ? values.stream().map(String::valueOf).toList()
+				                           : List.of();
+		return new ValidatedToken(claims.getSubject(), claims.getExpiration().toInstant(), authorities);
+	}
+
 	public String extractUsername(String token) {
 		return extractClaim(token, Claims::getSubject);
 	}
@@ -60,33 +88,12 @@ public class JwtService {
 	}
 
 
-	public boolean isTokenValid(String token, UserDetails userDetails) {
-		final String username = extractUsername(token);
-		return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-	}
-
-
-	boolean isTokenExpired(String token) {
-		return extractExpiration(token).before(new Date());
-	}
-
-
-	Date extractExpiration(String token) {
-		return extractClaim(token, Claims::getExpiration);
-	}
-
-
 	Claims extractAllClaims(String token) {
-		return Jwts.parserBuilder()
-				       .setSigningKey(getSignInKey())
-				       .build()
-				       .parseClaimsJws(token)
-				       .getBody();
+		return parser.parseClaimsJws(token).getBody();
 	}
 
 
 	Key getSignInKey() {
-		byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-		return Keys.hmacShaKeyFor(keyBytes);
+		return signInKey;
 	}
 }
@@ -0,0 +1,28 @@
+package com.dama.wanderwave.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The claims of a JWT whose signature and expiry were checked by {@link JwtService#validate(String)}.
+ */
+public record ValidatedToken(String subject, Instant expiresAt, List<String> authorities) {
+
+	public boolean isExpired() {
+		return expiresAt.isBefore(Instant.now());
+	}
+
+	public boolean isValidFor(UserDetails userDetails) {
+		return subject.equals(userDetails.getUsername()) && !isExpired();
+	}
+
+	public List<GrantedAuthority> grantedAuthorities() {
+		return authorities.stream()
+				       .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+				       .toList();
+	}
+}
@@ -0,0 +1,32 @@
+package com.dama.wanderwave.timeline;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One post in a follower's materialized home timeline. Rows are written when
+ * a followed user publishes (fan-out on write) and read back ordered by
+ * {@code created_at} to build the personal flow.
+ */
+@Data
+@Entity
+@Table(name = "user_timelines")
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimelineEntry {
+
+    @EmbeddedId
+    private TimelineEntryId id;
+
+    @Column(name = "author_id", nullable = false)
+    private String authorId;
+
+    @Column(name = "created_at", updatable = false, nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,37 @@
+package com.dama.wanderwave.timeline;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Getter
+@Setter
+@Embeddable
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimelineEntryId implements Serializable {
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "post_id", nullable = false)
+    private String postId;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TimelineEntryId that = (TimelineEntryId) o;
+        return Objects.equals(userId, that.userId) &&
+                       Objects.equals(postId, that.postId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, postId);
+    }
+}
@@ -0,0 +1,95 @@
+package com.dama.wanderwave.timeline;
+
+import com.dama.wanderwave.utils.CursorKey;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TimelineRepository extends JpaRepository<TimelineEntry, TimelineEntryId> {
+
+    @Query(value = "SELECT t.id.postId FROM TimelineEntry t WHERE t.id.userId = :userId ORDER BY t.createdAt DESC, t.id.postId DESC",
+            countQuery = "SELECT COUNT(t) FROM TimelineEntry t WHERE t.id.userId = :userId")
+    Page<String> findPostIdsByUserId(@Param("userId") String userId, Pageable pageable);
+
+    @Query("SELECT t.id.postId AS id, t.createdAt AS createdAt FROM TimelineEntry t " +
+            "WHERE t.id.userId = :userId AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id.postId < :id)) " +
+            "ORDER BY t.createdAt DESC, t.id.postId DESC")
+    List<CursorKey> findKeysByUserIdBefore(@Param("userId") String userId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") String id,
+                                           Pageable pageable);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_timelines (user_id, post_id, author_id, created_at)
+            SELECT s.follower_id, :postId, :authorId, :createdAt
+            FROM subscribers s
+            WHERE s.followed_id = :authorId
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int fanOut(@Param("postId") String postId,
+               @Param("authorId") String authorId,
+               @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO user_timelines (user_id, post_id, author_id, created_at)
+            SELECT :userId, p.post_id, p.user_id, p.created_at
+            FROM posts p
+            WHERE p.user_id = :authorId
+            ORDER BY p.created_at DESC
+            LIMIT :limit
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int backfill(@Param("userId") String userId,
+                 @Param("authorId") String authorId,
+                 @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.id.userId = :userId AND t.authorId = :authorId")
+    int deleteByUserIdAndAuthorId(@Param("userId") String userId, @Param("authorId") String authorId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.id.postId = :postId")
+    int deleteByPostId(@Param("postId") String postId);
+
+    /**
+     * Trims the timeline of every follower of the author to its newest {@code capacity}
+     * entries. Each follower's cut-off is found by walking the timeline index, so
+     * timelines that are within capacity cost one short index scan and nothing else.
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM user_timelines t
+            USING (SELECT s.follower_id AS user_id, cutoff.created_at, cutoff.post_id
+                   FROM subscribers s
+                            CROSS JOIN LATERAL (SELECT u.created_at, u.post_id
+                                                FROM user_timelines u
+                                                WHERE u.user_id = s.follower_id
+                                                ORDER BY u.created_at DESC, u.post_id DESC
+                                                OFFSET :capacity LIMIT 1) cutoff
+                   WHERE s.followed_id = :authorId) stale
+            WHERE t.user_id = stale.user_id
+              AND (t.created_at, t.post_id) <= (stale.created_at, stale.post_id)
+            """, nativeQuery = true)
+    int trimFollowersOf(@Param("authorId") String authorId, @Param("capacity") int capacity);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM user_timelines t
+            USING (SELECT u.created_at, u.post_id
+                   FROM user_timelines u
+                   WHERE u.user_id = :userId
+                   ORDER BY u.created_at DESC, u.post_id DESC
+                   OFFSET :capacity LIMIT 1) cutoff
+            WHERE t.user_id = :userId
+              AND (t.created_at, t.post_id) <= (cutoff.created_at, cutoff.post_id)
+            """, nativeQuery = true)
+    int trimUser(@Param("userId") String userId, @Param("capacity") int capacity);
+}
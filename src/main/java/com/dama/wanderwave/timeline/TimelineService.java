@@ -0,0 +1,65 @@
+package com.dama.wanderwave.timeline;
+
+import com.dama.wanderwave.post.Post;
+import com.dama.wanderwave.utils.Cursor;
+import com.dama.wanderwave.utils.CursorKey;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class TimelineService {
+
+    private final TimelineRepository timelineRepository;
+
+    @Value("${application.timeline.capacity:800}")
+    private int capacity;
+
+    @Value("${application.timeline.backfill-size:50}")
+    private int backfillSize;
+
+    public Page<String> getTimelinePostIds(String userId, Pageable pageRequest) {
+        return timelineRepository.findPostIdsByUserId(userId, pageRequest);
+    }
+
+    public List<CursorKey> getTimelineKeys(String userId, Cursor cursor, Pageable limit) {
+        return timelineRepository.findKeysByUserIdBefore(userId, cursor.createdAt(), cursor.id(), limit);
+    }
+
+    @Transactional
+    public void fanOut(Post post) {
+        int delivered = timelineRepository.fanOut(post.getId(), post.getUser().getId(), post.getCreatedAt());
+        int trimmed = timelineRepository.trimFollowersOf(post.getUser().getId(), capacity);
+        log.info("fanOut delivered post {} to {} timelines, trimmed {} entries beyond capacity {}",
+                post.getId(), delivered, trimmed, capacity);
+    }
+
+    @Transactional
+    public void removePost(String postId) {
+        int removed = timelineRepository.deleteByPostId(postId);
+        log.info("removePost removed post {} from {} timelines", postId, removed);
+    }
+
+    @Transactional
+    public void follow(String followerId, String followedId) {
+        int added = timelineRepository.backfill(followerId, followedId, backfillSize);
+        int trimmed = timelineRepository.trimUser(followerId, capacity);
+        log.info("follow backfilled {} posts of user {} into timeline of user {}, trimmed {} entries beyond capacity {}",
+                added, followedId, followerId, trimmed, capacity);
+    }
+
+    @Transactional
+    public void unfollow(String followerId, String followedId) {
+        int removed = timelineRepository.deleteByUserIdAndAuthorId(followerId, followedId);
+        log.info("unfollow pruned {} posts of user {} from timeline of user {}", removed, followedId, followerId);
+    }
+}
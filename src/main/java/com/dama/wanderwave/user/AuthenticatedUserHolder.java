@@ -0,0 +1,76 @@
+package com.dama.wanderwave.user;
+
+import com.dama.wanderwave.handler.user.UserNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Resolves the {@link User} behind the current {@link Authentication}.
+ * <p>
+ * Inside an HTTP request the user is loaded once, by the id of the principal
+ * put in place by {@code JwtFilter}, and kept as a request attribute for the
+ * rest of the request. Outside a request (scheduled jobs, STOMP handlers) every
+ * call loads the user again.
+ */
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class AuthenticatedUserHolder {
+
+    static final String ATTRIBUTE = AuthenticatedUserHolder.class.getName() + ".USER";
+
+    private final UserRepository userRepository;
+
+    public User get() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User user) {
+            return user;
+        }
+
+        User user = load(SecurityContextHolder.getContext().getAuthentication());
+        if (attributes != null) {
+            attributes.setAttribute(ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    /**
+     * The id of the current user, taken from the principal without a query when
+     * {@code JwtFilter} put one in place.
+     */
+    public String getId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User principal && principal.getId() != null) {
+            return principal.getId();
+        }
+        return get().getId();
+    }
+
+    /**
+     * Drops the memoized user if it is {@code userId}, so the next {@link #get()}
+     * sees a fresh nickname, avatar or lock state.
+     */
+    public void evict(String userId) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User user
+                && user.getId().equals(userId)) {
+            attributes.removeAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private User load(Authentication authentication) {
+        if (authentication == null) {
+            throw new UserNotFoundException("User not found");
+        }
+        if (authentication.getPrincipal() instanceof User principal && principal.getId() != null) {
+            return userRepository.findById(principal.getId())
+                    .orElseThrow(() -> new UserNotFoundException("User not found"));
+        }
+        return userRepository.findByEmail(authentication.getName())
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+    }
+}
@@ -2,6 +2,8 @@ package com.dama.wanderwave.user;
 
 
 import com.dama.wanderwave.azure.AzureService;
+import com.dama.wanderwave.user.presence.PresenceResponse;
+import com.dama.wanderwave.user.presence.PresenceService;
 import com.dama.wanderwave.user.request.SubscribeRequest;
 import com.dama.wanderwave.user.response.ShortUserResponse;
 import com.dama.wanderwave.user.response.UserResponse;
@@ -12,6 +14,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -32,9 +35,11 @@ import java.util.List;
 public class UserController {
 
     private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_PRESENCE_IDS = 200;
 
     private final UserService userService;
     private final AzureService azureService;
+    private final PresenceService presenceService;
 
     @GetMapping("/profile/id/{id}")
     @ResponseStatus(HttpStatus.OK)
@@ -198,6 +203,19 @@ public class UserController {
         return ResponseEntity.ok(new ResponseRecord(HttpStatus.OK.value(), isSubscribed));
     }
 
+    @GetMapping("/presence")
+    @ResponseStatus(HttpStatus.OK)
+    @Operation(summary = "Get users presence", description = "Tells for each given user whether they are online and when they were last seen.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Presence retrieved successfully", content = @Content()),
+            @ApiResponse(responseCode = "400", description = "Too many user ids", content = @Content()),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content())
+    })
+    public ResponseEntity<ResponseRecord> getPresence(@RequestParam("ids") @Size(max = MAX_PRESENCE_IDS) List<String> ids) {
+        List<PresenceResponse> presence = presenceService.presenceOf(ids);
+        return ResponseEntity.ok(new ResponseRecord(HttpStatus.OK.value(), presence));
+    }
+
     @PostMapping("/upload-avatar")
     @ResponseStatus(HttpStatus.OK)
     @Operation(summary = "Upload user avatar", description = "Upload a user avatar.")
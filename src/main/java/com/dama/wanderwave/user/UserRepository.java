@@ -1,11 +1,14 @@
 package com.dama.wanderwave.user;
 
+import com.dama.wanderwave.security.AccountState;
+import com.dama.wanderwave.user.response.ShortUserResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +27,10 @@ public interface UserRepository extends JpaRepository<User, String> {
     @Query("select u from User u where u.nickname = :userData or u.email = :userData")
     Optional<User> loadByNicknameOrEmail(@Param("userData") String userData);
 
+    @Query("select new com.dama.wanderwave.security.AccountState(u.id, u.email, u.accountLocked, u.enabled) " +
+            "from User u where u.email = :email")
+    Optional<AccountState> findAccountStateByEmail(@Param("email") String email);
+
     @Query("select u.subscribers from User u where u.id = :userId")
     Page<String> findSubscribersIdsByUserId(@Param("userId") String userId, Pageable pageable);
 
@@ -32,6 +39,10 @@ public interface UserRepository extends JpaRepository<User, String> {
 
     List<User> findAllByIdIn(List<String> ids);
 
+    @Query("select new com.dama.wanderwave.user.response.ShortUserResponse(u.id, u.nickname, u.email, u.imageUrl) " +
+            "from User u where u.id in :ids")
+    List<ShortUserResponse> findShortUsersByIdIn(@Param("ids") Collection<String> ids);
+
     @Query("SELECT u.subscriptions FROM User u WHERE u.id = :id")
     List<String> findByIdAndFetchSubscriptions(@Param("id") String id);
 
@@ -3,9 +3,12 @@ package com.dama.wanderwave.user;
 import com.dama.wanderwave.handler.user.UnauthorizedActionException;
 import com.dama.wanderwave.handler.user.UserNotFoundException;
 import com.dama.wanderwave.notification.NotificationService;
+import com.dama.wanderwave.security.AccountStateCache;
+import com.dama.wanderwave.timeline.TimelineService;
 import com.dama.wanderwave.user.request.SubscribeRequest;
 import com.dama.wanderwave.user.response.ShortUserResponse;
 import com.dama.wanderwave.user.response.UserResponse;
+import com.dama.wanderwave.user.summary.UserSummaryCache;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,8 +17,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -33,6 +34,10 @@ public class UserService {
     private final static int SUBSCRIPTIONS_PAGE = 10;
     private final ModelMapper modelMapper;
     private final NotificationService notificationService;
+    private final TimelineService timelineService;
+    private final AuthenticatedUserHolder authenticatedUserHolder;
+    private final AccountStateCache accountStateCache;
+    private final UserSummaryCache userSummaryCache;
 
 
     public UserResponse getUserById(String id) {
@@ -57,11 +62,14 @@ public class UserService {
             userRepository.save(followed);
 
             if (subscribe) {
+                timelineService.follow(followerId, followedId);
                 notificationService.sendFollowNotification(
                         followedId,
                         followedId,
                         followerId
                 );
+            } else {
+                timelineService.unfollow(followerId, followedId);
             }
 
             return subscribe ? "User subscribed successfully" : "User unsubscribed successfully";
@@ -103,6 +111,8 @@ public class UserService {
         User toBan = findUserByIdOrThrow(id);
         toBan.setAccountLocked(ban);
         userRepository.save(toBan);
+        authenticatedUserHolder.evict(id);
+        accountStateCache.evict(toBan.getEmail());
         String action = ban ? "banned" : "unbanned";
         log.info("User with ID {} has been {} (account {})", id, action, ban ? "locked" : "unlocked");
         return ban ? "User banned successfully" : "User unbanned successfully";
@@ -172,9 +182,7 @@ public class UserService {
 
 
     public User getAuthenticatedUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return userRepository.findByEmail(authentication.getName())
-                .orElseThrow(() -> new UserNotFoundException("User not found"));
+        return authenticatedUserHolder.get();
     }
 
     public void checkUserAccessRights(User authenticatedUser, String userId) {
@@ -318,6 +326,8 @@ public class UserService {
         User user = getAuthenticatedUser();
         user.setImageUrl(url);
         userRepository.save(user);
+        authenticatedUserHolder.evict(user.getId());
+        userSummaryCache.evict(user.getId());
     }
 
     public UserResponse getUserByNickname(String nickname) {
@@ -359,6 +369,8 @@ public class UserService {
         User user = getAuthenticatedUser();
         user.setNickname(username);
         userRepository.save(user);
+        authenticatedUserHolder.evict(user.getId());
+        userSummaryCache.evict(user.getId());
     }
 
     public void changeDescription(String description) {
@@ -2,12 +2,41 @@ package com.dama.wanderwave.user.like;
 
 import com.dama.wanderwave.post.Post;
 import com.dama.wanderwave.user.User;
+import com.dama.wanderwave.utils.CursorKey;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface LikeRepository extends JpaRepository<Like, LikeId> {
     Optional<Like> findByUserAndPost(User user, Post post);
 
+    @Query("SELECT l.id.post_id FROM Like l WHERE l.id.user_id = :userId")
+    List<String> findPostIdsByUserId(@Param("userId") String userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_likes (user_id, post_id, created_at) " +
+            "SELECT :userId, p.post_id, :createdAt FROM posts p WHERE p.post_id = :postId " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") String userId,
+                       @Param("postId") String postId,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("DELETE FROM Like l WHERE l.id.user_id = :userId AND l.id.post_id = :postId")
+    int deleteByUserIdAndPostId(@Param("userId") String userId, @Param("postId") String postId);
+
+    @Query("SELECT l.id.post_id AS id, l.createdAt AS createdAt FROM Like l " +
+            "WHERE l.id.user_id = :userId AND (l.createdAt < :createdAt OR (l.createdAt = :createdAt AND l.id.post_id < :id)) " +
+            "ORDER BY l.createdAt DESC, l.id.post_id DESC")
+    List<CursorKey> findKeysByUserIdBefore(@Param("userId") String userId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") String id,
+                                           Pageable pageable);
+
 }
@@ -0,0 +1,11 @@
+package com.dama.wanderwave.user.presence;
+
+import java.time.Instant;
+
+/**
+ * Whether a user has an open STOMP session, and when their last session ended.
+ * {@code lastSeen} is {@code null} while online or if they have not been seen
+ * since this instance started.
+ */
+public record PresenceResponse(String userId, boolean online, Instant lastSeen) {
+}
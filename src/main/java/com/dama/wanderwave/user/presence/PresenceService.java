@@ -0,0 +1,103 @@
+package com.dama.wanderwave.user.presence;
+
+import com.dama.wanderwave.websocket.cluster.ClusterSessionRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which users have an open STOMP session, from session connect and
+ * disconnect events, so pushes to offline users can be skipped; they load what
+ * they missed when they come back.
+ * <p>
+ * A user is online while at least one of their sessions is open. With the
+ * cluster relay enabled, sessions on other instances count too. Last-seen times
+ * are kept per instance.
+ */
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class PresenceService {
+
+    private final ObjectProvider<ClusterSessionRegistry> clusterSessionRegistryProvider;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, String> sessionUsers = new ConcurrentHashMap<>();
+    private final Map<String, Integer> openSessions = new ConcurrentHashMap<>();
+    private final Map<String, Instant> lastSeen = new ConcurrentHashMap<>();
+
+    private ClusterSessionRegistry clusterSessionRegistry;
+
+    @PostConstruct
+    void init() {
+        clusterSessionRegistry = clusterSessionRegistryProvider.getIfAvailable();
+        Gauge.builder("presence.online.users", openSessions, Map::size)
+                .description("Users with an open STOMP session on this instance")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (user != null && sessionId != null) {
+            connected(user.getName(), sessionId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        disconnected(event.getSessionId());
+    }
+
+    void connected(String userId, String sessionId) {
+        if (sessionUsers.putIfAbsent(sessionId, userId) == null) {
+            openSessions.merge(userId, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Disconnect events can repeat for one session, so only the first one counts.
+     */
+    void disconnected(String sessionId) {
+        String userId = sessionUsers.remove(sessionId);
+        if (userId == null) {
+            return;
+        }
+        lastSeen.put(userId, Instant.now());
+        openSessions.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    public boolean isOnline(String userId) {
+        if (openSessions.containsKey(userId)) {
+            return true;
+        }
+        return clusterSessionRegistry != null && !clusterSessionRegistry.remoteNodesOf(userId).isEmpty();
+    }
+
+    public PresenceResponse presenceOf(String userId) {
+        boolean online = isOnline(userId);
+        return new PresenceResponse(userId, online, online ? null : lastSeen.get(userId));
+    }
+
+    public List<PresenceResponse> presenceOf(Collection<String> userIds) {
+        return userIds.stream()
+                .distinct()
+                .map(this::presenceOf)
+                .toList();
+    }
+}
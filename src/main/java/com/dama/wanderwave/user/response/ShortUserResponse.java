@@ -1,11 +1,13 @@
 package com.dama.wanderwave.user.response;
 
 import com.dama.wanderwave.user.User;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class ShortUserResponse {
     private String id;
     private String nickname;
@@ -2,10 +2,40 @@ package com.dama.wanderwave.user.saved_post;
 
 import com.dama.wanderwave.post.Post;
 import com.dama.wanderwave.user.User;
+import com.dama.wanderwave.utils.CursorKey;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface SavedPostRepository extends JpaRepository<SavedPost, SavedPostId> {
     Optional<SavedPost> findByUserAndPost(User user, Post post);
+
+    @Query("SELECT s.id.post_id FROM SavedPost s WHERE s.id.user_id = :userId")
+    List<String> findPostIdsByUserId(@Param("userId") String userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_saved_posts (user_id, post_id, created_at) " +
+            "SELECT :userId, p.post_id, :createdAt FROM posts p WHERE p.post_id = :postId " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") String userId,
+                       @Param("postId") String postId,
+                       @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query("DELETE FROM SavedPost s WHERE s.id.user_id = :userId AND s.id.post_id = :postId")
+    int deleteByUserIdAndPostId(@Param("userId") String userId, @Param("postId") String postId);
+
+    @Query("SELECT s.id.post_id AS id, s.createdAt AS createdAt FROM SavedPost s " +
+            "WHERE s.id.user_id = :userId AND (s.createdAt < :createdAt OR (s.createdAt = :createdAt AND s.id.post_id < :id)) " +
+            "ORDER BY s.createdAt DESC, s.id.post_id DESC")
+    List<CursorKey> findKeysByUserIdBefore(@Param("userId") String userId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") String id,
+                                           Pageable pageable);
 }
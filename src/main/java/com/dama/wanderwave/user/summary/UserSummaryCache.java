@@ -0,0 +1,86 @@
+package com.dama.wanderwave.user.summary;
+
+import com.dama.wanderwave.user.UserRepository;
+import com.dama.wanderwave.user.response.ShortUserResponse;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the id, nickname, email and avatar of recently seen users, so responses
+ * that only show who did something need no user entity. Misses are loaded with
+ * one projection query per call; renaming a user or changing their avatar evicts
+ * their entry.
+ */
+@Service
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class UserSummaryCache {
+
+    static final String CACHE_NAME = "userSummary";
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.users.summary-cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${application.users.summary-cache.expire-after-write:PT10M}")
+    private Duration expireAfterWrite;
+
+    private LoadingCache<String, ShortUserResponse> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public ShortUserResponse load(@NonNull String id) {
+                        return loadAll(Set.of(id)).get(id);
+                    }
+
+                    @Override
+                    public Map<String, ShortUserResponse> loadAll(@NonNull Set<? extends String> ids) {
+                        return userRepository.findShortUsersByIdIn(Set.copyOf(ids)).stream()
+                                .collect(Collectors.toMap(ShortUserResponse::getId, Function.identity()));
+                    }
+                });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * The summary of the user, or {@code null} if there is no such user.
+     */
+    public ShortUserResponse get(String id) {
+        return cache.get(id);
+    }
+
+    /**
+     * The summaries of every given user that exists, keyed by id.
+     */
+    public Map<String, ShortUserResponse> getAll(Collection<String> ids) {
+        return cache.getAll(ids);
+    }
+
+    public void evict(String id) {
+        cache.invalidate(id);
+    }
+}
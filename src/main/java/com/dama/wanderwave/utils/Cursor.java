@@ -0,0 +1,45 @@
+package com.dama.wanderwave.utils;
+
+import com.dama.wanderwave.handler.cursor.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position over {@code (created_at, id)}. Listings ordered by
+ * {@code created_at DESC, id DESC} continue strictly after this position, so
+ * deep pages cost the same as the first one and new rows never shift results.
+ */
+public record Cursor(LocalDateTime createdAt, String id) {
+
+    /**
+     * Position before every row; used when the client asks for the first slice.
+     */
+    public static final Cursor FIRST = new Cursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), "");
+
+    private static final char SEPARATOR = '|';
+
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + token);
+            }
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
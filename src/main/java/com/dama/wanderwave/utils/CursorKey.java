@@ -0,0 +1,17 @@
+package com.dama.wanderwave.utils;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the seek columns of a keyset listing.
+ */
+public interface CursorKey {
+
+    String getId();
+
+    LocalDateTime getCreatedAt();
+
+    default Cursor toCursor() {
+        return new Cursor(getCreatedAt(), getId());
+    }
+}
@@ -0,0 +1,30 @@
+package com.dama.wanderwave.utils;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One slice of a keyset listing. Unlike {@link org.springframework.data.domain.Page}
+ * it carries no total count; {@code nextCursor} is {@code null} on the last slice.
+ */
+public record CursorSlice<T>(List<T> content, String nextCursor, boolean hasNext) {
+
+    /**
+     * Repositories are asked for one extra row to learn whether another slice exists.
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, size + 1);
+    }
+
+    public static <R, T> CursorSlice<T> of(List<R> rows, int size,
+                                           Function<R, Cursor> cursorOf,
+                                           Function<List<R>, List<T>> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<R> slice = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(slice.getLast()).encode() : null;
+        return new CursorSlice<>(mapper.apply(slice), nextCursor, hasNext);
+    }
+}
@@ -1,80 +1,90 @@
 package com.dama.wanderwave.websocket;
 
+import com.dama.wanderwave.security.AccountState;
+import com.dama.wanderwave.security.AccountStateCache;
 import com.dama.wanderwave.security.JwtService;
+import com.dama.wanderwave.security.ValidatedToken;
+import io.jsonwebtoken.JwtException;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
+/**
+ * Authenticates a STOMP session once, on its CONNECT frame, and binds a
+ * {@link StompPrincipal} named by the user id to it, so user destinations
+ * resolve by id. Later frames are only checked for that bound principal.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class AuthChannelInterceptor implements ChannelInterceptor {
 
+	private static final String AUTHORIZATION_HEADER = "Authorization";
+	private static final String BEARER_PREFIX = "Bearer ";
+
 	private final JwtService jwtService;
-	private final UserDetailsService userDetailsService;
+	private final AccountStateCache accountStateCache;
 
 	@Override
-	public Message<?> preSend(Message<?> message, @NonNull MessageChannel channel) {
-		log.debug("Intercepting WebSocket message: {}", message);
-
-		Map<String, Object> headers = message.getHeaders();
-		log.debug("All headers: {}", headers);
-
-
-		Map<String, List<String>> nativeHeaders = (Map<String, List<String>>) headers.get("nativeHeaders");
+	public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+		StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+		if (accessor == null || accessor.getCommand() == null) {
+			return message;
+		}
 
-		if (nativeHeaders != null) {
-			List<String> authHeaders = nativeHeaders.get("Authorization");
-			if (authHeaders != null && !authHeaders.isEmpty()) {
-				String authHeader = authHeaders.getFirst();
-				log.debug("Authorization header: {}", authHeader);
+		StompCommand command = accessor.getCommand();
+		if (command == StompCommand.CONNECT) {
+			Optional<StompPrincipal> principal = authenticate(accessor.getFirstNativeHeader(AUTHORIZATION_HEADER));
+			if (principal.isEmpty()) {
+				log.warn("WebSocket CONNECT rejected for session {}", accessor.getSessionId());
+				return null;
+			}
+			accessor.setUser(principal.get());
+			log.info("WebSocket session {} authenticated for user {}", accessor.getSessionId(), principal.get().getName());
+			return message;
+		}
 
-				if (authHeader.startsWith("Bearer ")) {
-					String token = authHeader.substring("Bearer ".length());
-					log.debug("Extracted token: {}", token);
+		if (requiresPrincipal(command) && accessor.getUser() == null) {
+			log.warn("WebSocket {} frame rejected for unauthenticated session {}", command, accessor.getSessionId());
+			return null;
+		}
+		return message;
+	}
 
-					String username = jwtService.extractUsername(token);
-					log.debug("Extracted username from token: {}", username);
+	private boolean requiresPrincipal(StompCommand command) {
+		return command == StompCommand.SEND || command == StompCommand.SUBSCRIBE;
+	}
 
-					if (username != null) {
-						UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-						log.debug("Loaded user details for username: {}", username);
+	private Optional<StompPrincipal> authenticate(String authHeader) {
+		if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+			log.warn("Authorization header is missing or does not start with 'Bearer '");
+			return Optional.empty();
+		}
 
-						if (userDetails != null) {
-							log.debug("Validating token for user: {}", username);
-							if (jwtService.isTokenValid(token, userDetails)) {
-								log.info("WebSocket message authenticated for user: {}", username);
-								return message;
-							} else {
-								log.warn("Token is invalid for user: {}", username);
-							}
-						} else {
-							log.warn("User details not found for username: {}", username);
-						}
-					} else {
-						log.warn("Username not found in token");
-					}
-				} else {
-					log.warn("Authorization header does not start with 'Bearer '");
-				}
-			} else {
-				log.warn("Authorization header is missing in nativeHeaders");
-			}
-		} else {
-			log.warn("Native headers are missing in the message");
+		ValidatedToken token;
+		try {
+			token = jwtService.validate(authHeader.substring(BEARER_PREFIX.length()));
+		} catch (JwtException | IllegalArgumentException e) {
+			log.warn("Invalid token on WebSocket CONNECT: {}", e.getMessage());
+			return Optional.empty();
 		}
 
-		log.warn("WebSocket message rejected due to authentication failure");
-		return null;
+		if (token.subject() == null) {
+			return Optional.empty();
+		}
+		return accountStateCache.get(token.subject())
+				       .filter(account -> !account.accountLocked() && account.enabled())
+				       .map(AccountState::userId)
+				       .map(StompPrincipal::new);
 	}
-}
\ No newline at end of file
+}
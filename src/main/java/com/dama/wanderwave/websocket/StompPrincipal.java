@@ -0,0 +1,15 @@
+package com.dama.wanderwave.websocket;
+
+import java.security.Principal;
+
+/**
+ * The user bound to an authenticated STOMP session. Its name is the user id,
+ * which is what {@code convertAndSendToUser} is called with.
+ */
+public record StompPrincipal(String userId) implements Principal {
+
+	@Override
+	public String getName() {
+		return userId;
+	}
+}
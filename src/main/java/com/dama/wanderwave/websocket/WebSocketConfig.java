@@ -1,7 +1,10 @@
 package com.dama.wanderwave.websocket;
 
+import com.dama.wanderwave.websocket.cluster.ClusterRelayInterceptor;
+import com.dama.wanderwave.websocket.outbound.OutboundQueueDecoratorFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -32,7 +35,11 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
 	private final ObjectMapper mapper;
 
-//	private final AuthChannelInterceptor authChannelInterceptor;
+	private final AuthChannelInterceptor authChannelInterceptor;
+
+	private final ObjectProvider<ClusterRelayInterceptor> clusterRelayInterceptor;
+
+	private final OutboundQueueDecoratorFactory outboundQueueDecoratorFactory;
 
 //	private TaskScheduler taskScheduler;
 
@@ -41,22 +48,20 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 //		this.taskScheduler = taskScheduler;
 //	}
 
-//	@Override
-//	public void configureClientInboundChannel(ChannelRegistration registration) {
-//		registration.interceptors(authChannelInterceptor);
-//	}
+	@Override
+	public void configureClientInboundChannel(ChannelRegistration registration) {
+		registration.interceptors(authChannelInterceptor);
+	}
 
 	@Override
 	public void registerStompEndpoints(StompEndpointRegistry registry) {
 		registry.addEndpoint(APPLICATION_ENDPOINT.getStringValue())
 				.setAllowedOrigins("http://localhost:3000", "https://wanderwave.azurewebsites.net/")
-				.withSockJS();
-/*				.setTaskScheduler(taskScheduler)
+				.withSockJS()
 				.setHeartbeatTime(HEARTBEAT_TIME.getIntValue())
 				.setStreamBytesLimit(STREAM_BYTES_LIMIT.getIntValue())
 				.setHttpMessageCacheSize(HTTP_MESSAGE_CACHE_SIZE.getIntValue())
-				.setDisconnectDelay(DISCONNECT_DELAY.getIntValue())
-				.setSuppressCors(false);*/
+				.setDisconnectDelay(DISCONNECT_DELAY.getIntValue());
 	}
 
 	@Override
@@ -65,9 +70,10 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 		config.setApplicationDestinationPrefixes("/wander_wave");
 //		config.enableSimpleBroker("/topic", "/queue");
 		config.setUserDestinationPrefix("/user");
+		clusterRelayInterceptor.ifAvailable(interceptor -> config.configureBrokerChannel().interceptors(interceptor));
 	}
 
-/*	@Bean
+	@Bean
 	public ServletServerContainerFactoryBean createWebSocketContainer() {
 		ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
 		container.setMaxTextMessageBufferSize(MAX_BUFFER_SIZE.getIntValue());
@@ -79,7 +85,10 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 	public void configureWebSocketTransport(WebSocketTransportRegistration registry) {
 		registry.setMessageSizeLimit(MESSAGE_SIZE_LIMIT.getIntValue());
 		registry.setTimeToFirstMessage(TIME_TO_FIRST_MESSAGE.getIntValue());
-	}*/
+		registry.setSendTimeLimit(SEND_TIME_LIMIT.getIntValue());
+		registry.setSendBufferSizeLimit(SEND_BUFFER_SIZE_LIMIT.getIntValue());
+		registry.addDecoratorFactory(outboundQueueDecoratorFactory);
+	}
 
 	@Override
 	public boolean configureMessageConverters(List<MessageConverter> messageConverters) {
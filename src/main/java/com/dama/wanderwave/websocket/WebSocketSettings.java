@@ -10,8 +10,10 @@ public enum WebSocketSettings {
     STREAM_BYTES_LIMIT(512 * 1024),
     HTTP_MESSAGE_CACHE_SIZE(1000),
     DISCONNECT_DELAY(30 * 1000),
-    MAX_BUFFER_SIZE(8192),
+    MAX_BUFFER_SIZE(4 * 8192),
     MESSAGE_SIZE_LIMIT(4 * 8192),
+    SEND_TIME_LIMIT(10 * 1000),
+    SEND_BUFFER_SIZE_LIMIT(512 * 1024),
     TIME_TO_FIRST_MESSAGE(30000);
 
     private final String stringValue;
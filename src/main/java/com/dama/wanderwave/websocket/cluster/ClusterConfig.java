@@ -0,0 +1,46 @@
+package com.dama.wanderwave.websocket.cluster;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Starts an embedded Hazelcast member when {@code application.websocket.cluster.enabled}
+ * is set, so instances behind the load balancer can reach each other's STOMP
+ * sessions. Members find each other over TCP/IP using the configured list.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.websocket.cluster", name = "enabled", havingValue = "true")
+public class ClusterConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    public HazelcastInstance hazelcastInstance(
+            @Value("${application.websocket.cluster.name:wanderwave}") String clusterName,
+            @Value("${application.websocket.cluster.members:127.0.0.1}") List<String> members,
+            @Value("${application.websocket.cluster.port:5701}") int port) {
+        return Hazelcast.newHazelcastInstance(hazelcastConfig(clusterName, members, port));
+    }
+
+    static Config hazelcastConfig(String clusterName, List<String> members, int port) {
+        Config config = new Config();
+        config.setClusterName(clusterName);
+        config.setProperty("hazelcast.logging.type", "slf4j");
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().setPort(port).setPortAutoIncrement(true);
+
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getAutoDetectionConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(true).setMembers(members);
+        return config;
+    }
+}
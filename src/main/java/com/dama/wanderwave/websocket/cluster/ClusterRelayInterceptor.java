@@ -0,0 +1,69 @@
+package com.dama.wanderwave.websocket.cluster;
+
+import com.hazelcast.core.HazelcastInstance;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Watches the broker channel for messages sent to {@code /user/<id>/...} and
+ * publishes a copy to the topic of every other member holding a session of that
+ * user. Members without such a session receive nothing. Local sessions are still
+ * served by the local broker, and copies that arrived from another member are
+ * not relayed again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "application.websocket.cluster", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ClusterRelayInterceptor implements ChannelInterceptor {
+
+    static final String USER_PREFIX = "/user/";
+    static final String RELAYED_HEADER = "wanderwaveRelayed";
+
+    private final ClusterSessionRegistry sessionRegistry;
+    private final HazelcastInstance hazelcast;
+
+    static String topicName(String nodeId) {
+        return "stomp-relay-" + nodeId;
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        MessageHeaders headers = message.getHeaders();
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        if (destination == null || !destination.startsWith(USER_PREFIX) || headers.containsKey(RELAYED_HEADER)) {
+            return message;
+        }
+
+        int userEnd = destination.indexOf('/', USER_PREFIX.length());
+        if (userEnd < 0) {
+            return message;
+        }
+        Set<String> nodes = sessionRegistry.remoteNodesOf(destination.substring(USER_PREFIX.length(), userEnd));
+        if (nodes.isEmpty()) {
+            return message;
+        }
+        if (!(message.getPayload() instanceof byte[] payload)) {
+            log.warn("Not relaying {} with unconverted payload of type {}", destination, message.getPayload().getClass());
+            return message;
+        }
+
+        Object contentType = headers.get(MessageHeaders.CONTENT_TYPE);
+        RelayedMessage relayed = new RelayedMessage(destination, payload, contentType == null ? null : contentType.toString());
+        for (String node : nodes) {
+            hazelcast.<RelayedMessage>getTopic(topicName(node)).publish(relayed);
+        }
+        return message;
+    }
+}
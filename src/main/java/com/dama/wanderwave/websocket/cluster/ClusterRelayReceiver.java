@@ -0,0 +1,65 @@
+package com.dama.wanderwave.websocket.cluster;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.util.UUID;
+
+/**
+ * Listens on this member's relay topic and hands every {@link RelayedMessage}
+ * to the local broker, which delivers it to the user's sessions here.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "application.websocket.cluster", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ClusterRelayReceiver {
+
+    private final HazelcastInstance hazelcast;
+    private final ClusterSessionRegistry sessionRegistry;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private ITopic<RelayedMessage> topic;
+    private UUID registration;
+
+    @PostConstruct
+    void subscribe() {
+        topic = hazelcast.getTopic(ClusterRelayInterceptor.topicName(sessionRegistry.nodeId()));
+        registration = topic.addMessageListener(message -> deliver(message.getMessageObject()));
+    }
+
+    @PreDestroy
+    void unsubscribe() {
+        topic.removeMessageListener(registration);
+    }
+
+    void deliver(RelayedMessage relayed) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(relayed.destination());
+        if (relayed.contentType() != null) {
+            accessor.setContentType(MimeType.valueOf(relayed.contentType()));
+        }
+        accessor.setHeader(ClusterRelayInterceptor.RELAYED_HEADER, true);
+        accessor.setLeaveMutable(true);
+
+        Message<byte[]> message = MessageBuilder.createMessage(relayed.payload(), accessor.getMessageHeaders());
+        try {
+            messagingTemplate.send(relayed.destination(), message);
+        } catch (RuntimeException e) {
+            log.error("Failed to deliver relayed message to {}", relayed.destination(), e);
+        }
+    }
+}
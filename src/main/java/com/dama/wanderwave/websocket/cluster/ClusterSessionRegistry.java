@@ -0,0 +1,135 @@
+package com.dama.wanderwave.websocket.cluster;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.cluster.MembershipEvent;
+import com.hazelcast.cluster.MembershipListener;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.multimap.MultiMap;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records, in a cluster-wide {@link MultiMap}, which member every STOMP session
+ * of a user is connected to. Values are {@code <member uuid>/<session id>}.
+ * <p>
+ * Sessions are added on connect and removed on disconnect; a member leaving the
+ * cluster has its sessions removed by the oldest remaining member.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "application.websocket.cluster", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class ClusterSessionRegistry {
+
+    static final String SESSIONS_MAP = "stomp-user-sessions";
+
+    private final HazelcastInstance hazelcast;
+
+    private final Map<String, String> localSessions = new ConcurrentHashMap<>();
+    private MultiMap<String, String> sessions;
+    private String nodeId;
+    private UUID membershipRegistration;
+
+    @PostConstruct
+    void init() {
+        sessions = hazelcast.getMultiMap(SESSIONS_MAP);
+        nodeId = hazelcast.getCluster().getLocalMember().getUuid().toString();
+        membershipRegistration = hazelcast.getCluster().addMembershipListener(new MembershipListener() {
+            @Override
+            public void memberAdded(MembershipEvent event) {
+            }
+
+            @Override
+            public void memberRemoved(MembershipEvent event) {
+                if (isOldestMember()) {
+                    purgeNode(event.getMember().getUuid().toString());
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hazelcast.getCluster().removeMembershipListener(membershipRegistration);
+        localSessions.forEach((sessionId, userId) -> sessions.remove(userId, location(nodeId, sessionId)));
+        localSessions.clear();
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (user != null && sessionId != null) {
+            register(user.getName(), sessionId);
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        String userId = localSessions.get(event.getSessionId());
+        if (userId != null) {
+            unregister(userId, event.getSessionId());
+        }
+    }
+
+    void register(String userId, String sessionId) {
+        localSessions.put(sessionId, userId);
+        sessions.put(userId, location(nodeId, sessionId));
+    }
+
+    void unregister(String userId, String sessionId) {
+        localSessions.remove(sessionId);
+        sessions.remove(userId, location(nodeId, sessionId));
+    }
+
+    /**
+     * The other members holding at least one session of the user.
+     */
+    public Set<String> remoteNodesOf(String userId) {
+        Set<String> nodes = new HashSet<>();
+        for (String location : sessions.get(userId)) {
+            String node = location.substring(0, location.indexOf('/'));
+            if (!node.equals(nodeId)) {
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    private boolean isOldestMember() {
+        Iterator<Member> members = hazelcast.getCluster().getMembers().iterator();
+        return members.hasNext() && members.next().localMember();
+    }
+
+    private void purgeNode(String node) {
+        String prefix = node + '/';
+        int removed = 0;
+        for (Map.Entry<String, String> entry : sessions.entrySet()) {
+            if (entry.getValue().startsWith(prefix) && sessions.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        log.info("Removed {} STOMP sessions of departed cluster member {}", removed, node);
+    }
+
+    private static String location(String node, String sessionId) {
+        return node + '/' + sessionId;
+    }
+}
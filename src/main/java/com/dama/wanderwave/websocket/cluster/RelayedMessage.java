@@ -0,0 +1,11 @@
+package com.dama.wanderwave.websocket.cluster;
+
+import java.io.Serializable;
+
+/**
+ * A message sent to a user destination, on its way to the member holding one of
+ * the user's sessions. The payload is already converted, so the receiving member
+ * only has to pass it to its broker.
+ */
+public record RelayedMessage(String destination, byte[] payload, String contentType) implements Serializable {
+}
@@ -0,0 +1,173 @@
+package com.dama.wanderwave.websocket.outbound;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Gives a session a bounded outbound queue drained by one task at a time on a
+ * shared executor, so {@link #sendMessage} never blocks on a slow client.
+ * <p>
+ * When the queue is full the oldest frame whose {@link FrameClass} may be
+ * dropped makes room. If there is none, a droppable frame is itself dropped and
+ * any other frame closes the session. The session is also closed when a single
+ * send has been blocked for longer than the send time limit.
+ */
+@Slf4j
+class BoundedOutboundSession extends WebSocketSessionDecorator {
+
+    private final Executor executor;
+    private final int capacity;
+    private final long sendTimeLimitNanos;
+    private final Map<FrameClass, OverflowPolicy> policies;
+    private final SessionClassMeters meters;
+
+    private final Deque<Frame> queue = new ArrayDeque<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile long sendStartedAt;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private record Frame(WebSocketMessage<?> message, FrameClass frameClass) {
+    }
+
+    BoundedOutboundSession(WebSocketSession delegate, Executor executor, int capacity, long sendTimeLimitMs,
+                           Map<FrameClass, OverflowPolicy> policies, SessionClassMeters meters) {
+        super(delegate);
+        this.executor = executor;
+        this.capacity = capacity;
+        this.sendTimeLimitNanos = sendTimeLimitMs * 1_000_000;
+        this.policies = policies;
+        this.meters = meters;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) {
+        if (closed.get()) {
+            return;
+        }
+        long startedAt = sendStartedAt;
+        if (startedAt != 0 && System.nanoTime() - startedAt > sendTimeLimitNanos) {
+            disconnect("a send has been blocked for more than the send time limit");
+            return;
+        }
+
+        FrameClass frameClass = FrameClass.of(message);
+        boolean overflow = false;
+        synchronized (queue) {
+            if (queue.size() >= capacity && !dropOldestDroppable()) {
+                if (policyOf(frameClass) == OverflowPolicy.DROP_OLDEST) {
+                    meters.dropped().increment();
+                    return;
+                }
+                overflow = true;
+            } else {
+                queue.addLast(new Frame(message, frameClass));
+                meters.queued().incrementAndGet();
+                meters.depth().record(queue.size());
+            }
+        }
+        if (overflow) {
+            disconnect("its outbound queue overflowed with a " + frameClass + " frame");
+            return;
+        }
+
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    int queued() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * Empties the queue once the session is gone, so the gauges stay accurate.
+     */
+    void discard() {
+        closed.set(true);
+        clear();
+    }
+
+    private OverflowPolicy policyOf(FrameClass frameClass) {
+        return policies.getOrDefault(frameClass, OverflowPolicy.DISCONNECT);
+    }
+
+    private boolean dropOldestDroppable() {
+        Iterator<Frame> frames = queue.iterator();
+        while (frames.hasNext()) {
+            if (policyOf(frames.next().frameClass()) == OverflowPolicy.DROP_OLDEST) {
+                frames.remove();
+                meters.queued().decrementAndGet();
+                meters.dropped().increment();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void drain() {
+        do {
+            Frame frame;
+            while (!closed.get() && (frame = poll()) != null) {
+                sendStartedAt = System.nanoTime();
+                try {
+                    getDelegate().sendMessage(frame.message());
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Failed to send to session {}", getId(), e);
+                    discard();
+                    closeDelegate();
+                } finally {
+                    sendStartedAt = 0;
+                }
+            }
+            draining.set(false);
+        } while (!closed.get() && queued() > 0 && draining.compareAndSet(false, true));
+    }
+
+    private Frame poll() {
+        synchronized (queue) {
+            Frame frame = queue.pollFirst();
+            if (frame != null) {
+                meters.queued().decrementAndGet();
+            }
+            return frame;
+        }
+    }
+
+    private void clear() {
+        synchronized (queue) {
+            meters.queued().addAndGet(-queue.size());
+            queue.clear();
+        }
+    }
+
+    private void disconnect(String reason) {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        clear();
+        meters.disconnects().increment();
+        log.warn("Closing WebSocket session {} because {}", getId(), reason);
+        closeDelegate();
+    }
+
+    private void closeDelegate() {
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("Failed to close session {}", getId(), e);
+        }
+    }
+}
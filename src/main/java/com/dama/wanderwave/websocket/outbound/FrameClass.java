@@ -0,0 +1,37 @@
+package com.dama.wanderwave.websocket.outbound;
+
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+/**
+ * The kind of an outbound STOMP frame, taken from its destination header.
+ */
+enum FrameClass {
+    CHAT,
+    NOTIFICATION,
+    OTHER;
+
+    private static final String DESTINATION_HEADER = "\ndestination:";
+
+    static FrameClass of(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage text)) {
+            return OTHER;
+        }
+        String frame = text.getPayload();
+        int headersEnd = frame.indexOf("\n\n");
+        int header = frame.indexOf(DESTINATION_HEADER);
+        if (header < 0 || headersEnd < 0 || header > headersEnd) {
+            return OTHER;
+        }
+
+        int start = header + DESTINATION_HEADER.length();
+        String destination = frame.substring(start, frame.indexOf('\n', start));
+        if (destination.contains("/queue/notifications")) {
+            return NOTIFICATION;
+        }
+        if (destination.contains("/queue/messages")) {
+            return CHAT;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,136 @@
+package com.dama.wanderwave.websocket.outbound;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.sockjs.transport.session.PollingSockJsSession;
+import org.springframework.web.socket.sockjs.transport.session.StreamingSockJsSession;
+import org.springframework.web.socket.sockjs.transport.session.WebSocketServerSockJsSession;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps every STOMP session in a {@link BoundedOutboundSession} before the STOMP
+ * handler sees it. Chat and notification frames get their own overflow policy;
+ * any other frame disconnects on overflow. Queue meters are kept per transport:
+ * {@code websocket}, {@code sockjs-websocket}, {@code sockjs-streaming} and
+ * {@code sockjs-polling}.
+ */
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class OutboundQueueDecoratorFactory implements WebSocketHandlerDecoratorFactory {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${application.websocket.outbound.capacity:256}")
+    private int capacity;
+
+    @Value("${application.websocket.outbound.send-time-limit-ms:10000}")
+    private long sendTimeLimitMs;
+
+    @Value("${application.websocket.outbound.threads:8}")
+    private int threads;
+
+    @Value("${application.websocket.outbound.chat-policy:DISCONNECT}")
+    private OverflowPolicy chatPolicy;
+
+    @Value("${application.websocket.outbound.notification-policy:DROP_OLDEST}")
+    private OverflowPolicy notificationPolicy;
+
+    private final Map<String, SessionClassMeters> meters = new ConcurrentHashMap<>();
+    private final Map<FrameClass, OverflowPolicy> policies = new EnumMap<>(FrameClass.class);
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void init() {
+        policies.put(FrameClass.CHAT, chatPolicy);
+        policies.put(FrameClass.NOTIFICATION, notificationPolicy);
+        policies.put(FrameClass.OTHER, OverflowPolicy.DISCONNECT);
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("ws-outbound-");
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    @NonNull
+    public WebSocketHandler decorate(@NonNull WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+
+            private final Map<String, BoundedOutboundSession> sessions = new ConcurrentHashMap<>();
+
+            @Override
+            public void afterConnectionEstablished(@NonNull WebSocketSession session) throws Exception {
+                BoundedOutboundSession bounded = wrap(session);
+                sessions.put(session.getId(), bounded);
+                super.afterConnectionEstablished(bounded);
+            }
+
+            @Override
+            public void handleMessage(@NonNull WebSocketSession session, @NonNull WebSocketMessage<?> message) throws Exception {
+                super.handleMessage(bounded(session), message);
+            }
+
+            @Override
+            public void handleTransportError(@NonNull WebSocketSession session, @NonNull Throwable exception) throws Exception {
+                super.handleTransportError(bounded(session), exception);
+            }
+
+            private WebSocketSession bounded(WebSocketSession session) {
+                BoundedOutboundSession bounded = sessions.get(session.getId());
+                return bounded != null ? bounded : session;
+            }
+
+            @Override
+            public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus closeStatus) throws Exception {
+                BoundedOutboundSession bounded = sessions.remove(session.getId());
+                if (bounded == null) {
+                    super.afterConnectionClosed(session, closeStatus);
+                    return;
+                }
+                bounded.discard();
+                super.afterConnectionClosed(bounded, closeStatus);
+            }
+        };
+    }
+
+    BoundedOutboundSession wrap(WebSocketSession session) {
+        SessionClassMeters classMeters = meters.computeIfAbsent(sessionClass(session),
+                sessionClass -> SessionClassMeters.register(meterRegistry, sessionClass));
+        return new BoundedOutboundSession(session, executor, capacity, sendTimeLimitMs, policies, classMeters);
+    }
+
+    static String sessionClass(WebSocketSession session) {
+        if (session instanceof WebSocketServerSockJsSession) {
+            return "sockjs-websocket";
+        }
+        if (session instanceof StreamingSockJsSession) {
+            return "sockjs-streaming";
+        }
+        if (session instanceof PollingSockJsSession) {
+            return "sockjs-polling";
+        }
+        return "websocket";
+    }
+}
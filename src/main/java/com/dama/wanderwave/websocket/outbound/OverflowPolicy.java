@@ -0,0 +1,16 @@
+package com.dama.wanderwave.websocket.outbound;
+
+/**
+ * What a session's outbound queue does with a frame that does not fit.
+ */
+public enum OverflowPolicy {
+    /**
+     * Discard the oldest queued frame of the same kind; the client can pull what
+     * it missed.
+     */
+    DROP_OLDEST,
+    /**
+     * Close the session; the client reconnects and reloads its state.
+     */
+    DISCONNECT
+}
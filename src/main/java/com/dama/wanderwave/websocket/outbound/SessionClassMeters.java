@@ -0,0 +1,37 @@
+package com.dama.wanderwave.websocket.outbound;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outbound queue meters shared by all sessions of one transport, tagged with
+ * {@code session.class}.
+ */
+record SessionClassMeters(AtomicInteger queued, DistributionSummary depth, Counter dropped, Counter disconnects) {
+
+    static SessionClassMeters register(MeterRegistry registry, String sessionClass) {
+        AtomicInteger queued = new AtomicInteger();
+        Gauge.builder("websocket.outbound.queued", queued, AtomicInteger::get)
+                .description("Frames waiting in outbound session queues")
+                .tag("session.class", sessionClass)
+                .register(registry);
+        return new SessionClassMeters(
+                queued,
+                DistributionSummary.builder("websocket.outbound.queue.depth")
+                        .description("Depth of a session's outbound queue after each enqueue")
+                        .tag("session.class", sessionClass)
+                        .register(registry),
+                Counter.builder("websocket.outbound.dropped")
+                        .description("Outbound frames dropped because a session's queue was full")
+                        .tag("session.class", sessionClass)
+                        .register(registry),
+                Counter.builder("websocket.outbound.disconnects")
+                        .description("Sessions closed because their outbound queue overflowed or stalled")
+                        .tag("session.class", sessionClass)
+                        .register(registry));
+    }
+}
@@ -0,0 +1,28 @@
+-- Materialized home timelines (fan-out on write)
+CREATE TABLE user_timelines
+(
+    user_id    VARCHAR(255)                NOT NULL,
+    post_id    VARCHAR(255)                NOT NULL,
+    author_id  VARCHAR(255)                NOT NULL,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_user_timelines PRIMARY KEY (user_id, post_id),
+    CONSTRAINT FK_USER_TIMELINES_ON_USER FOREIGN KEY (user_id) REFERENCES users (user_id),
+    CONSTRAINT FK_USER_TIMELINES_ON_POST FOREIGN KEY (post_id) REFERENCES posts (post_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_user_timelines_user_id_created_at ON user_timelines (user_id, created_at DESC, post_id DESC);
+CREATE INDEX idx_user_timelines_user_id_author_id ON user_timelines (user_id, author_id);
+CREATE INDEX idx_user_timelines_post_id ON user_timelines (post_id);
+
+-- Seed timelines from existing subscriptions, keeping the newest 800 posts per user
+INSERT INTO user_timelines (user_id, post_id, author_id, created_at)
+SELECT ranked.user_id, ranked.post_id, ranked.author_id, ranked.created_at
+FROM (SELECT s.follower_id AS user_id,
+             p.post_id,
+             p.user_id     AS author_id,
+             p.created_at,
+             ROW_NUMBER() OVER (PARTITION BY s.follower_id ORDER BY p.created_at DESC, p.post_id DESC) AS rn
+      FROM subscribers s
+               JOIN posts p ON p.user_id = s.followed_id) ranked
+WHERE ranked.rn <= 800
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,22 @@
+-- Composite indexes backing keyset pagination on (created_at DESC, id DESC)
+
+-- Posts
+DROP INDEX IF EXISTS idx_posts_user_id_created_at;
+CREATE INDEX idx_posts_user_id_created_at_post_id ON posts (user_id, created_at DESC, post_id DESC);
+CREATE INDEX idx_posts_category_type_id_created_at_post_id ON posts (category_type_id, created_at DESC, post_id DESC);
+
+-- User Likes
+CREATE INDEX idx_user_likes_user_id_created_at_post_id ON user_likes (user_id, created_at DESC, post_id DESC);
+
+-- User Saved Posts
+CREATE INDEX idx_user_saved_posts_user_id_created_at_post_id ON user_saved_posts (user_id, created_at DESC, post_id DESC);
+
+-- Comments
+CREATE INDEX idx_comments_post_id_created_at_comment_id ON comments (post_id, created_at DESC, comment_id DESC);
+
+-- Notifications
+CREATE INDEX idx_notifications_recipient_id_created_at_notification_id ON notifications (recipient_id, created_at DESC, notification_id DESC);
+
+-- Messages
+DROP INDEX IF EXISTS idx_messages_chat_id_created_at;
+CREATE INDEX idx_messages_chat_id_created_at_id ON messages (chat_id, created_at DESC, id DESC);
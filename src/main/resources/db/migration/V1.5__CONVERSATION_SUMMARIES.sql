@@ -0,0 +1,24 @@
+-- One row per participant of a conversation, kept up to date on every sent message
+
+CREATE TABLE conversation_summaries
+(
+    user_id              VARCHAR(255)                NOT NULL,
+    partner_id           VARCHAR(255)                NOT NULL,
+    last_message_id      VARCHAR(255)                NOT NULL,
+    last_message_preview VARCHAR(255)                NOT NULL,
+    last_message_at      TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    unread_count         INTEGER                     NOT NULL DEFAULT 0,
+    CONSTRAINT pk_conversation_summaries PRIMARY KEY (user_id, partner_id),
+    CONSTRAINT fk_conversation_summaries_user FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE,
+    CONSTRAINT fk_conversation_summaries_partner FOREIGN KEY (partner_id) REFERENCES users (user_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_conversation_summaries_user_id_last_message_at
+    ON conversation_summaries (user_id, last_message_at DESC, partner_id);
+
+INSERT INTO conversation_summaries (user_id, partner_id, last_message_id, last_message_preview, last_message_at)
+SELECT DISTINCT ON (p.user_id, p.partner_id) p.user_id, p.partner_id, p.id, LEFT(p.content, 255), p.created_at
+FROM (SELECT sender_id AS user_id, recipient_id AS partner_id, id, content, created_at FROM messages
+      UNION ALL
+      SELECT recipient_id, sender_id, id, content, created_at FROM messages) p
+ORDER BY p.user_id, p.partner_id, p.created_at DESC, p.id DESC;
@@ -0,0 +1,5 @@
+-- Read high-water mark of each participant, advanced by batched read receipts
+
+ALTER TABLE conversation_summaries
+    ADD COLUMN last_read_message_id VARCHAR(255),
+    ADD COLUMN last_read_at         TIMESTAMP WITHOUT TIME ZONE;
@@ -0,0 +1,3 @@
+-- Backs the NOT EXISTS check of the batched notification insert
+
+CREATE INDEX idx_notifications_recipient_id_object_id_action_user_id ON notifications (recipient_id, object_id, action_user_id);
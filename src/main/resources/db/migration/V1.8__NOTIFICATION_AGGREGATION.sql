@@ -0,0 +1,17 @@
+-- One notification row per recipient, type and object within a time bucket, carrying an actor count and a few sample actors
+
+ALTER TABLE notifications
+    ADD COLUMN actor_count      INTEGER NOT NULL DEFAULT 1,
+    ADD COLUMN sample_actor_ids TEXT[],
+    ADD COLUMN bucket_start     TIMESTAMP WITHOUT TIME ZONE;
+
+UPDATE notifications
+SET sample_actor_ids = ARRAY [action_user_id],
+    bucket_start     = created_at;
+
+ALTER TABLE notifications
+    ALTER COLUMN sample_actor_ids SET NOT NULL,
+    ALTER COLUMN bucket_start SET NOT NULL;
+
+DROP INDEX IF EXISTS idx_notifications_recipient_id_object_id_action_user_id;
+CREATE UNIQUE INDEX uq_notifications_recipient_id_type_object_id_bucket_start ON notifications (recipient_id, type, object_id, bucket_start);
@@ -0,0 +1,57 @@
+-- Notifications partitioned by month of bucket_start, so expired history is dropped a partition at a time
+
+ALTER TABLE notifications RENAME TO notifications_unpartitioned;
+ALTER TABLE notifications_unpartitioned RENAME CONSTRAINT pk_notifications TO pk_notifications_unpartitioned;
+
+CREATE TABLE notifications
+(
+    notification_id  VARCHAR(255)                NOT NULL,
+    recipient_id     VARCHAR(255)                NOT NULL,
+    is_read          BOOLEAN                     NOT NULL,
+    created_at       TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    type             VARCHAR(255)                NOT NULL,
+    object_id        VARCHAR(255)                NOT NULL,
+    action_user_id   VARCHAR(255)                NOT NULL,
+    actor_count      INTEGER                     NOT NULL DEFAULT 1,
+    sample_actor_ids TEXT[]                      NOT NULL,
+    bucket_start     TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    CONSTRAINT pk_notifications PRIMARY KEY (notification_id, bucket_start),
+    CONSTRAINT FK_NOTIFICATION_RECIPIENT_USER FOREIGN KEY (recipient_id) REFERENCES users (user_id),
+    CONSTRAINT FK_NOTIFICATION_SENDER_USER FOREIGN KEY (action_user_id) REFERENCES users (user_id)
+) PARTITION BY RANGE (bucket_start);
+
+DO
+$$
+    DECLARE
+        month DATE := date_trunc('month', LEAST((SELECT min(bucket_start) FROM notifications_unpartitioned), now()));
+    BEGIN
+        WHILE month <= date_trunc('month', now()) + INTERVAL '3 months'
+            LOOP
+                EXECUTE format('CREATE TABLE %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                               'notifications_p' || to_char(month, 'YYYY_MM'), month, month + INTERVAL '1 month');
+                month := month + INTERVAL '1 month';
+            END LOOP;
+    END
+$$;
+
+INSERT INTO notifications (notification_id, recipient_id, is_read, created_at, type, object_id, action_user_id,
+                           actor_count, sample_actor_ids, bucket_start)
+SELECT notification_id,
+       recipient_id,
+       is_read,
+       created_at,
+       type,
+       object_id,
+       action_user_id,
+       actor_count,
+       sample_actor_ids,
+       bucket_start
+FROM notifications_unpartitioned;
+
+DROP TABLE notifications_unpartitioned;
+
+CREATE UNIQUE INDEX uq_notifications_recipient_id_type_object_id_bucket_start ON notifications (recipient_id, type, object_id, bucket_start);
+CREATE INDEX idx_notifications_recipient_id_created_at_notification_id ON notifications (recipient_id, created_at DESC, notification_id DESC);
+CREATE INDEX idx_notifications_unread ON notifications (recipient_id) WHERE is_read = false;
+CREATE INDEX idx_notifications_action_user_id ON notifications (action_user_id);
+CREATE INDEX idx_notifications_object_id ON notifications (object_id);
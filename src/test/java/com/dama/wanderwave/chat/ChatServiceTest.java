@@ -4,17 +4,24 @@ import com.dama.wanderwave.handler.chat.ChatRoomException;
 import com.dama.wanderwave.handler.chat.ChatRoomNotFoundException;
 import com.dama.wanderwave.handler.user.UserNotFoundException;
 import com.dama.wanderwave.hash.HashUUIDGenerator;
+import com.dama.wanderwave.chat.summary.ConversationSummaryService;
+import com.dama.wanderwave.message.ChatMessageRepository;
+import com.dama.wanderwave.message.writer.ChatMessageWriter;
 import com.dama.wanderwave.user.User;
 import com.dama.wanderwave.user.UserRepository;
+import com.dama.wanderwave.user.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -38,6 +45,18 @@ class ChatServiceTest {
 	@Mock
 	private HashUUIDGenerator hashUUIDGenerator;
 
+	@Mock
+	private ChatMessageRepository chatMessageRepository;
+
+	@Mock
+	private ConversationSummaryService conversationSummaryService;
+
+	@Mock
+	private UserService userService;
+
+	@Mock
+	private ChatMessageWriter chatMessageWriter;
+
 
 
 	private User sender;
@@ -296,4 +315,102 @@ class ChatServiceTest {
 					.hasMessageContaining("Chat room could not be found.");
 		}
 	}
-}
\ No newline at end of file
+
+	@Test
+	@DisplayName("Should cache participants but keep asking for non-participants")
+	void isParticipant_ShouldCachePositiveAnswers() {
+		when(chatRepository.existsByIdAndParticipantId("chatId", "senderId")).thenReturn(true);
+		when(chatRepository.existsByIdAndParticipantId("chatId", "strangerId")).thenReturn(false);
+
+		assertThat(chatService.isParticipant("chatId", "senderId")).isTrue();
+		assertThat(chatService.isParticipant("chatId", "senderId")).isTrue();
+		assertThat(chatService.isParticipant("chatId", "strangerId")).isFalse();
+		assertThat(chatService.isParticipant("chatId", "strangerId")).isFalse();
+
+		verify(chatRepository, times(1)).existsByIdAndParticipantId("chatId", "senderId");
+		verify(chatRepository, times(2)).existsByIdAndParticipantId("chatId", "strangerId");
+	}
+
+	@Nested
+	@DisplayName("resolveChatId Method")
+	class ResolveChatIdTests {
+
+		@Test
+		@DisplayName("Should look up chat id once for both directions")
+		void resolveChatId_ShouldCacheForBothDirections() {
+			when(chatRepository.findBySenderIdAndRecipientId("senderId", "recipientId")).thenReturn(Optional.of(expectedChat));
+
+			assertThat(chatService.resolveChatId("senderId", "recipientId")).isEqualTo("chatId");
+			assertThat(chatService.resolveChatId("recipientId", "senderId")).isEqualTo("chatId");
+
+			verify(chatRepository, times(1)).findBySenderIdAndRecipientId(any(), any());
+		}
+
+		@Test
+		@DisplayName("Should look chat id up again after the chat is cleared")
+		void resolveChatId_ShouldForgetClearedChat() {
+			when(chatRepository.findBySenderIdAndRecipientId("senderId", "recipientId")).thenReturn(Optional.of(expectedChat));
+			when(chatRepository.findIdBySenderIdAndRecipientId("senderId", "recipientId")).thenReturn(Optional.of("chatId"));
+
+			chatService.resolveChatId("senderId", "recipientId");
+			chatService.clearChat("senderId", "recipientId");
+			chatService.resolveChatId("senderId", "recipientId");
+
+			verify(chatRepository, times(2)).findBySenderIdAndRecipientId("senderId", "recipientId");
+		}
+	}
+
+	@Nested
+	@DisplayName("clearChat Method")
+	class ClearChatTests {
+
+		@Test
+		@DisplayName("Should delete messages and chat room with bulk statements")
+		void clearChat_ShouldDeleteInBulk() {
+			when(chatRepository.findIdBySenderIdAndRecipientId("senderId", "recipientId")).thenReturn(Optional.of("chatId"));
+
+			chatService.clearChat("senderId", "recipientId");
+
+			verify(chatMessageRepository).deleteByChatId("chatId");
+			verify(chatRepository).deleteChatById("chatId");
+			verify(conversationSummaryService).removeConversation("senderId", "recipientId");
+			verify(chatRepository, never()).findBySenderIdAndRecipientId(any(), any());
+		}
+
+		@Test
+		@DisplayName("Should discard queued messages before deleting the chat's rows")
+		void clearChat_ShouldDiscardPendingMessagesFirst() {
+			when(chatRepository.findIdBySenderIdAndRecipientId("senderId", "recipientId")).thenReturn(Optional.of("chatId"));
+			when(chatMessageWriter.discard("chatId")).thenReturn(3);
+
+			chatService.clearChat("senderId", "recipientId");
+
+			InOrder inOrder = inOrder(chatMessageWriter, chatMessageRepository, chatRepository);
+			inOrder.verify(chatMessageWriter).discard("chatId");
+			inOrder.verify(chatMessageRepository).deleteByChatId("chatId");
+			inOrder.verify(chatRepository).deleteChatById("chatId");
+		}
+
+		@Test
+		@DisplayName("Should do nothing when chat room does not exist")
+		void clearChat_ShouldIgnoreMissingChat() {
+			when(chatRepository.findIdBySenderIdAndRecipientId("senderId", "recipientId")).thenReturn(Optional.empty());
+
+			chatService.clearChat("senderId", "recipientId");
+
+			verifyNoInteractions(chatMessageRepository, chatMessageWriter);
+			verify(chatRepository, never()).deleteChatById(any());
+		}
+	}
+
+	@Test
+	@DisplayName("Should list contacts from the authenticated user's conversation summaries")
+	void retrieveContactsWithLastMessages_ShouldReadSummaries() {
+		List<ChatListElement> contacts = List.of(
+				new ChatListElement("recipientId", "Recipient", null, "Hello", LocalDateTime.now(), 2));
+		when(userService.getAuthenticatedUser()).thenReturn(sender);
+		when(conversationSummaryService.contactsOf("senderId")).thenReturn(contacts);
+
+		assertThat(chatService.retrieveContactsWithLastMessages()).isEqualTo(contacts);
+	}
+}
@@ -0,0 +1,229 @@
+package com.dama.wanderwave.chat.read;
+
+import com.dama.wanderwave.chat.ChatService;
+import com.dama.wanderwave.handler.user.UnauthorizedActionException;
+import com.dama.wanderwave.user.presence.PresenceService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadReceiptService Tests")
+class ReadReceiptServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+    @Mock
+    private PresenceService presenceService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ChatService chatService;
+
+    private ReadReceiptService readReceiptService;
+
+    private final Set<String> unstored = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        readReceiptService = new ReadReceiptService(jdbcTemplate, transactionManager, chatService, messagingTemplate,
+                new SimpleMeterRegistry(), presenceService);
+        ReflectionTestUtils.setField(readReceiptService, "maxBatch", 2);
+        ReflectionTestUtils.setField(readReceiptService, "maxWaitMs", 30_000L);
+        readReceiptService.registerMetrics();
+        readReceiptService.clock = Clock.fixed(Instant.parse("2024-05-01T12:00:00Z"), ZoneOffset.UTC);
+
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        lenient().when(chatService.isParticipant(anyString(), anyString())).thenReturn(true);
+        lenient().when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] args = (Object[]) invocation.getRawArguments()[2];
+            List<String> found = new ArrayList<>();
+            for (int i = 2; i < args.length; i += 3) {
+                if (!unstored.contains(args[i])) {
+                    found.add((String) args[i]);
+                }
+            }
+            return found;
+        });
+    }
+
+    private void stubAdvanced(String readerId, String partnerId, String chatId, String messageId) {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+            RowMapper<?> mapper = invocation.getArgument(1);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString(1)).thenReturn(readerId);
+            when(rs.getString(2)).thenReturn(partnerId);
+            when(rs.getString(3)).thenReturn(chatId);
+            when(rs.getString(4)).thenReturn(messageId);
+            return List.of(mapper.mapRow(rs, 0));
+        });
+    }
+
+    @Test
+    @DisplayName("Should Write Only The Latest Mark Per Chat And Notify The Partner")
+    void flush_ShouldCoalesceMarks() {
+        stubAdvanced("alice", "bob", "chat-1", "m3");
+        when(presenceService.isOnline("bob")).thenReturn(true);
+
+        readReceiptService.markRead("alice", "chat-1", "m1");
+        readReceiptService.markRead("alice", "chat-1", "m2");
+        readReceiptService.markRead("alice", "chat-1", "m3");
+        readReceiptService.flush();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(1)).query(sql.capture(), any(RowMapper.class), eq("alice"), eq("chat-1"), eq("m3"));
+        assertTrue(sql.getValue().contains("(VALUES (?, ?, ?))"));
+        verify(messagingTemplate).convertAndSendToUser("bob", ReadReceiptService.RECEIPTS_DESTINATION,
+                new ReadReceipt("chat-1", "alice", "m3"));
+    }
+
+    @Test
+    @DisplayName("Should Lock The Summary Rows Before Recounting In The Same Transaction")
+    void flush_ShouldLockBeforeRecount() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        readReceiptService.markRead("alice", "chat-1", "m1");
+        readReceiptService.flush();
+
+        InOrder inOrder = inOrder(transactionManager, jdbcTemplate);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(jdbcTemplate).queryForList(contains("FOR UPDATE OF s"), eq(String.class), eq("alice"), eq("chat-1"), eq("m1"));
+        inOrder.verify(jdbcTemplate).query(contains("UPDATE conversation_summaries"), any(RowMapper.class), eq("alice"), eq("chat-1"), eq("m1"));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should Reject Marks From Users Outside The Chat")
+    void markRead_ShouldRejectNonParticipant() {
+        when(chatService.isParticipant("chat-1", "mallory")).thenReturn(false);
+
+        assertThrows(UnauthorizedActionException.class, () -> readReceiptService.markRead("mallory", "chat-1", "m1"));
+        readReceiptService.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should Split Pending Marks Into Batches Of One Statement Each")
+    void flush_ShouldSplitBatches() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        readReceiptService.markRead("alice", "chat-1", "m1");
+        readReceiptService.markRead("bob", "chat-2", "m2");
+        readReceiptService.markRead("carol", "chat-3", "m3");
+        readReceiptService.flush();
+
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class), any(Object[].class));
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    @DisplayName("Should Keep Marks For The Next Flush When The Write Fails")
+    void flush_ShouldRetryAfterFailure() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of());
+
+        readReceiptService.markRead("alice", "chat-1", "m1");
+        readReceiptService.flush();
+        readReceiptService.flush();
+
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should Keep A Mark For A Message That Is Not Stored Yet Until It Is")
+    void flush_ShouldKeepMarkForUnstoredMessage() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+        unstored.add("m1");
+
+        readReceiptService.markRead("alice", "chat-1", "m1");
+        readReceiptService.flush();
+        unstored.clear();
+        readReceiptService.flush();
+        readReceiptService.flush();
+
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class), eq("alice"), eq("chat-1"), eq("m1"));
+    }
+
+    @Test
+    @DisplayName("Should Drop A Mark Whose Message Was Not Stored Within The Wait")
+    void flush_ShouldDropExpiredUnstoredMark() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+        unstored.add("m1");
+
+        readReceiptService.markRead("alice", "chat-1", "m1");
+        readReceiptService.flush();
+        readReceiptService.clock = Clock.offset(readReceiptService.clock, Duration.ofSeconds(31));
+        readReceiptService.flush();
+        readReceiptService.flush();
+
+        verify(jdbcTemplate, times(2)).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should Let A Newer Mark Replace One Waiting For Its Message")
+    void flush_ShouldPreferNewerMarkOverUnstoredOne() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+        unstored.add("m1");
+
+        readReceiptService.markRead("alice", "chat-1", "m1");
+        readReceiptService.flush();
+        readReceiptService.markRead("alice", "chat-1", "m2");
+        readReceiptService.flush();
+        readReceiptService.flush();
+
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowMapper.class), eq("alice"), eq("chat-1"), eq("m1"));
+        verify(jdbcTemplate, times(1)).query(anyString(), any(RowMapper.class), eq("alice"), eq("chat-1"), eq("m2"));
+    }
+
+    @Test
+    @DisplayName("Should Advance The Mark Without A Receipt When The Partner Is Offline")
+    void flush_ShouldSkipReceiptForOfflinePartner() {
+        stubAdvanced("alice", "bob", "chat-1", "m1");
+        when(presenceService.isOnline("bob")).thenReturn(false);
+
+        readReceiptService.markRead("alice", "chat-1", "m1");
+        readReceiptService.flush();
+
+        verify(jdbcTemplate).query(anyString(), any(RowMapper.class), any(Object[].class));
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Test
+    @DisplayName("Should Not Touch The Database Without Pending Marks")
+    void flush_ShouldSkipWhenEmpty() {
+        readReceiptService.flush();
+
+        verifyNoInteractions(jdbcTemplate, messagingTemplate);
+    }
+}
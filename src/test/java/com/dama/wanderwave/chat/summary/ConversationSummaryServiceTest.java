@@ -0,0 +1,133 @@
+package com.dama.wanderwave.chat.summary;
+
+import com.dama.wanderwave.message.ChatMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConversationSummaryService Tests")
+class ConversationSummaryServiceTest {
+
+    private static final LocalDateTime SENT_AT = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Mock
+    private ConversationSummaryRepository repository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ConversationSummaryService conversationSummaryService;
+
+    private ChatMessage message(String id, String senderId, String recipientId, String content, int minutes) {
+        return ChatMessage.builder()
+                .id(id)
+                .senderId(senderId)
+                .recipientId(recipientId)
+                .content(content)
+                .createdAt(SENT_AT.plusMinutes(minutes))
+                .build();
+    }
+
+    private ChatMessage message(String senderId, String recipientId, String content) {
+        return message("messageId", senderId, recipientId, content, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ConversationSummaryService.Delta> writtenDeltas() {
+        ArgumentCaptor<Collection<ConversationSummaryService.Delta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate).batchUpdate(eq(ConversationSummaryService.RECORD_MESSAGE_SQL), captor.capture(), anyInt(), any());
+        return List.copyOf(captor.getValue());
+    }
+
+    private ConversationSummaryService.Delta delta(String userId, String partnerId, String messageId, String preview,
+                                                   int minutes, int unread) {
+        return new ConversationSummaryService.Delta(new ConversationSummaryService.Key(userId, partnerId),
+                messageId, preview, SENT_AT.plusMinutes(minutes), unread);
+    }
+
+    @Nested
+    @DisplayName("recordMessages Method With A Single Message")
+    class RecordSingleMessageTests {
+
+        @Test
+        @DisplayName("Should Update Both Sides And Count Unread Only For Recipient")
+        void recordMessage_ShouldUpdateBothSides() {
+            conversationSummaryService.recordMessages(List.of(message("alice", "bob", "Hello")));
+
+            assertThat(writtenDeltas()).containsExactly(
+                    delta("alice", "bob", "messageId", "Hello", 0, 0),
+                    delta("bob", "alice", "messageId", "Hello", 0, 1));
+        }
+
+        @Test
+        @DisplayName("Should Update A Single Row For A Message To Oneself")
+        void recordMessage_ShouldHandleSelfMessage() {
+            conversationSummaryService.recordMessages(List.of(message("alice", "alice", "Note")));
+
+            assertThat(writtenDeltas()).containsExactly(delta("alice", "alice", "messageId", "Note", 0, 0));
+        }
+
+        @Test
+        @DisplayName("Should Truncate Long Content To The Preview Length")
+        void recordMessage_ShouldTruncatePreview() {
+            String content = "x".repeat(ConversationSummaryService.PREVIEW_LENGTH + 10);
+
+            conversationSummaryService.recordMessages(List.of(message("alice", "bob", content)));
+
+            assertThat(writtenDeltas()).allSatisfy(delta ->
+                    assertThat(delta.preview()).hasSize(ConversationSummaryService.PREVIEW_LENGTH));
+        }
+    }
+
+    @Nested
+    @DisplayName("recordMessages Method")
+    class RecordMessagesTests {
+
+        @Test
+        @DisplayName("Should Fold A Batch Into One Row Per Summary Keeping The Newest Preview")
+        void recordMessages_ShouldFoldBatch() {
+            conversationSummaryService.recordMessages(List.of(
+                    message("m2", "bob", "alice", "Second", 2),
+                    message("m1", "alice", "bob", "First", 1),
+                    message("m3", "bob", "alice", "Third", 3),
+                    message("m4", "carol", "alice", "Hey", 0)));
+
+            assertThat(writtenDeltas()).containsExactly(
+                    delta("alice", "bob", "m3", "Third", 3, 2),
+                    delta("alice", "carol", "m4", "Hey", 0, 1),
+                    delta("bob", "alice", "m3", "Third", 3, 1),
+                    delta("carol", "alice", "m4", "Hey", 0, 0));
+        }
+
+        @Test
+        @DisplayName("Should Not Touch The Database For An Empty Batch")
+        void recordMessages_ShouldSkipEmptyBatch() {
+            conversationSummaryService.recordMessages(List.of());
+
+            verifyNoInteractions(jdbcTemplate);
+        }
+    }
+
+    @Test
+    @DisplayName("Should Keep Short Content Unchanged")
+    void preview_ShouldKeepShortContent() {
+        assertEquals("Hi", ConversationSummaryService.preview("Hi"));
+    }
+}
@@ -0,0 +1,135 @@
+package com.dama.wanderwave.comment;
+
+import com.dama.wanderwave.handler.post.PostNotFoundException;
+import com.dama.wanderwave.post.PostRepository;
+import com.dama.wanderwave.post.response.CommentResponse;
+import com.dama.wanderwave.user.response.ShortUserResponse;
+import com.dama.wanderwave.user.summary.UserSummaryCache;
+import com.dama.wanderwave.utils.Cursor;
+import com.dama.wanderwave.utils.CursorSlice;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CommentService Tests")
+class CommentServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @InjectMocks
+    private CommentService commentService;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private UserSummaryCache userSummaryCache;
+
+    @Test
+    @DisplayName("Should Keep The Database Order And Resolve Authors Once Per Page")
+    void getAllCommentsForPost_ShouldHydrateAuthorsInBatch() {
+        PageRequest pageable = PageRequest.of(0, 3);
+        when(postRepository.findCommentsDisabledById("post")).thenReturn(Optional.of(false));
+        when(commentRepository.findRowsByPostId("post", pageable)).thenReturn(new PageImpl<>(List.of(
+                row("c3", "alice", NOW),
+                row("c2", "bob", NOW.minusMinutes(1)),
+                row("c1", "alice", NOW.minusMinutes(2))), pageable, 10));
+        when(userSummaryCache.getAll(Set.of("alice", "bob"))).thenReturn(Map.of(
+                "alice", user("alice"),
+                "bob", user("bob")));
+
+        Page<CommentResponse> page = commentService.getAllCommentsForPost(pageable, "post");
+
+        assertEquals(List.of("c3", "c2", "c1"), page.getContent().stream().map(CommentResponse::getId).toList());
+        assertEquals("alice-nick", page.getContent().getFirst().getAccountInfo().getNickname());
+        assertEquals("bob-avatar", page.getContent().get(1).getAccountInfo().getImageUrl());
+        assertEquals("text-c3", page.getContent().getFirst().getText());
+        assertEquals(10, page.getTotalElements());
+        verify(userSummaryCache, times(1)).getAll(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should Return A Cursor Slice And Leave Unknown Authors Empty")
+    void getAllCommentsForPost_ShouldSliceByCursor() {
+        Cursor cursor = new Cursor(NOW, "c9");
+        when(postRepository.findCommentsDisabledById("post")).thenReturn(Optional.of(false));
+        when(commentRepository.findRowsByPostIdBefore("post", NOW, "c9", CursorSlice.limit(1))).thenReturn(List.of(
+                row("c8", "ghost", NOW.minusMinutes(1)),
+                row("c7", "alice", NOW.minusMinutes(2))));
+        when(userSummaryCache.getAll(Set.of("ghost"))).thenReturn(Map.of());
+
+        CursorSlice<CommentResponse> slice = commentService.getAllCommentsForPost(cursor, 1, "post");
+
+        assertEquals(1, slice.content().size());
+        assertEquals("c8", slice.content().getFirst().getId());
+        assertNull(slice.content().getFirst().getAccountInfo());
+        assertTrue(slice.hasNext());
+        assertEquals(new Cursor(NOW.minusMinutes(1), "c8"), Cursor.decode(slice.nextCursor()));
+    }
+
+    @Test
+    @DisplayName("Should Not Read Comments Of A Post With Comments Disabled")
+    void getAllCommentsForPost_ShouldRejectDisabledComments() {
+        when(postRepository.findCommentsDisabledById("post")).thenReturn(Optional.of(true));
+
+        assertThrows(RuntimeException.class, () -> commentService.getAllCommentsForPost(PageRequest.of(0, 3), "post"));
+        verifyNoInteractions(commentRepository, userSummaryCache);
+    }
+
+    @Test
+    @DisplayName("Should Throw PostNotFoundException For A Missing Post")
+    void getAllCommentsForPost_ShouldRejectMissingPost() {
+        when(postRepository.findCommentsDisabledById("post")).thenReturn(Optional.empty());
+
+        assertThrows(PostNotFoundException.class, () -> commentService.getAllCommentsForPost(PageRequest.of(0, 3), "post"));
+        verifyNoInteractions(commentRepository);
+    }
+
+    private static CommentRow row(String id, String userId, LocalDateTime createdAt) {
+        return new CommentRow() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return createdAt;
+            }
+
+            @Override
+            public String getContent() {
+                return "text-" + id;
+            }
+
+            @Override
+            public String getUserId() {
+                return userId;
+            }
+        };
+    }
+
+    private static ShortUserResponse user(String id) {
+        return new ShortUserResponse(id, id + "-nick", id + "@mail.com", id + "-avatar");
+    }
+}
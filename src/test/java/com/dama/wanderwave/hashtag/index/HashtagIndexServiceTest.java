@@ -0,0 +1,139 @@
+package com.dama.wanderwave.hashtag.index;
+
+import com.dama.wanderwave.hashtag.HashTagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HashtagIndexService Tests")
+class HashtagIndexServiceTest {
+
+    @InjectMocks
+    private HashtagIndexService hashtagIndexService;
+
+    @Mock
+    private HashTagRepository hashTagRepository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(hashtagIndexService, "postsPerHashtag", 3);
+        ReflectionTestUtils.setField(hashtagIndexService, "seedPosts", 100);
+    }
+
+    private List<String> candidates(List<String> seeds, int limit, Set<String> exclude) {
+        return hashtagIndexService.candidatePostIds(seeds, limit, exclude::contains, new Random(1));
+    }
+
+    @Nested
+    @DisplayName("candidatePostIds Method")
+    class CandidateTests {
+
+        @Test
+        @DisplayName("Should Return Posts Of Seed Hashtags Without Excluded Ones")
+        void candidates_ShouldUseSeedHashtags() {
+            hashtagIndexService.postCreated("p1", List.of("sea"));
+            hashtagIndexService.postCreated("p2", List.of("sea"));
+            hashtagIndexService.postCreated("p3", List.of("city"));
+
+            List<String> result = candidates(List.of("sea"), 10, Set.of("p2"));
+
+            assertEquals(List.of("p1"), result);
+        }
+
+        @Test
+        @DisplayName("Should Reach Posts Through Co-occurring Hashtags")
+        void candidates_ShouldFollowCooccurrence() {
+            hashtagIndexService.postCreated("p1", List.of("sea", "beach"));
+            hashtagIndexService.postCreated("p2", List.of("beach"));
+
+            List<String> result = candidates(List.of("sea"), 10, Set.of("p1"));
+
+            assertEquals(List.of("p2"), result);
+        }
+
+        @Test
+        @DisplayName("Should Keep Only The Most Recent Posts Per Hashtag")
+        void candidates_ShouldBeBounded() {
+            for (int i = 1; i <= 5; i++) {
+                hashtagIndexService.postCreated("p" + i, List.of("sea"));
+            }
+
+            List<String> result = candidates(List.of("sea"), 10, Set.of());
+
+            assertEquals(Set.of("p3", "p4", "p5"), Set.copyOf(result));
+        }
+
+        @Test
+        @DisplayName("Should Return Nothing For Unknown Hashtags")
+        void candidates_ShouldHandleUnknown() {
+            assertTrue(candidates(List.of("unknown"), 10, Set.of()).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Maintenance")
+    class MaintenanceTests {
+
+        @Test
+        @DisplayName("Should Move Post Between Hashtags When Modified")
+        void postModified_ShouldRelink() {
+            hashtagIndexService.postCreated("p1", List.of("sea"));
+
+            hashtagIndexService.postModified("p1", List.of("sea"), List.of("city"));
+
+            assertTrue(candidates(List.of("sea"), 10, Set.of()).isEmpty());
+            assertEquals(List.of("p1"), candidates(List.of("city"), 10, Set.of()));
+        }
+
+        @Test
+        @DisplayName("Should Forget Deleted Post And Its Co-occurrences")
+        void postDeleted_ShouldUnlink() {
+            hashtagIndexService.postCreated("p1", List.of("sea", "beach"));
+            hashtagIndexService.postCreated("p2", List.of("beach"));
+
+            hashtagIndexService.postDeleted("p1", List.of("sea", "beach"));
+
+            assertTrue(candidates(List.of("sea"), 10, Set.of()).isEmpty());
+            assertEquals(List.of("p2"), candidates(List.of("beach"), 10, Set.of()));
+        }
+
+        @Test
+        @DisplayName("Should Seed From Recent Posts")
+        void seed_ShouldLoadRows() {
+            when(hashTagRepository.findRecentPostHashtags(100)).thenReturn(List.of(
+                    row("p1", "sea"), row("p1", "beach"), row("p2", "beach")));
+
+            hashtagIndexService.seed();
+
+            assertEquals(Set.of("p1", "p2"), Set.copyOf(candidates(List.of("sea"), 10, Set.of())));
+        }
+
+        private PostHashtagRow row(String postId, String hashtagId) {
+            return new PostHashtagRow() {
+                @Override
+                public String getPostId() {
+                    return postId;
+                }
+
+                @Override
+                public String getHashtagId() {
+                    return hashtagId;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.dama.wanderwave.hashtag.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("IntCounter Tests")
+class IntCounterTest {
+
+    @Test
+    @DisplayName("Should Count, Drop Zeroes And Grow")
+    void add_ShouldCount() {
+        IntCounter counter = new IntCounter();
+
+        counter.add(7, 2);
+        counter.add(7, 1);
+        counter.add(3, 1);
+        counter.add(3, -1);
+        counter.add(9, -1);
+
+        assertEquals(3, counter.get(7));
+        assertEquals(0, counter.get(3));
+        assertEquals(0, counter.get(9));
+        assertEquals(1, counter.size());
+    }
+
+    @Test
+    @DisplayName("Should Match HashMap Under Random Updates")
+    void randomUpdates_ShouldMatchHashMap() {
+        Random random = new Random(7);
+        IntCounter counter = new IntCounter();
+        Map<Integer, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            int key = random.nextInt(300);
+            int delta = random.nextInt(5) - 2;
+            counter.add(key, delta);
+            int current = expected.getOrDefault(key, 0);
+            if (current > 0 || delta > 0) {
+                int next = current + delta;
+                if (next > 0) {
+                    expected.put(key, next);
+                } else {
+                    expected.remove(key);
+                }
+            }
+        }
+
+        assertEquals(expected.size(), counter.size());
+        for (int key = 0; key < 300; key++) {
+            assertEquals(expected.getOrDefault(key, 0), counter.get(key), "key " + key);
+        }
+        Map<Integer, Integer> visited = new HashMap<>();
+        counter.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+}
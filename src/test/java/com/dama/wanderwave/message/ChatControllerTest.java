@@ -2,9 +2,15 @@ package com.dama.wanderwave.message;
 
 import com.dama.wanderwave.chat.Chat;
 import com.dama.wanderwave.chat.ChatService;
+import com.dama.wanderwave.chat.read.MarkReadRequest;
+import com.dama.wanderwave.chat.read.ReadReceiptService;
+import com.dama.wanderwave.handler.post.PostNotFoundException;
+import com.dama.wanderwave.handler.user.UnauthorizedActionException;
 import com.dama.wanderwave.message.request.ChatMessageRequest;
 import com.dama.wanderwave.message.response.ChatMessageResponse;
 import com.dama.wanderwave.post.PostRepository;
+import com.dama.wanderwave.user.AuthenticatedUserHolder;
+import com.dama.wanderwave.websocket.StompPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,14 +21,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 
+import java.security.Principal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -33,9 +40,6 @@ class ChatControllerTest {
     @InjectMocks
     private ChatController chatController;
 
-    @Mock
-    private SimpMessagingTemplate messagingTemplate;
-
     @Mock
     private ChatMessageService chatMessageService;
 
@@ -45,6 +49,14 @@ class ChatControllerTest {
     @Mock
     private ChatService chatService;
 
+    @Mock
+    private ReadReceiptService readReceiptService;
+
+    @Mock
+    private AuthenticatedUserHolder authenticatedUserHolder;
+
+    private static final Principal SENDER = new StompPrincipal("senderId");
+
     private ChatMessage chatMessage;
     private ChatNotification chatNotification;
 
@@ -72,24 +84,74 @@ class ChatControllerTest {
     class ProcessMessageTests {
 
         @Test
-        @DisplayName("Should process and save chat message")
-        void processMessageShouldSaveAndSendNotification() {
-            when(chatMessageService.save(any(ChatMessageRequest.class))).thenReturn(chatMessage);
+        @DisplayName("Should hand chat message to the message service")
+        void processMessageShouldSendMessage() {
+            when(chatMessageService.send(any(ChatMessageRequest.class))).thenReturn(chatMessage);
+
+            chatController.processMessage(ChatMessageRequest.builder().build(), "", SENDER);
+
+            verify(chatMessageService, times(1)).send(any(ChatMessageRequest.class));
+            verifyNoInteractions(postRepository);
+        }
+
+        @Test
+        @DisplayName("Should replace content with post link if post exists")
+        void processMessageShouldLinkPost() {
+            String postId = "postId0123456789";
+            when(postRepository.existsById(postId)).thenReturn(true);
+            when(chatMessageService.send(any(ChatMessageRequest.class))).thenReturn(chatMessage);
+            ChatMessageRequest request = ChatMessageRequest.builder().build();
+
+            chatController.processMessage(request, postId, SENDER);
+
+            assertTrue(request.getContent().endsWith("/p/" + postId));
+            verify(chatMessageService).send(request);
+        }
+
+        @Test
+        @DisplayName("Should throw exception and send nothing if post does not exist")
+        void processMessageShouldThrowIfPostIsMissing() {
+            String postId = "postId0123456789";
+            when(postRepository.existsById(postId)).thenReturn(false);
+
+            assertThrows(PostNotFoundException.class,
+                    () -> chatController.processMessage(ChatMessageRequest.builder().build(), postId, SENDER));
+            verifyNoInteractions(chatMessageService);
+        }
+
+        @Test
+        @DisplayName("Should send as the session user when no sender is given")
+        void processMessageShouldUseSessionUser() {
+            when(chatMessageService.send(any(ChatMessageRequest.class))).thenReturn(chatMessage);
+            ChatMessageRequest request = ChatMessageRequest.builder().recipientId("recipientId").build();
+
+            chatController.processMessage(request, "", SENDER);
+
+            assertEquals("senderId", request.getSenderId());
+            verify(chatMessageService).send(request);
+        }
+
+        @Test
+        @DisplayName("Should reject a message claiming another sender")
+        void processMessageShouldRejectForeignSender() {
+            ChatMessageRequest request = ChatMessageRequest.builder().senderId("mallory").recipientId("recipientId").build();
 
-            chatController.processMessage(ChatMessageRequest.builder().build(), "");
+            assertThrows(UnauthorizedActionException.class, () -> chatController.processMessage(request, "", SENDER));
+            verifyNoInteractions(chatMessageService, postRepository);
+        }
 
-            verify(chatMessageService, times(1)).save(any(ChatMessageRequest.class));
-            verify(messagingTemplate, times(1)).convertAndSendToUser(
-                    isNull(),
-                    anyString(),
-                    any(ChatNotification.class)
-            );
+        @Test
+        @DisplayName("Should reject a message from an unauthenticated session")
+        void processMessageShouldRejectAnonymousSession() {
+            assertThrows(UnauthorizedActionException.class,
+                    () -> chatController.processMessage(ChatMessageRequest.builder().build(), "", null));
+            verifyNoInteractions(chatMessageService);
         }
 
         @Test
-        @DisplayName("Should throw exception if saving message fails")
-        void processMessageShouldThrowExceptionIfSaveFails() {
-            assertThrows(RuntimeException.class, () -> chatController.processMessage(ChatMessageRequest.builder().build(), ""));
+        @DisplayName("Should throw exception if sending message fails")
+        void processMessageShouldThrowExceptionIfSendFails() {
+            assertThrows(RuntimeException.class, () -> chatController.processMessage(ChatMessageRequest.builder().build(), "", SENDER));
         }
     }
 
@@ -102,9 +164,9 @@ class ChatControllerTest {
         void findChatMessagesShouldReturnMessages() {
             List<ChatMessageResponse> chatMessages = Collections.singletonList(chatMessage)
                     .stream().map(m -> chatMessageService.fromChatMessage(m)).toList();
-            when(chatMessageService.findChatMessages("senderId", "recipientId")).thenReturn(chatMessages);
+            when(chatMessageService.findChatMessages("senderId", "recipientId", 50)).thenReturn(chatMessages);
 
-            ResponseEntity<List<ChatMessageResponse>> response = chatController.findChatMessages("senderId", "recipientId");
+            ResponseEntity<List<ChatMessageResponse>> response = chatController.findChatMessages("senderId", "recipientId", 50);
 
             assertEquals(200, response.getStatusCode().value());
             assertEquals(chatMessages, response.getBody());
@@ -113,9 +175,9 @@ class ChatControllerTest {
         @Test
         @DisplayName("Should return empty list if no messages found")
         void findChatMessagesShouldReturnEmptyList() {
-            when(chatMessageService.findChatMessages("senderId", "recipientId")).thenReturn(Collections.emptyList());
+            when(chatMessageService.findChatMessages("senderId", "recipientId", 50)).thenReturn(Collections.emptyList());
 
-            ResponseEntity<List<ChatMessageResponse>> response = chatController.findChatMessages("senderId", "recipientId");
+            ResponseEntity<List<ChatMessageResponse>> response = chatController.findChatMessages("senderId", "recipientId", 50);
 
             assertEquals(200, response.getStatusCode().value());
             assertEquals(Collections.emptyList(), response.getBody());
@@ -124,9 +186,32 @@ class ChatControllerTest {
         @Test
         @DisplayName("Should throw exception if finding messages fails")
         void findChatMessagesShouldThrowExceptionIfFindFails() {
-            when(chatMessageService.findChatMessages("senderId", "recipientId")).thenThrow(new RuntimeException("Find failed"));
+            when(chatMessageService.findChatMessages("senderId", "recipientId", 50)).thenThrow(new RuntimeException("Find failed"));
+
+            assertThrows(RuntimeException.class, () -> chatController.findChatMessages("senderId", "recipientId", 50));
+        }
+
+        @Test
+        @DisplayName("Should cap page size of the newest messages")
+        void findChatMessagesShouldCapSize() {
+            when(chatMessageService.findChatMessages("senderId", "recipientId", 100)).thenReturn(Collections.emptyList());
+
+            chatController.findChatMessages("senderId", "recipientId", 10_000);
 
-            assertThrows(RuntimeException.class, () -> chatController.findChatMessages("senderId", "recipientId"));
+            verify(chatMessageService).findChatMessages("senderId", "recipientId", 100);
+        }
+
+        @Test
+        @DisplayName("Should cap page size of messages before a message")
+        void findChatMessagesBeforeShouldCapSize() {
+            when(chatMessageService.findChatMessagesBefore("senderId", "recipientId", "messageId", 100))
+                    .thenReturn(Collections.emptyList());
+
+            ResponseEntity<List<ChatMessageResponse>> response =
+                    chatController.findChatMessagesBefore("senderId", "recipientId", "messageId", 1000);
+
+            assertEquals(200, response.getStatusCode().value());
+            verify(chatMessageService).findChatMessagesBefore("senderId", "recipientId", "messageId", 100);
         }
     }
 
@@ -159,4 +244,29 @@ class ChatControllerTest {
             assertThrows(RuntimeException.class, () -> chatController.changeMuteState(senderId, recipientId, muteState));
         }
     }
+
+    @Nested
+    @DisplayName("markRead Method")
+    class MarkReadTests {
+
+        @Test
+        @DisplayName("Should accept read mark of the authenticated user")
+        void markReadShouldAcceptHttpMark() {
+            when(authenticatedUserHolder.getId()).thenReturn("userId");
+
+            ResponseEntity<Void> response = chatController.markRead("chatId", "messageId");
+
+            assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+            verify(readReceiptService).markRead("userId", "chatId", "messageId");
+        }
+
+        @Test
+        @DisplayName("Should take reader from the STOMP session principal")
+        void markReadShouldUseSessionPrincipal() {
+            chatController.markRead(new MarkReadRequest("chatId", "messageId"), new StompPrincipal("userId"));
+
+            verify(readReceiptService).markRead("userId", "chatId", "messageId");
+            verifyNoInteractions(authenticatedUserHolder);
+        }
+    }
 }
@@ -0,0 +1,287 @@
+package com.dama.wanderwave.message;
+
+import com.dama.wanderwave.chat.Chat;
+import com.dama.wanderwave.chat.ChatService;
+import com.dama.wanderwave.handler.chat.ChatMessageNotFoundException;
+import com.dama.wanderwave.handler.chat.ChatRoomNotFoundException;
+import com.dama.wanderwave.handler.chat.ChatUnavailableException;
+import com.dama.wanderwave.hash.HashUUIDGenerator;
+import com.dama.wanderwave.message.request.ChatMessageRequest;
+import com.dama.wanderwave.message.response.ChatMessageResponse;
+import com.dama.wanderwave.message.writer.ChatMessageWriter;
+import com.dama.wanderwave.user.presence.PresenceService;
+import com.dama.wanderwave.utils.Cursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChatMessageService Tests")
+class ChatMessageServiceTest {
+
+    private static final LocalDateTime ANCHOR_TIME = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @InjectMocks
+    private ChatMessageService chatMessageService;
+
+    @Mock
+    private ChatMessageRepository repository;
+
+    @Mock
+    private ChatService chatService;
+
+    @Mock
+    private ChatMessageWriter chatMessageWriter;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private HashUUIDGenerator hashUUIDGenerator;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private PresenceService presenceService;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private ChatMessage message(String id, int minutes) {
+        Chat chat = new Chat();
+        chat.setId("chatId");
+        return ChatMessage.builder()
+                .id(id)
+                .chat(chat)
+                .senderId("senderId")
+                .recipientId("recipientId")
+                .content("Hello")
+                .createdAt(ANCHOR_TIME.plusMinutes(minutes))
+                .build();
+    }
+
+    private List<String> ids(List<ChatMessageResponse> responses) {
+        return responses.stream().map(ChatMessageResponse::getId).toList();
+    }
+
+    @Nested
+    @DisplayName("send Method")
+    class SendTests {
+
+        @Test
+        @DisplayName("Should queue the message for storage before delivering it")
+        void sendShouldQueueThenDeliver() {
+            chatMessageService.registerMetrics();
+            when(chatService.resolveChatId("senderId", "recipientId")).thenReturn("chatId");
+            when(hashUUIDGenerator.encodeString(anyString())).thenReturn("messageId");
+            when(presenceService.isOnline("recipientId")).thenReturn(true);
+
+            ChatMessageRequest request = new ChatMessageRequest();
+            request.setSenderId("senderId");
+            request.setRecipientId("recipientId");
+            request.setContent("Hello");
+
+            ChatMessage sent = chatMessageService.send(request);
+
+            assertThat(sent.getId()).isEqualTo("messageId");
+            assertThat(sent.getChat().getId()).isEqualTo("chatId");
+            assertThat(sent.getCreatedAt()).isNotNull();
+
+            ArgumentCaptor<ChatNotification> notification = ArgumentCaptor.forClass(ChatNotification.class);
+            InOrder inOrder = inOrder(messagingTemplate, chatMessageWriter);
+            inOrder.verify(chatMessageWriter).append(sent);
+            inOrder.verify(messagingTemplate).convertAndSendToUser(eq("recipientId"), eq(ChatMessageService.MESSAGES_DESTINATION), notification.capture());
+            assertThat(notification.getValue().getId()).isEqualTo("messageId");
+            assertThat(notification.getValue().getCreatedAt()).isEqualTo(sent.getCreatedAt());
+
+            assertThat(meterRegistry.get("chat.messages.delivery").timer().count()).isEqualTo(1);
+            verifyNoInteractions(repository);
+        }
+
+        @Test
+        @DisplayName("Should only queue the message when the recipient is offline")
+        void sendShouldSkipPushForOfflineRecipient() {
+            chatMessageService.registerMetrics();
+            when(chatService.resolveChatId("senderId", "recipientId")).thenReturn("chatId");
+            when(hashUUIDGenerator.encodeString(anyString())).thenReturn("messageId");
+            when(presenceService.isOnline("recipientId")).thenReturn(false);
+
+            ChatMessageRequest request = new ChatMessageRequest();
+            request.setSenderId("senderId");
+            request.setRecipientId("recipientId");
+            request.setContent("Hello");
+
+            ChatMessage sent = chatMessageService.send(request);
+
+            verifyNoInteractions(messagingTemplate);
+            verify(chatMessageWriter).append(sent);
+        }
+
+        @ParameterizedTest
+        @NullAndEmptySource
+        @ValueSource(strings = {"   "})
+        @DisplayName("Should reject blank content before queueing or delivering anything")
+        void sendShouldRejectBlankContent(String content) {
+            ChatMessageRequest request = new ChatMessageRequest();
+            request.setSenderId("senderId");
+            request.setRecipientId("recipientId");
+            request.setContent(content);
+
+            assertThatThrownBy(() -> chatMessageService.send(request)).isInstanceOf(ConstraintViolationException.class);
+            verifyNoInteractions(chatService, chatMessageWriter, messagingTemplate);
+        }
+
+        @Test
+        @DisplayName("Should reject content longer than the stored column")
+        void sendShouldRejectOversizedContent() {
+            ChatMessageRequest request = new ChatMessageRequest();
+            request.setSenderId("senderId");
+            request.setRecipientId("recipientId");
+            request.setContent("x".repeat(1025));
+
+            assertThatThrownBy(() -> chatMessageService.send(request)).isInstanceOf(ConstraintViolationException.class);
+            verifyNoInteractions(chatService, chatMessageWriter, messagingTemplate);
+        }
+
+        @Test
+        @DisplayName("Should not deliver a message the writer refused")
+        void sendShouldNotDeliverWhenQueueingFails() {
+            when(chatService.resolveChatId("senderId", "recipientId")).thenReturn("chatId");
+            doThrow(new ChatUnavailableException("Chat is temporarily unavailable, please try again"))
+                    .when(chatMessageWriter).append(any(ChatMessage.class));
+
+            ChatMessageRequest request = new ChatMessageRequest();
+            request.setSenderId("senderId");
+            request.setRecipientId("recipientId");
+            request.setContent("Hello");
+
+            assertThatThrownBy(() -> chatMessageService.send(request)).isInstanceOf(ChatUnavailableException.class);
+            verifyNoInteractions(messagingTemplate);
+        }
+    }
+
+    @Nested
+    @DisplayName("findChatMessages Method")
+    class FindChatMessagesTests {
+
+        @Test
+        @DisplayName("Should return a bounded page of the newest messages in database order")
+        void findChatMessagesShouldKeepDatabaseOrder() {
+            when(chatService.findChatId("senderId", "recipientId")).thenReturn(Optional.of("chatId"));
+            when(repository.findByChatIdBefore("chatId", Cursor.FIRST.createdAt(), Cursor.FIRST.id(), PageRequest.of(0, 2)))
+                    .thenReturn(List.of(message("b", 2), message("a", 1)));
+
+            assertThat(ids(chatMessageService.findChatMessages("senderId", "recipientId", 2))).containsExactly("b", "a");
+        }
+
+        @Test
+        @DisplayName("Should return empty list if chat does not exist")
+        void findChatMessagesShouldReturnEmptyWithoutChat() {
+            when(chatService.findChatId("senderId", "recipientId")).thenReturn(Optional.empty());
+
+            assertThat(chatMessageService.findChatMessages("senderId", "recipientId", 2)).isEmpty();
+            verifyNoInteractions(repository);
+        }
+    }
+
+    @Nested
+    @DisplayName("findChatMessagesBefore and findChatMessagesAfter Methods")
+    class FindChatMessagesAroundTests {
+
+        @Test
+        @DisplayName("Should page older messages from the anchor message")
+        void findChatMessagesBeforeShouldQueryFromAnchor() {
+            when(chatService.findChatId("senderId", "recipientId")).thenReturn(Optional.of("chatId"));
+            when(repository.findCreatedAtByIdAndChatId("anchor", "chatId")).thenReturn(Optional.of(ANCHOR_TIME));
+            when(repository.findByChatIdBefore("chatId", ANCHOR_TIME, "anchor", PageRequest.of(0, 2)))
+                    .thenReturn(List.of(message("b", -1), message("a", -2)));
+
+            assertThat(ids(chatMessageService.findChatMessagesBefore("senderId", "recipientId", "anchor", 2)))
+                    .containsExactly("b", "a");
+        }
+
+        @Test
+        @DisplayName("Should return newer messages newest first")
+        void findChatMessagesAfterShouldReturnNewestFirst() {
+            when(chatService.findChatId("senderId", "recipientId")).thenReturn(Optional.of("chatId"));
+            when(repository.findCreatedAtByIdAndChatId("anchor", "chatId")).thenReturn(Optional.of(ANCHOR_TIME));
+            when(repository.findByChatIdAfter("chatId", ANCHOR_TIME, "anchor", PageRequest.of(0, 2)))
+                    .thenReturn(List.of(message("c", 1), message("d", 2)));
+
+            assertThat(ids(chatMessageService.findChatMessagesAfter("senderId", "recipientId", "anchor", 2)))
+                    .containsExactly("d", "c");
+        }
+
+        @Test
+        @DisplayName("Should page from an anchor that is delivered but not stored yet")
+        void findChatMessagesAfterShouldResolveQueuedAnchor() {
+            when(chatService.findChatId("senderId", "recipientId")).thenReturn(Optional.of("chatId"));
+            when(repository.findCreatedAtByIdAndChatId("anchor", "chatId")).thenReturn(Optional.empty());
+            when(chatMessageWriter.findUnstored("anchor", "chatId")).thenReturn(Optional.of(message("anchor", 0)));
+            when(repository.findByChatIdAfter("chatId", ANCHOR_TIME, "anchor", PageRequest.of(0, 2))).thenReturn(List.of());
+
+            assertThat(chatMessageService.findChatMessagesAfter("senderId", "recipientId", "anchor", 2)).isEmpty();
+            verify(repository, times(1)).findCreatedAtByIdAndChatId("anchor", "chatId");
+        }
+
+        @Test
+        @DisplayName("Should look the anchor up again once the batch storing it is done")
+        void findChatMessagesBeforeShouldRetryAnchorAfterBatch() {
+            when(chatService.findChatId("senderId", "recipientId")).thenReturn(Optional.of("chatId"));
+            when(repository.findCreatedAtByIdAndChatId("anchor", "chatId"))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(ANCHOR_TIME));
+            when(repository.findByChatIdBefore("chatId", ANCHOR_TIME, "anchor", PageRequest.of(0, 2))).thenReturn(List.of(message("a", -1)));
+
+            assertThat(ids(chatMessageService.findChatMessagesBefore("senderId", "recipientId", "anchor", 2))).containsExactly("a");
+            verify(chatMessageWriter).findUnstored("anchor", "chatId");
+        }
+
+        @Test
+        @DisplayName("Should throw ChatMessageNotFoundException if anchor is not in the chat")
+        void findChatMessagesBeforeShouldThrowForUnknownAnchor() {
+            when(chatService.findChatId("senderId", "recipientId")).thenReturn(Optional.of("chatId"));
+            when(repository.findCreatedAtByIdAndChatId("anchor", "chatId")).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> chatMessageService.findChatMessagesBefore("senderId", "recipientId", "anchor", 2))
+                    .isInstanceOf(ChatMessageNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Should throw ChatRoomNotFoundException if chat does not exist")
+        void findChatMessagesAfterShouldThrowWithoutChat() {
+            when(chatService.findChatId("senderId", "recipientId")).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> chatMessageService.findChatMessagesAfter("senderId", "recipientId", "anchor", 2))
+                    .isInstanceOf(ChatRoomNotFoundException.class);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.dama.wanderwave.message.writer;
+
+import com.dama.wanderwave.chat.Chat;
+import com.dama.wanderwave.chat.summary.ConversationSummaryService;
+import com.dama.wanderwave.handler.chat.ChatUnavailableException;
+import com.dama.wanderwave.message.ChatMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChatMessageWriter Tests")
+class ChatMessageWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ConversationSummaryService conversationSummaryService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChatMessageWriter writer;
+
+    private final List<String> stored = new CopyOnWriteArrayList<>();
+    private final List<Integer> batches = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new ChatMessageWriter(jdbcTemplate, transactionManager, conversationSummaryService, meterRegistry);
+        ReflectionTestUtils.setField(writer, "capacity", 64);
+        ReflectionTestUtils.setField(writer, "batchSize", 16);
+        ReflectionTestUtils.setField(writer, "maxDelayMs", 5L);
+        ReflectionTestUtils.setField(writer, "synchronousCommit", true);
+        ReflectionTestUtils.setField(writer, "retryDelayMs", 1L);
+        ReflectionTestUtils.setField(writer, "maxRetries", 3);
+        ReflectionTestUtils.setField(writer, "enqueueTimeoutMs", 1_000L);
+        ReflectionTestUtils.setField(writer, "shutdownTimeoutMs", 10_000L);
+
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    private ChatMessage message(String id) {
+        return message(id, "chatId");
+    }
+
+    private ChatMessage message(String id, String chatId) {
+        return ChatMessage.builder()
+                .id(id)
+                .chat(Chat.builder().id(chatId).build())
+                .senderId("alice")
+                .recipientId("bob")
+                .content("Hello " + id)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void stubInsert(long delayMs) {
+        when(jdbcTemplate.batchUpdate(eq(ChatMessageWriter.INSERT_SQL), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+            Collection<ChatMessage> batch = invocation.getArgument(1);
+            if (batch.stream().anyMatch(message -> message.getId().startsWith("bad"))) {
+                throw new DataIntegrityViolationException("fk_message_chat");
+            }
+            if (delayMs > 0) {
+                Thread.sleep(delayMs);
+            }
+            batch.forEach(message -> stored.add(message.getId()));
+            batches.add(batch.size());
+            return new int[0][];
+        });
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should Store Every Appended Message Exactly Once On Graceful Shutdown")
+    void stop_ShouldNotLoseMessages() throws InterruptedException {
+        stubInsert(2);
+        writer.init();
+        writer.start();
+
+        List<Thread> producers = IntStream.range(0, 4)
+                .mapToObj(producer -> new Thread(() -> IntStream.range(0, 500)
+                        .forEach(i -> writer.append(message(producer + "-" + i)))))
+                .toList();
+        producers.forEach(Thread::start);
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        writer.stop();
+
+        assertEquals(2000, stored.size());
+        assertEquals(2000, new HashSet<>(stored).size());
+        assertEquals(0, writer.queued());
+        assertEquals(2000, counter("chat.messages.persisted"));
+        assertTrue(batches.stream().allMatch(size -> size <= 16));
+        verify(conversationSummaryService, times(batches.size())).recordMessages(anyList());
+    }
+
+    @Test
+    @DisplayName("Should Group Messages Arriving Within The Delay Into One Batch")
+    void append_ShouldGroupMessages() {
+        stubInsert(0);
+        ReflectionTestUtils.setField(writer, "batchSize", 50);
+        ReflectionTestUtils.setField(writer, "maxDelayMs", 1_000L);
+        writer.init();
+        writer.start();
+
+        IntStream.range(0, 120).forEach(i -> writer.append(message("m" + i)));
+        writer.stop();
+
+        assertEquals(120, stored.size());
+        assertTrue(batches.size() <= 3, "expected at most 3 batches but got " + batches);
+        assertTrue(batches.stream().allMatch(size -> size <= 50));
+    }
+
+    @Test
+    @DisplayName("Should Retry A Batch After A Transient Failure")
+    void append_ShouldRetryTransientFailure() {
+        AtomicBoolean failed = new AtomicBoolean();
+        when(jdbcTemplate.batchUpdate(eq(ChatMessageWriter.INSERT_SQL), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+            if (failed.compareAndSet(false, true)) {
+                throw new QueryTimeoutException("timeout");
+            }
+            Collection<ChatMessage> batch = invocation.getArgument(1);
+            batch.forEach(message -> stored.add(message.getId()));
+            return new int[0][];
+        });
+        writer.init();
+        writer.start();
+
+        writer.append(message("m1"));
+        writer.stop();
+
+        assertEquals(List.of("m1"), stored);
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should Keep Writing After An Unexpected Failure")
+    void append_ShouldSurviveUnexpectedFailure() {
+        stubInsert(0);
+        doThrow(new IllegalStateException("boom")).doNothing().when(conversationSummaryService).recordMessages(anyList());
+        writer.init();
+        writer.start();
+
+        writer.append(message("m1"));
+        writer.stop();
+
+        verify(transactionManager).rollback(any());
+        verify(conversationSummaryService, times(2)).recordMessages(anyList());
+        assertEquals(1, counter("chat.messages.persisted"));
+        assertEquals(0, counter("chat.messages.dropped"));
+    }
+
+    @Test
+    @DisplayName("Should Store A Persistently Failing Batch One By One And Drop Only What Still Fails")
+    void append_ShouldSplitAfterMaxRetries() {
+        when(jdbcTemplate.batchUpdate(eq(ChatMessageWriter.INSERT_SQL), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+            Collection<ChatMessage> batch = invocation.getArgument(1);
+            if (batch.stream().anyMatch(message -> message.getId().startsWith("poison"))) {
+                throw new QueryTimeoutException("statement timeout");
+            }
+            batch.forEach(message -> stored.add(message.getId()));
+            return new int[0][];
+        });
+        ReflectionTestUtils.setField(writer, "maxDelayMs", 100L);
+        writer.init();
+        writer.start();
+
+        writer.append(message("good"));
+        writer.append(message("poison"));
+        writer.stop();
+        writer.start();
+        writer.append(message("after"));
+        writer.stop();
+
+        assertEquals(List.of("good", "after"), stored);
+        assertEquals(1, counter("chat.messages.dropped"));
+        assertEquals(2, counter("chat.messages.persisted"));
+    }
+
+    @Test
+    @DisplayName("Should Fail The Send Instead Of Blocking When The Queue Stays Full")
+    void append_ShouldRejectWhenQueueStaysFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(eq(ChatMessageWriter.INSERT_SQL), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+            release.await();
+            return new int[0][];
+        });
+        ReflectionTestUtils.setField(writer, "capacity", 1);
+        ReflectionTestUtils.setField(writer, "batchSize", 1);
+        ReflectionTestUtils.setField(writer, "enqueueTimeoutMs", 50L);
+        writer.init();
+        writer.start();
+
+        writer.append(message("m1"));
+        while (writer.queued() > 0) {
+            Thread.sleep(1);
+        }
+        writer.append(message("m2"));
+
+        assertThrows(ChatUnavailableException.class, () -> writer.append(message("m3")));
+        assertEquals(1, counter("chat.messages.rejected"));
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should Discard The Queued Messages Of A Cleared Chat After The Batch In Flight")
+    void discard_ShouldRemovePendingMessagesOfChat() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(eq(ChatMessageWriter.INSERT_SQL), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+            Collection<ChatMessage> batch = invocation.getArgument(1);
+            writing.countDown();
+            release.await();
+            batch.forEach(message -> stored.add(message.getId()));
+            return new int[0][];
+        });
+        ReflectionTestUtils.setField(writer, "batchSize", 1);
+        writer.init();
+        writer.start();
+
+        writer.append(message("inFlight", "cleared"));
+        writing.await();
+        writer.append(message("pending1", "cleared"));
+        writer.append(message("other", "kept"));
+        writer.append(message("pending2", "cleared"));
+
+        AtomicInteger discarded = new AtomicInteger(-1);
+        Thread clearing = new Thread(() -> discarded.set(writer.discard("cleared")));
+        clearing.start();
+        clearing.join(50);
+        assertTrue(clearing.isAlive(), "discard should wait for the batch in flight");
+        release.countDown();
+        clearing.join();
+        writer.stop();
+
+        assertEquals(2, discarded.get());
+        assertEquals(List.of("inFlight", "other"), stored);
+        assertEquals(2, counter("chat.messages.dropped"));
+    }
+
+    @Test
+    @DisplayName("Should Find A Queued Message And Wait For The Batch In Flight Otherwise")
+    void findUnstored_ShouldFindQueuedMessage() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.batchUpdate(eq(ChatMessageWriter.INSERT_SQL), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+            Collection<ChatMessage> batch = invocation.getArgument(1);
+            writing.countDown();
+            release.await();
+            batch.forEach(message -> stored.add(message.getId()));
+            return new int[0][];
+        });
+        ReflectionTestUtils.setField(writer, "batchSize", 1);
+        writer.init();
+        writer.start();
+
+        writer.append(message("inFlight"));
+        writing.await();
+        ChatMessage queued = message("queued");
+        writer.append(queued);
+
+        assertEquals(Optional.of(queued), writer.findUnstored("queued", "chatId"));
+
+        AtomicBoolean returned = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            writer.findUnstored("inFlight", "chatId");
+            returned.set(stored.contains("inFlight"));
+        });
+        reader.start();
+        reader.join(50);
+        assertTrue(reader.isAlive(), "findUnstored should wait for the batch in flight");
+        release.countDown();
+        reader.join();
+
+        assertTrue(returned.get());
+        assertEquals(Optional.empty(), writer.findUnstored("queued", "otherChat"));
+    }
+
+    @Test
+    @DisplayName("Should Store The Rest Of A Batch And Drop Messages The Database Rejects")
+    void append_ShouldDropRejectedMessages() {
+        stubInsert(0);
+        ReflectionTestUtils.setField(writer, "maxDelayMs", 100L);
+        writer.init();
+        writer.start();
+
+        writer.append(message("good"));
+        writer.append(message("bad"));
+        writer.stop();
+
+        assertEquals(List.of("good"), stored);
+        assertEquals(1, counter("chat.messages.dropped"));
+        assertEquals(1, counter("chat.messages.persisted"));
+    }
+
+    @Test
+    @DisplayName("Should Store Directly With Asynchronous Commit When The Writer Is Not Running")
+    void append_ShouldStoreDirectlyWhenStopped() {
+        stubInsert(0);
+        ReflectionTestUtils.setField(writer, "synchronousCommit", false);
+        writer.init();
+
+        ChatMessage message = message("m1");
+        writer.append(message);
+
+        assertEquals(List.of("m1"), stored);
+        verify(jdbcTemplate).execute("SET LOCAL synchronous_commit TO off");
+        verify(conversationSummaryService).recordMessages(List.of(message));
+        verify(transactionManager).commit(any());
+    }
+}
@@ -0,0 +1,65 @@
+package com.dama.wanderwave.notification;
+
+import com.dama.wanderwave.notification.unread.UnreadNotificationCounter;
+import com.dama.wanderwave.user.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationService Tests")
+class NotificationServiceTest {
+
+    @InjectMocks
+    private NotificationService notificationService;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    private Notification notification(boolean read) {
+        User recipient = new User();
+        recipient.setId("bob");
+        return Notification.builder()
+                .id("n1")
+                .recipient(recipient)
+                .isRead(read)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should Lower The Unread Count When The Update Changed The Row")
+    void markNotificationAsRead_ShouldDecrementOnChange() {
+        when(notificationRepository.findById("n1")).thenReturn(Optional.of(notification(false)));
+        when(notificationRepository.markAsReadById("n1")).thenReturn(1);
+
+        Notification marked = notificationService.markNotificationAsRead("n1");
+
+        assertTrue(marked.isRead());
+        verify(unreadNotificationCounter).decrement("bob");
+        verify(notificationRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should Leave The Unread Count When Another Call Already Marked The Row")
+    void markNotificationAsRead_ShouldNotDecrementTwice() {
+        when(notificationRepository.findById("n1")).thenReturn(Optional.of(notification(false)));
+        when(notificationRepository.markAsReadById("n1")).thenReturn(0);
+
+        Notification marked = notificationService.markNotificationAsRead("n1");
+
+        assertTrue(marked.isRead());
+        verifyNoInteractions(unreadNotificationCounter);
+    }
+}
@@ -0,0 +1,343 @@
+package com.dama.wanderwave.notification.pipeline;
+
+import com.dama.wanderwave.hash.HashUUIDGenerator;
+import com.dama.wanderwave.notification.Notification;
+import com.dama.wanderwave.notification.push.NotificationPushCoalescer;
+import com.dama.wanderwave.notification.response.NotificationResponse;
+import com.dama.wanderwave.notification.unread.UnreadNotificationCounter;
+import com.dama.wanderwave.user.presence.PresenceService;
+import com.dama.wanderwave.user.response.ShortUserResponse;
+import com.dama.wanderwave.user.summary.UserSummaryCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationPipeline Tests")
+class NotificationPipelineTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 5, 1, 12, 0);
+    private static final ShortUserResponse ALICE = new ShortUserResponse("alice", "Alice", "alice@mail.com", "alice.png");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private HashUUIDGenerator hashUUIDGenerator;
+    @Mock
+    private PresenceService presenceService;
+    @Mock
+    private UserSummaryCache userSummaryCache;
+    @Mock
+    private NotificationPushCoalescer notificationPushCoalescer;
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationPipeline pipeline;
+
+    /**
+     * Aggregated rows as the upsert leaves them, keyed by recipient, type, object and bucket.
+     */
+    private final Map<String, Row> table = new ConcurrentHashMap<>();
+    private final List<Integer> statementRows = new CopyOnWriteArrayList<>();
+
+    private record Row(String id, String recipientId, String type, String objectId, String actionUserId,
+                       Timestamp createdAt, int actorCount, List<String> sampleActorIds, boolean read) {
+    }
+
+    private record Upserted(Row row, boolean becameUnread) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        pipeline = new NotificationPipeline(jdbcTemplate, hashUUIDGenerator, presenceService, userSummaryCache,
+                notificationPushCoalescer, unreadNotificationCounter, meterRegistry);
+        ReflectionTestUtils.setField(pipeline, "capacity", 64);
+        ReflectionTestUtils.setField(pipeline, "batchSize", 16);
+        ReflectionTestUtils.setField(pipeline, "maxDelayMs", 5L);
+        ReflectionTestUtils.setField(pipeline, "bucket", Duration.ofHours(1));
+        ReflectionTestUtils.setField(pipeline, "dedupeWindow", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(pipeline, "shutdownTimeoutMs", 10_000L);
+        pipeline.init();
+
+        AtomicInteger ids = new AtomicInteger();
+        lenient().when(hashUUIDGenerator.encodeString(anyString())).thenAnswer(invocation -> "n" + ids.incrementAndGet());
+        lenient().when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(invocation -> {
+            RowMapper<?> mapper = invocation.getArgument(1);
+            Object[] args = (Object[]) invocation.getRawArguments()[2];
+            List<Object> upserted = new ArrayList<>();
+            for (int i = 0; i < args.length; i += 9) {
+                if (((String) args[i + 5]).startsWith("deleted")) {
+                    throw new DataIntegrityViolationException("fk_notification_sender_user");
+                }
+            }
+            for (int i = 0; i < args.length; i += 9) {
+                upserted.add(mapper.mapRow(resultSet(upsert(args, i)), i / 9));
+            }
+            statementRows.add(args.length / 9);
+            return upserted;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    private static String key(String recipientId, String type, String objectId, Timestamp bucketStart) {
+        return recipientId + "|" + type + "|" + objectId + "|" + bucketStart;
+    }
+
+    private Upserted upsert(Object[] args, int i) {
+        String key = key((String) args[i + 1], (String) args[i + 2], (String) args[i + 3], (Timestamp) args[i + 4]);
+        Row excluded = new Row((String) args[i], (String) args[i + 1], (String) args[i + 2], (String) args[i + 3], (String) args[i + 5],
+                (Timestamp) args[i + 6], (Integer) args[i + 7], List.of(((String) args[i + 8]).split(",")), false);
+        Row existing = table.get(key);
+        if (existing == null) {
+            table.put(key, excluded);
+            return new Upserted(excluded, true);
+        }
+        List<String> samples = new ArrayList<>(excluded.sampleActorIds());
+        existing.sampleActorIds().stream().filter(actor -> !samples.contains(actor)).forEach(samples::add);
+        Row merged = new Row(existing.id(), existing.recipientId(), existing.type(), existing.objectId(), excluded.actionUserId(),
+                excluded.createdAt(), existing.actorCount() + excluded.actorCount(), samples.subList(0, Math.min(3, samples.size())), false);
+        table.put(key, merged);
+        return new Upserted(merged, existing.read());
+    }
+
+    private ResultSet resultSet(Upserted upserted) throws Exception {
+        Row row = upserted.row();
+        ResultSet rs = mock(ResultSet.class);
+        Array samples = mock(Array.class);
+        when(samples.getArray()).thenReturn(row.sampleActorIds().toArray(String[]::new));
+        when(rs.getString(1)).thenReturn(row.id());
+        when(rs.getString(2)).thenReturn(row.recipientId());
+        when(rs.getString(3)).thenReturn(row.type());
+        when(rs.getString(4)).thenReturn(row.objectId());
+        when(rs.getString(5)).thenReturn(row.actionUserId());
+        when(rs.getTimestamp(6)).thenReturn(row.createdAt());
+        when(rs.getInt(7)).thenReturn(row.actorCount());
+        when(rs.getArray(8)).thenReturn(samples);
+        when(rs.getBoolean(9)).thenReturn(upserted.becameUnread());
+        return rs;
+    }
+
+    private NotificationEvent event(Notification.NotificationType type, String actionUserId, int secondsAfterNoon) {
+        return new NotificationEvent("bob", type, "post-1", actionUserId, NOON.plusSeconds(secondsAfterNoon));
+    }
+
+    private Row onlyRow() {
+        assertEquals(1, table.size());
+        return table.values().iterator().next();
+    }
+
+    /**
+     * Queues events without a worker, so {@link NotificationPipeline#stop} writes them as one batch.
+     */
+    private void queueWithoutWorker() {
+        ReflectionTestUtils.setField(pipeline, "worker", new Thread(() -> {
+        }));
+        ReflectionTestUtils.setField(pipeline, "running", true);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    @Test
+    @DisplayName("Should Skip A Repeated Like Within The Window But Count Every Comment")
+    void submit_ShouldDeduplicateLikes() {
+        pipeline.submit(event(Notification.NotificationType.LIKE, "alice", 0));
+        pipeline.submit(event(Notification.NotificationType.LIKE, "alice", 1));
+        pipeline.submit(event(Notification.NotificationType.COMMENT, "alice", 2));
+        pipeline.submit(event(Notification.NotificationType.COMMENT, "alice", 3));
+
+        assertEquals(2, table.size());
+        assertEquals(1, table.get("bob|LIKE|post-1|2024-05-01 12:00:00.0").actorCount());
+        assertEquals(2, table.get("bob|COMMENT|post-1|2024-05-01 12:00:00.0").actorCount());
+        assertEquals(1, counter("notifications.pipeline.deduplicated"));
+    }
+
+    @Test
+    @DisplayName("Should Fold A Burst Of Likes Into One Row With The Newest Sample Actors")
+    void stop_ShouldAggregateBurst() {
+        queueWithoutWorker();
+        IntStream.range(0, 42).forEach(i -> pipeline.submit(event(Notification.NotificationType.LIKE, "user-" + i, i)));
+
+        pipeline.stop();
+
+        Row row = onlyRow();
+        assertEquals(42, row.actorCount());
+        assertEquals("user-41", row.actionUserId());
+        assertEquals(List.of("user-41", "user-40", "user-39"), row.sampleActorIds());
+        assertEquals(List.of(1), statementRows);
+        assertEquals(42, counter("notifications.pipeline.created"));
+        assertEquals(1, counter("notifications.pipeline.rows"));
+    }
+
+    @Test
+    @DisplayName("Should Keep Counting Into The Stored Row Across Batches Of The Same Bucket")
+    void submit_ShouldAggregateAcrossBatches() {
+        pipeline.submit(event(Notification.NotificationType.LIKE, "alice", 0));
+        pipeline.submit(event(Notification.NotificationType.LIKE, "carol", 60));
+        pipeline.submit(new NotificationEvent("bob", Notification.NotificationType.LIKE, "post-1", "dave", NOON.plusHours(1)));
+
+        assertEquals(2, table.size());
+        Row noon = table.get("bob|LIKE|post-1|2024-05-01 12:00:00.0");
+        assertEquals(2, noon.actorCount());
+        assertEquals(List.of("carol", "alice"), noon.sampleActorIds());
+    }
+
+    @Test
+    @DisplayName("Should Push The Aggregated Notification To An Online Recipient")
+    void submit_ShouldPushAggregateToOnlineRecipient() {
+        ShortUserResponse carol = new ShortUserResponse("carol", "Carol", "carol@mail.com", "carol.png");
+        when(presenceService.isOnline("bob")).thenReturn(true);
+        when(userSummaryCache.getAll(anyCollection())).thenReturn(Map.of("alice", ALICE, "carol", carol));
+        queueWithoutWorker();
+        pipeline.submit(event(Notification.NotificationType.LIKE, "alice", 0));
+        pipeline.submit(event(Notification.NotificationType.LIKE, "carol", 1));
+
+        pipeline.stop();
+
+        ArgumentCaptor<NotificationResponse> pushed = ArgumentCaptor.forClass(NotificationResponse.class);
+        verify(notificationPushCoalescer, times(1)).push(eq("bob"), pushed.capture());
+        assertEquals(carol, pushed.getValue().getActionUser());
+        assertEquals(2, pushed.getValue().getActorCount());
+        assertEquals(List.of(carol, ALICE), pushed.getValue().getSampleActors());
+        assertEquals(NOON.plusSeconds(1), pushed.getValue().getCreatedAt());
+        assertFalse(pushed.getValue().isRead());
+    }
+
+    @Test
+    @DisplayName("Should Not Push Or Load Users For An Offline Recipient")
+    void submit_ShouldNotPushToOfflineRecipient() {
+        when(presenceService.isOnline("bob")).thenReturn(false);
+
+        pipeline.submit(event(Notification.NotificationType.FOLLOW, "alice", 0));
+
+        assertEquals(1, table.size());
+        verifyNoInteractions(userSummaryCache, notificationPushCoalescer);
+    }
+
+    @Test
+    @DisplayName("Should Store Every Queued Notification Before Stopping")
+    void stop_ShouldDrainQueue() {
+        pipeline.start();
+
+        IntStream.range(0, 50).forEach(i -> pipeline.submit(event(Notification.NotificationType.COMMENT, "alice", i)));
+        pipeline.stop();
+
+        assertEquals(50, onlyRow().actorCount());
+        assertEquals(0, pipeline.queued());
+        assertEquals(50, counter("notifications.pipeline.created"));
+    }
+
+    @Test
+    @DisplayName("Should Store The Rest Of A Batch And Drop A Notification The Database Rejects")
+    void stop_ShouldDropRejectedNotification() {
+        queueWithoutWorker();
+        pipeline.submit(event(Notification.NotificationType.COMMENT, "alice", 0));
+        pipeline.submit(new NotificationEvent("bob", Notification.NotificationType.COMMENT, "post-2", "deleted-user", NOON));
+        pipeline.submit(event(Notification.NotificationType.COMMENT, "alice", 1));
+
+        pipeline.stop();
+
+        assertEquals(2, onlyRow().actorCount());
+        assertEquals(1, counter("notifications.pipeline.dropped"));
+        assertEquals(2, counter("notifications.pipeline.created"));
+    }
+
+    @Test
+    @DisplayName("Should Report A Failed Push Without Counting Stored Rows As Dropped")
+    void run_ShouldReportPushFailureSeparately() throws InterruptedException {
+        when(presenceService.isOnline("bob")).thenReturn(true);
+        when(userSummaryCache.getAll(anyCollection()))
+                .thenThrow(new IllegalStateException("cache loader failed"))
+                .thenReturn(Map.of("alice", ALICE));
+        pipeline.start();
+
+        pipeline.submit(event(Notification.NotificationType.COMMENT, "alice", 0));
+        while (counter("notifications.pipeline.push.failed") == 0) {
+            Thread.sleep(1);
+        }
+        pipeline.submit(event(Notification.NotificationType.COMMENT, "alice", 1));
+        pipeline.stop();
+
+        assertEquals(2, onlyRow().actorCount());
+        assertEquals(0, counter("notifications.pipeline.dropped"));
+        assertEquals(1, counter("notifications.pipeline.push.failed"));
+        verify(notificationPushCoalescer, times(1)).push(eq("bob"), any(NotificationResponse.class));
+    }
+
+    @Test
+    @DisplayName("Should Keep The Worker Running After A Batch Fails Before It Is Stored")
+    void run_ShouldSurviveUnexpectedFailure() throws InterruptedException {
+        when(hashUUIDGenerator.encodeString(anyString()))
+                .thenThrow(new IllegalStateException("generator failed"))
+                .thenReturn("n1");
+        pipeline.start();
+
+        pipeline.submit(event(Notification.NotificationType.COMMENT, "alice", 0));
+        while (counter("notifications.pipeline.dropped") == 0) {
+            Thread.sleep(1);
+        }
+        pipeline.submit(event(Notification.NotificationType.COMMENT, "alice", 1));
+        pipeline.stop();
+
+        assertEquals(1, onlyRow().actorCount());
+        assertEquals(1, counter("notifications.pipeline.dropped"));
+        assertEquals(1, counter("notifications.pipeline.created"));
+    }
+
+    @Test
+    @DisplayName("Should Start Buckets On Whole Multiples Of The Bucket Length")
+    void bucketStart_ShouldTruncateToBucket() {
+        assertEquals(NOON, pipeline.bucketStart(NOON.plusMinutes(42).plusSeconds(13)));
+
+        ReflectionTestUtils.setField(pipeline, "bucket", Duration.ofMinutes(15));
+        assertEquals(NOON.plusMinutes(30), pipeline.bucketStart(NOON.plusMinutes(42)));
+    }
+
+    @Test
+    @DisplayName("Should Count A Row As Unread Once Until It Is Read Again")
+    void submit_ShouldIncrementUnreadCount() {
+        pipeline.submit(event(Notification.NotificationType.LIKE, "alice", 0));
+        pipeline.submit(event(Notification.NotificationType.LIKE, "carol", 1));
+        verify(unreadNotificationCounter, times(1)).increment("bob", 1L);
+
+        String key = key("bob", "LIKE", "post-1", Timestamp.valueOf(NOON));
+        Row row = table.get(key);
+        table.put(key, new Row(row.id(), row.recipientId(), row.type(), row.objectId(), row.actionUserId(), row.createdAt(),
+                row.actorCount(), row.sampleActorIds(), true));
+        pipeline.submit(event(Notification.NotificationType.LIKE, "dave", 2));
+
+        verify(unreadNotificationCounter, times(2)).increment("bob", 1L);
+    }
+}
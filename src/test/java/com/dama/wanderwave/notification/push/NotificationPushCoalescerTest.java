@@ -0,0 +1,134 @@
+package com.dama.wanderwave.notification.push;
+
+import com.dama.wanderwave.notification.Notification;
+import com.dama.wanderwave.notification.response.NotificationResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationPushCoalescer Tests")
+class NotificationPushCoalescerTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationPushCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new NotificationPushCoalescer(messagingTemplate, meterRegistry);
+        ReflectionTestUtils.setField(coalescer, "maxBatch", 3);
+        ReflectionTestUtils.setField(coalescer, "minIntervalMs", 60_000L);
+        coalescer.registerMetrics();
+    }
+
+    private NotificationResponse notification(String id, Notification.NotificationType type) {
+        return NotificationResponse.builder()
+                .id(id)
+                .type(type)
+                .objectId("post-1")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should Push A Single Notification As Before")
+    void flush_ShouldSendSingleNotification() {
+        NotificationResponse like = notification("n1", Notification.NotificationType.LIKE);
+
+        coalescer.push("bob", like);
+        coalescer.flush();
+
+        verify(messagingTemplate).convertAndSendToUser("bob", NotificationPushCoalescer.NOTIFICATIONS_DESTINATION, like);
+        verifyNoMoreInteractions(messagingTemplate);
+    }
+
+    @Test
+    @DisplayName("Should Send A Burst Of One Type As One Batch Keeping The Newest")
+    void flush_ShouldCoalesceBurst() {
+        IntStream.range(0, 5).forEach(i -> coalescer.push("bob", notification("n" + i, Notification.NotificationType.LIKE)));
+
+        coalescer.flush();
+
+        ArgumentCaptor<NotificationBatch> batch = ArgumentCaptor.forClass(NotificationBatch.class);
+        verify(messagingTemplate).convertAndSendToUser(eq("bob"), eq(NotificationPushCoalescer.BATCH_DESTINATION), batch.capture());
+        assertEquals(Notification.NotificationType.LIKE, batch.getValue().type());
+        assertEquals(5, batch.getValue().count());
+        assertEquals(List.of("n2", "n3", "n4"), batch.getValue().notifications().stream().map(NotificationResponse::getId).toList());
+        assertEquals(4, meterRegistry.get("notifications.push.coalesced").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should Keep Types And Recipients Apart And Send Nothing Twice")
+    void flush_ShouldSeparateKeys() {
+        NotificationResponse like = notification("n1", Notification.NotificationType.LIKE);
+        NotificationResponse follow = notification("n2", Notification.NotificationType.FOLLOW);
+        NotificationResponse comment = notification("n3", Notification.NotificationType.COMMENT);
+
+        coalescer.push("bob", like);
+        coalescer.push("bob", follow);
+        coalescer.push("carol", comment);
+        coalescer.flush();
+        coalescer.flush();
+
+        verify(messagingTemplate).convertAndSendToUser("bob", NotificationPushCoalescer.NOTIFICATIONS_DESTINATION, like);
+        verify(messagingTemplate).convertAndSendToUser("bob", NotificationPushCoalescer.NOTIFICATIONS_DESTINATION, follow);
+        verify(messagingTemplate).convertAndSendToUser("carol", NotificationPushCoalescer.NOTIFICATIONS_DESTINATION, comment);
+        verifyNoMoreInteractions(messagingTemplate);
+        assertEquals(0, meterRegistry.get("notifications.push.pending").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should Push Only The Latest State Of A Repeatedly Updated Notification")
+    void flush_ShouldKeepLatestStatePerNotification() {
+        NotificationResponse first = notification("n1", Notification.NotificationType.LIKE);
+        NotificationResponse updated = notification("n1", Notification.NotificationType.LIKE);
+        updated.setActorCount(2);
+
+        coalescer.push("bob", first);
+        coalescer.push("bob", updated);
+        coalescer.flush();
+
+        verify(messagingTemplate).convertAndSendToUser("bob", NotificationPushCoalescer.NOTIFICATIONS_DESTINATION, updated);
+        verifyNoMoreInteractions(messagingTemplate);
+    }
+
+    @Test
+    @DisplayName("Should Hold Back A Recipient's Pushes Until The Minimum Interval Has Passed")
+    void flush_ShouldRateLimitPerRecipient() {
+        NotificationResponse first = notification("n1", Notification.NotificationType.LIKE);
+        NotificationResponse second = notification("n2", Notification.NotificationType.COMMENT);
+        NotificationResponse other = notification("n3", Notification.NotificationType.LIKE);
+
+        coalescer.push("bob", first);
+        coalescer.flush();
+        coalescer.push("bob", second);
+        coalescer.push("carol", other);
+        coalescer.flush();
+
+        verify(messagingTemplate).convertAndSendToUser("bob", NotificationPushCoalescer.NOTIFICATIONS_DESTINATION, first);
+        verify(messagingTemplate).convertAndSendToUser("carol", NotificationPushCoalescer.NOTIFICATIONS_DESTINATION, other);
+        verifyNoMoreInteractions(messagingTemplate);
+        assertEquals(1, meterRegistry.get("notifications.push.deferred").counter().count());
+
+        coalescer.flushOnShutdown();
+
+        verify(messagingTemplate).convertAndSendToUser("bob", NotificationPushCoalescer.NOTIFICATIONS_DESTINATION, second);
+    }
+}
@@ -0,0 +1,96 @@
+package com.dama.wanderwave.notification.retention;
+
+import com.dama.wanderwave.notification.unread.UnreadNotificationCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationPartitionMaintainer Tests")
+class NotificationPartitionMaintainerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    private NotificationPartitionMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() {
+        maintainer = new NotificationPartitionMaintainer(jdbcTemplate, unreadNotificationCounter);
+        ReflectionTestUtils.setField(maintainer, "retentionMonths", 6);
+        ReflectionTestUtils.setField(maintainer, "monthsAhead", 2);
+        maintainer.clock = Clock.fixed(Instant.parse("2024-11-15T10:00:00Z"), ZoneOffset.UTC);
+    }
+
+    @Test
+    @DisplayName("Should Create The Current Month And The Months Ahead")
+    void maintain_ShouldCreatePartitionsAhead() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of());
+
+        maintainer.maintain();
+
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS notifications_p2024_11 PARTITION OF notifications " +
+                "FOR VALUES FROM ('2024-11-01') TO ('2024-12-01')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS notifications_p2024_12 PARTITION OF notifications " +
+                "FOR VALUES FROM ('2024-12-01') TO ('2025-01-01')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS notifications_p2025_01 PARTITION OF notifications " +
+                "FOR VALUES FROM ('2025-01-01') TO ('2025-02-01')");
+        verify(jdbcTemplate, times(3)).execute(anyString());
+        verifyNoInteractions(unreadNotificationCounter);
+    }
+
+    @Test
+    @DisplayName("Should Detach And Drop Only Partitions Older Than The Retention")
+    void maintain_ShouldDropExpiredPartitions() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                "notifications_p2024_04", "notifications_p2024_03", "notifications_p2024_05", "notifications_archive"));
+
+        maintainer.maintain();
+
+        InOrder inOrder = inOrder(jdbcTemplate, unreadNotificationCounter);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE notifications DETACH PARTITION notifications_p2024_03");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE notifications_p2024_03");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE notifications DETACH PARTITION notifications_p2024_04");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE notifications_p2024_04");
+        inOrder.verify(unreadNotificationCounter).invalidateAll();
+        verify(jdbcTemplate, never()).execute(contains("notifications_p2024_05"));
+        verify(jdbcTemplate, never()).execute(contains("notifications_archive"));
+    }
+
+    @Test
+    @DisplayName("Should Log And Keep Running When The Database Fails")
+    void maintain_ShouldSwallowDatabaseErrors() {
+        doThrow(new DataAccessResourceFailureException("down")).when(jdbcTemplate).execute(anyString());
+
+        assertDoesNotThrow(() -> maintainer.maintain());
+        verifyNoInteractions(unreadNotificationCounter);
+    }
+
+    @Test
+    @DisplayName("Should Map Months To Partition Names And Back")
+    void partitionName_ShouldRoundTrip() {
+        assertEquals("notifications_p2024_03", NotificationPartitionMaintainer.partitionName(YearMonth.of(2024, 3)));
+        assertEquals(YearMonth.of(2024, 3), NotificationPartitionMaintainer.monthOf("notifications_p2024_03"));
+        assertNull(NotificationPartitionMaintainer.monthOf("notifications_unpartitioned"));
+    }
+}
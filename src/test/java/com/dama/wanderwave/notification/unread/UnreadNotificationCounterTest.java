@@ -0,0 +1,66 @@
+package com.dama.wanderwave.notification.unread;
+
+import com.dama.wanderwave.notification.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UnreadNotificationCounter Tests")
+class UnreadNotificationCounterTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private UnreadNotificationCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new UnreadNotificationCounter(notificationRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(counter, "maxSize", 100L);
+        ReflectionTestUtils.setField(counter, "expireAfterWrite", Duration.ofMinutes(5));
+        counter.init();
+    }
+
+    @Test
+    @DisplayName("Should Count Once And Then Follow Increments And Reads From Memory")
+    void get_ShouldServeFromMemory() {
+        when(notificationRepository.countByRecipientIdAndIsReadFalse("bob")).thenReturn(3L);
+
+        assertEquals(3, counter.get("bob"));
+        counter.increment("bob", 2);
+        counter.decrement("bob");
+
+        assertEquals(4, counter.get("bob"));
+        verify(notificationRepository, times(1)).countByRecipientIdAndIsReadFalse("bob");
+    }
+
+    @Test
+    @DisplayName("Should Leave Users That Are Not Loaded To The Next Count")
+    void increment_ShouldSkipUnloadedUser() {
+        counter.increment("bob", 5);
+        when(notificationRepository.countByRecipientIdAndIsReadFalse("bob")).thenReturn(7L);
+
+        assertEquals(7, counter.get("bob"));
+    }
+
+    @Test
+    @DisplayName("Should Drop To Zero On Read-All And Never Go Negative")
+    void reset_ShouldZeroCount() {
+        counter.reset("bob");
+        counter.decrement("bob");
+
+        assertEquals(0, counter.get("bob"));
+        verifyNoInteractions(notificationRepository);
+    }
+}
@@ -57,6 +57,7 @@ enum ApiUrls {
     UNSAVE_POST("/api/posts/{postId}/save"),
     GET_PERSONAL_FLOW("/api/posts/user/personalFlow"),
     GET_RECOMMENDATIONS_FLOW("/api/posts/user/recommendationsFlow"),
+    GET_TRENDING("/api/posts/trending"),
     GET_USER_LIKES("/api/posts/user/likes"),
     GET_USER_SAVED("/api/posts/user/saved"),
     GET_POSTS_BY_CATEGORY("/api/posts/"),
@@ -614,6 +615,40 @@ public class PostControllerTest {
         }
     }
 
+    @Nested
+    class GetTrendingPosts {
+
+        @Test
+        @DisplayName("Get trending posts should return success (200) with the category leaderboard")
+        void getTrendingPosts_Success() throws Exception {
+            when(postService.getTrendingPosts("Nature", 2)).thenReturn(List.copyOf(getShortUserPostsList()));
+
+            mockMvc.perform(get(ApiUrls.GET_TRENDING.getUrl())
+                            .param("category", "Nature")
+                            .param("pageSize", "2")
+                            .contentType(CONTENT_TYPE)
+                            .accept(ACCEPT_TYPE))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.code").value(HttpStatus.OK.value()))
+                    .andExpect(jsonPath("$.message").isArray());
+
+            verify(postService).getTrendingPosts("Nature", 2);
+        }
+
+        @Test
+        @DisplayName("Get trending posts should default to all categories and 20 posts")
+        void getTrendingPosts_Defaults() throws Exception {
+            when(postService.getTrendingPosts(null, 20)).thenReturn(List.of());
+
+            mockMvc.perform(get(ApiUrls.GET_TRENDING.getUrl())
+                            .contentType(CONTENT_TYPE)
+                            .accept(ACCEPT_TYPE))
+                    .andExpect(status().isOk());
+
+            verify(postService).getTrendingPosts(null, 20);
+        }
+    }
+
     @Nested
     class GetUserLikes {
 
@@ -12,26 +12,35 @@ import com.dama.wanderwave.handler.user.save.IsSavedException;
 import com.dama.wanderwave.handler.user.save.SavedPostNotFound;
 import com.dama.wanderwave.hashtag.HashTag;
 import com.dama.wanderwave.hashtag.HashTagRepository;
+import com.dama.wanderwave.hashtag.index.HashtagIndexService;
 import com.dama.wanderwave.notification.NotificationRepository;
+import com.dama.wanderwave.notification.NotificationService;
 import com.dama.wanderwave.place.Place;
 import com.dama.wanderwave.place.PlaceRepository;
 import com.dama.wanderwave.place.request.PlaceRequest;
 import com.dama.wanderwave.place.request.RouteRequest;
+import com.dama.wanderwave.post.counter.PostCounterService;
+import com.dama.wanderwave.post.engagement.PostIdSet;
+import com.dama.wanderwave.post.engagement.ViewerEngagement;
+import com.dama.wanderwave.post.engagement.ViewerEngagementService;
+import com.dama.wanderwave.post.trending.TrendingEvent;
+import com.dama.wanderwave.post.trending.TrendingService;
+import com.dama.wanderwave.post.recommendation.SeenPostsService;
 import com.dama.wanderwave.post.request.PostRequest;
 import com.dama.wanderwave.post.response.PostResponse;
 import com.dama.wanderwave.post.response.ShortPostResponse;
 import com.dama.wanderwave.route.Route;
 import com.dama.wanderwave.route.RouteRepository;
+import com.dama.wanderwave.timeline.TimelineService;
 import com.dama.wanderwave.user.User;
 import com.dama.wanderwave.user.UserRepository;
 import com.dama.wanderwave.user.UserService;
 import com.dama.wanderwave.user.like.Like;
-import com.dama.wanderwave.user.like.LikeId;
 import com.dama.wanderwave.user.like.LikeRepository;
-import com.dama.wanderwave.user.saved_post.SavedPost;
-import com.dama.wanderwave.user.saved_post.SavedPostId;
 import com.dama.wanderwave.user.saved_post.SavedPostRepository;
-import com.github.benmanes.caffeine.cache.Cache;
+import com.dama.wanderwave.utils.Cursor;
+import com.dama.wanderwave.utils.CursorKey;
+import com.dama.wanderwave.utils.CursorSlice;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -66,8 +75,6 @@ public class PostServiceTest {
     @Mock
     private UserService userService;
     @Mock
-    private Cache<String, Set<String>> cache;
-    @Mock
     private CommentRepository commentRepository;
     @Mock
     private HashTagRepository hashTagRepository;
@@ -83,6 +90,20 @@ public class PostServiceTest {
     private PlaceRepository placeRepository;
     @Mock
     private NotificationRepository notificationRepository;
+    @Mock
+    private TimelineService timelineService;
+    @Mock
+    private PostCounterService postCounterService;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private ViewerEngagementService viewerEngagementService;
+    @Mock
+    private TrendingService trendingService;
+    @Mock
+    private HashtagIndexService hashtagIndexService;
+    @Mock
+    private SeenPostsService seenPostsService;
 
     private Authentication authentication;
 
@@ -90,6 +111,7 @@ public class PostServiceTest {
     void setUp() {
         authentication = mock(Authentication.class);
         SecurityContextHolder.getContext().setAuthentication(authentication);
+        lenient().when(viewerEngagementService.get(anyString())).thenReturn(ViewerEngagement.NONE);
     }
 
     @Nested
@@ -101,6 +123,7 @@ public class PostServiceTest {
             var mockUser = getMockUser();
             var mockPosts = getUserPosts();
 
+            when(userService.getAuthenticatedUser()).thenReturn(mockUser);
             when(userRepository.findByNickname(mockUser.getNickname())).thenReturn(Optional.of(mockUser));
             when(postRepository.findByUserWithHashtags(mockUser, getPageRequest())).thenReturn(new PageImpl<>(mockPosts));
 
@@ -177,6 +200,8 @@ public class PostServiceTest {
                 verify(categoryTypeRepository).findByName(any(String.class));
                 verify(postRepository).save(any(Post.class));
                 verify(placeRepository).save(any(Place.class));
+                verify(timelineService).fanOut(any(Post.class));
+                verify(hashtagIndexService).postCreated("mockPost1", List.of("mockHashtag"));
             }
         }
 
@@ -205,6 +230,7 @@ public class PostServiceTest {
                 verify(categoryTypeRepository).findByName(any(String.class));
                 verify(postRepository, never()).save(any(Post.class));
                 verify(placeRepository, never()).save(any(Place.class));
+                verify(timelineService, never()).fanOut(any(Post.class));
             }
         }
     }
@@ -216,17 +242,36 @@ public class PostServiceTest {
             User mockUser = getMockUser();
 
             when(userService.getAuthenticatedUser()).thenReturn(mockUser);
-            when(postRepository.findByIdWithLikes(any(String.class))).thenReturn(Optional.of(getUserPosts().getFirst()));
-            when(likeRepository.save(any(Like.class))).thenReturn(new Like());
+            when(postRepository.findAuthorIdById("postId")).thenReturn(Optional.of("authorId"));
+            when(likeRepository.insertIfAbsent(eq(mockUser.getId()), eq("postId"), any(LocalDateTime.class))).thenReturn(1);
 
-            String result = postService.likePost(getUserPosts().getFirst().getId());
+            String result = postService.likePost("postId");
 
             assertNotNull(result);
             assertEquals("Liked successfully!", result);
 
             verify(userService).getAuthenticatedUser();
-            verify(postRepository).findByIdWithLikes(any(String.class));
-            verify(likeRepository).save(any(Like.class));
+            verify(postRepository).findAuthorIdById("postId");
+            verify(likeRepository).insertIfAbsent(eq(mockUser.getId()), eq("postId"), any(LocalDateTime.class));
+            verify(postCounterService).incrementLikes("postId");
+            verify(viewerEngagementService).liked(mockUser.getId(), "postId");
+            verify(trendingService).record("postId", TrendingEvent.LIKE);
+            verify(notificationService).sendLikeNotification("authorId", "postId", mockUser.getId());
+            verify(postRepository, never()).save(any(Post.class));
+        }
+
+        @Test
+        void likePost_OwnPost_ShouldNotNotify() {
+            User mockUser = getMockUser();
+
+            when(userService.getAuthenticatedUser()).thenReturn(mockUser);
+            when(postRepository.findAuthorIdById("postId")).thenReturn(Optional.of(mockUser.getId()));
+            when(likeRepository.insertIfAbsent(eq(mockUser.getId()), eq("postId"), any(LocalDateTime.class))).thenReturn(1);
+
+            postService.likePost("postId");
+
+            verify(postCounterService).incrementLikes("postId");
+            verifyNoInteractions(notificationService);
         }
 
         @Test
@@ -234,13 +279,14 @@ public class PostServiceTest {
             User mockUser = getMockUser();
 
             when(userService.getAuthenticatedUser()).thenReturn(mockUser);
-            when(postRepository.findByIdWithLikes(any(String.class))).thenReturn(Optional.of(getLikedPost()));
+            when(postRepository.findAuthorIdById("postId")).thenReturn(Optional.of("authorId"));
+            when(likeRepository.insertIfAbsent(eq(mockUser.getId()), eq("postId"), any(LocalDateTime.class))).thenReturn(0);
 
-            assertThrows(IsLikedException.class, () -> postService.likePost(getLikedPost().getId()));
+            assertThrows(IsLikedException.class, () -> postService.likePost("postId"));
 
             verify(userService).getAuthenticatedUser();
-            verify(postRepository).findByIdWithLikes(any(String.class));
-            verify(likeRepository, never()).save(any(Like.class));
+            verify(postRepository).findAuthorIdById("postId");
+            verifyNoInteractions(postCounterService, notificationService);
         }
 
         @Test
@@ -248,13 +294,14 @@ public class PostServiceTest {
             User mockUser = getMockUser();
 
             when(userService.getAuthenticatedUser()).thenReturn(mockUser);
-            when(postRepository.findByIdWithLikes(any(String.class))).thenThrow(PostNotFoundException.class);
+            when(postRepository.findAuthorIdById("postId")).thenReturn(Optional.empty());
 
-            assertThrows(PostNotFoundException.class, () -> postService.likePost(getLikedPost().getId()));
+            assertThrows(PostNotFoundException.class, () -> postService.likePost("postId"));
 
             verify(userService).getAuthenticatedUser();
-            verify(postRepository).findByIdWithLikes(any(String.class));
-            verify(likeRepository, never()).save(any(Like.class));
+            verify(postRepository).findAuthorIdById("postId");
+            verify(likeRepository, never()).insertIfAbsent(anyString(), anyString(), any(LocalDateTime.class));
+            verifyNoInteractions(postCounterService);
         }
     }
 
@@ -265,18 +312,19 @@ public class PostServiceTest {
             User mockUser = getMockUser();
 
             when(userService.getAuthenticatedUser()).thenReturn(mockUser);
-            when(postRepository.findById(any(String.class))).thenReturn(Optional.of(getUserPosts().getFirst()));
-            when(likeRepository.findByUserAndPost(any(User.class), any(Post.class))).thenReturn(Optional.of(getLike()));
+            when(likeRepository.deleteByUserIdAndPostId(mockUser.getId(), "postId")).thenReturn(1);
 
-            String result = postService.unlikePost(getUserPosts().getFirst().getId());
+            String result = postService.unlikePost("postId");
 
             assertNotNull(result);
             assertEquals("Post is unliked successfully!", result);
 
             verify(userService).getAuthenticatedUser();
-            verify(postRepository).findById(any(String.class));
-            verify(likeRepository).findByUserAndPost(any(User.class), any(Post.class));
-            verify(likeRepository).delete(any(Like.class));
+            verify(likeRepository).deleteByUserIdAndPostId(mockUser.getId(), "postId");
+            verify(postCounterService).decrementLikes("postId");
+            verify(viewerEngagementService).unliked(mockUser.getId(), "postId");
+            verify(postRepository, never()).existsById(anyString());
+            verify(postRepository, never()).save(any(Post.class));
         }
 
         @Test
@@ -284,15 +332,14 @@ public class PostServiceTest {
             User mockUser = getMockUser();
 
             when(userService.getAuthenticatedUser()).thenReturn(mockUser);
-            when(postRepository.findById(any(String.class))).thenReturn(Optional.of(getUserPosts().getFirst()));
-            when(likeRepository.findByUserAndPost(any(User.class), any(Post.class))).thenThrow(LikeNotFoundException.class);
+            when(likeRepository.deleteByUserIdAndPostId(mockUser.getId(), "postId")).thenReturn(0);
+            when(postRepository.existsById("postId")).thenReturn(true);
 
-            assertThrows(LikeNotFoundException.class, () -> postService.unlikePost(getUserPosts().getFirst().getId()));
+            assertThrows(LikeNotFoundException.class, () -> postService.unlikePost("postId"));
 
             verify(userService).getAuthenticatedUser();
-            verify(postRepository).findById(any(String.class));
-            verify(likeRepository).findByUserAndPost(any(User.class), any(Post.class));
-            verify(likeRepository, never()).delete(any(Like.class));
+            verify(likeRepository).deleteByUserIdAndPostId(mockUser.getId(), "postId");
+            verifyNoInteractions(postCounterService);
         }
 
         @Test
@@ -300,14 +347,14 @@ public class PostServiceTest {
             User mockUser = getMockUser();
 
             when(userService.getAuthenticatedUser()).thenReturn(mockUser);
-            when(postRepository.findById(any(String.class))).thenThrow(PostNotFoundException.class);
+            when(likeRepository.deleteByUserIdAndPostId(mockUser.getId(), "postId")).thenReturn(0);
+            when(postRepository.existsById("postId")).thenReturn(false);
 
-            assertThrows(PostNotFoundException.class, () -> postService.unlikePost(getUserPosts().getFirst().getId()));
+            assertThrows(PostNotFoundException.class, () -> postService.unlikePost("postId"));
 
             verify(userService).getAuthenticatedUser();
-            verify(postRepository).findById(any(String.class));
-            verify(likeRepository, never()).findByUserAndPost(any(User.class), any(Post.class));
-            verify(likeRepository, never()).delete(any(Like.class));
+            verify(postRepository).existsById("postId");
+            verifyNoInteractions(postCounterService);
         }
     }
 
@@ -315,25 +362,25 @@ public class PostServiceTest {
     class GetPostLikes {
         @Test
         void getPostLikes_Success() {
-            Post post = getLikedPost();
-            post.setLikesCount(1);
-            when(postRepository.findByIdWithLikes(any(String.class))).thenReturn(Optional.of(post));
+            String postId = getLikedPost().getId();
+            when(postRepository.findLikesCountById(postId)).thenReturn(Optional.of(1));
+            when(postCounterService.likesCount(postId, 1)).thenReturn(3);
 
-            Integer result = postService.getPostLikesCount(getLikedPost().getId());
+            Integer result = postService.getPostLikesCount(postId);
 
             assertNotNull(result);
-            assertEquals(1, result);
+            assertEquals(3, result);
 
-            verify(postRepository).findByIdWithLikes(any(String.class));
+            verify(postRepository).findLikesCountById(postId);
         }
 
         @Test
         void getPostLikes_NotFound() {
-            when(postRepository.findByIdWithLikes(any(String.class))).thenThrow(PostNotFoundException.class);
+            when(postRepository.findLikesCountById(any(String.class))).thenReturn(Optional.empty());
 
             assertThrows(PostNotFoundException.class, () -> postService.getPostLikesCount(getLikedPost().getId()));
 
-            verify(postRepository).findByIdWithLikes(any(String.class));
+            verify(postRepository).findLikesCountById(any(String.class));
         }
     }
 
@@ -344,17 +391,18 @@ public class PostServiceTest {
             User mockUser = getMockUser();
 
             when(userService.getAuthenticatedUser()).thenReturn(mockUser);
-            when(postRepository.findByIdSaved(any(String.class))).thenReturn(Optional.of(getUserPosts().getFirst()));
-            when(savedPostRepository.save(any(SavedPost.class))).thenReturn(new SavedPost());
+            when(savedPostRepository.insertIfAbsent(eq(mockUser.getId()), eq("postId"), any(LocalDateTime.class))).thenReturn(1);
 
-            String result = postService.savePost(getUserPosts().getFirst().getId());
+            String result = postService.savePost("postId");
 
             assertNotNull(result);
             assertEquals("Saved successfully!", result);
 
             verify(userService).getAuthenticatedUser();
-            verify(postRepository).findByIdSaved(any(String.class));
-            verify(savedPostRepository).save(any(SavedPost.class));
+            verify(savedPostRepository).insertIfAbsent(eq(mockUser.getId()), eq("postId"), any(LocalDateTime.class));
+            verify(viewerEngagementService).saved(mockUser.getId(), "postId");
+            verify(trendingService).record("postId", TrendingEvent.SAVE);
+            verify(postRepository, never()).existsById(anyString());
         }
 
         @Test
@@ -362,13 +410,13 @@ public class PostServiceTest {
             User mockUser = getMockUser();
 
             when(userService.getAuthenticatedUser()).thenReturn(mockUser);
-            when(postRepository.findByIdSaved(any(String.class))).thenReturn(Optional.of(getSavedPost()));
+            when(savedPostRepository.insertIfAbsent(eq(mockUser.getId()), eq("postId"), any(LocalDateTime.class))).thenReturn(0);
+            when(postRepository.existsById("postId")).thenReturn(true);
 
-            assertThrows(IsSavedException.class, () -> postService.savePost(getLikedPost().getId()));
+            assertThrows(IsSavedException.class, () -> postService.savePost("postId"));
 
             verify(userService).getAuthenticatedUser();
-            verify(postRepository).findByIdSaved(any(String.class));
-            verify(savedPostRepository, never()).save(any(SavedPost.class));
+            verify(postRepository).existsById("postId");
         }
 
         @Test
@@ -376,13 +424,13 @@ public class PostServiceTest {
             User mockUser = getMockUser();
 
             when(userService.getAuthenticatedUser()).thenReturn(mockUser);
-            when(postRepository.findByIdSaved(any(String.class))).thenThrow(PostNotFoundException.class);
+            when(savedPostRepository.insertIfAbsent(eq(mockUser.getId()), eq("postId"), any(LocalDateTime.class))).thenReturn(0);
+            when(postRepository.existsById("postId")).thenReturn(false);
 
-            assertThrows(PostNotFoundException.class, () -> postService.savePost(getSavedPost().getId()));
+            assertThrows(PostNotFoundException.class, () -> postService.savePost("postId"));
 
             verify(userService).getAuthenticatedUser();
-            verify(postRepository).findByIdSaved(any(String.class));
-            verify(likeRepository, never()).save(any(Like.class));
+            verify(postRepository).existsById("postId");
         }
     }
 
@@ -393,18 +441,17 @@ public class PostServiceTest {
             User mockUser = getMockUser();
 
             when(userService.getAuthenticatedUser()).thenReturn(mockUser);
-            when(postRepository.findById(any(String.class))).thenReturn(Optional.of(getUserPosts().getFirst()));
-            when(savedPostRepository.findByUserAndPost(any(User.class), any(Post.class))).thenReturn(Optional.of(getSave()));
+            when(savedPostRepository.deleteByUserIdAndPostId(mockUser.getId(), "postId")).thenReturn(1);
 
-            String result = postService.unsavePost(getUserPosts().getFirst().getId());
+            String result = postService.unsavePost("postId");
 
             assertNotNull(result);
             assertEquals("Post is unsaved successfully!", result);
 
             verify(userService).getAuthenticatedUser();
-            verify(postRepository).findById(any(String.class));
-            verify(savedPostRepository).findByUserAndPost(any(User.class), any(Post.class));
-            verify(savedPostRepository).delete(any(SavedPost.class));
+            verify(savedPostRepository).deleteByUserIdAndPostId(mockUser.getId(), "postId");
+            verify(viewerEngagementService).unsaved(mockUser.getId(), "postId");
+            verify(postRepository, never()).existsById(anyString());
         }
 
         @Test
@@ -412,15 +459,13 @@ public class PostServiceTest {
             User mockUser = getMockUser();
 
             when(userService.getAuthenticatedUser()).thenReturn(mockUser);
-            when(postRepository.findById(any(String.class))).thenReturn(Optional.of(getUserPosts().getFirst()));
-            when(savedPostRepository.findByUserAndPost(any(User.class), any(Post.class))).thenThrow(SavedPostNotFound.class);
+            when(savedPostRepository.deleteByUserIdAndPostId(mockUser.getId(), "postId")).thenReturn(0);
+            when(postRepository.existsById("postId")).thenReturn(true);
 
-            assertThrows(SavedPostNotFound.class, () -> postService.unsavePost(getUserPosts().getFirst().getId()));
+            assertThrows(SavedPostNotFound.class, () -> postService.unsavePost("postId"));
 
             verify(userService).getAuthenticatedUser();
-            verify(postRepository).findById(any(String.class));
-            verify(savedPostRepository).findByUserAndPost(any(User.class), any(Post.class));
-            verify(savedPostRepository, never()).delete(any(SavedPost.class));
+            verify(postRepository).existsById("postId");
         }
 
         @Test
@@ -428,14 +473,13 @@ public class PostServiceTest {
             User mockUser = getMockUser();
 
             when(userService.getAuthenticatedUser()).thenReturn(mockUser);
-            when(postRepository.findById(any(String.class))).thenThrow(PostNotFoundException.class);
+            when(savedPostRepository.deleteByUserIdAndPostId(mockUser.getId(), "postId")).thenReturn(0);
+            when(postRepository.existsById("postId")).thenReturn(false);
 
-            assertThrows(PostNotFoundException.class, () -> postService.unsavePost(getUserPosts().getFirst().getId()));
+            assertThrows(PostNotFoundException.class, () -> postService.unsavePost("postId"));
 
             verify(userService).getAuthenticatedUser();
-            verify(postRepository).findById(any(String.class));
-            verify(savedPostRepository, never()).findByUserAndPost(any(User.class), any(Post.class));
-            verify(savedPostRepository, never()).delete(any(SavedPost.class));
+            verify(postRepository).existsById("postId");
         }
     }
 
@@ -456,6 +500,9 @@ public class PostServiceTest {
             assertEquals("Deleted successfully!", result);
             verify(userService).getAuthenticatedUser();
             verify(postRepository).findById(mockPost.getId());
+            verify(notificationRepository).deleteAllByObjectId(mockPost.getId());
+            verify(timelineService).removePost(mockPost.getId());
+            verify(hashtagIndexService).postDeleted(eq(mockPost.getId()), anyList());
             verify(postRepository).delete(mockPost);
         }
 
@@ -475,6 +522,7 @@ public class PostServiceTest {
             assertEquals("You are not allowed to delete this post!", result);
             verify(userService).getAuthenticatedUser();
             verify(postRepository).findById(mockPost.getId());
+            verify(timelineService, never()).removePost(anyString());
             verify(postRepository, never()).delete(mockPost);
         }
 
@@ -497,24 +545,37 @@ public class PostServiceTest {
         @Test
         void personalFlow_Success() {
             User mockUser = getMockUser();
-            User mockSubscription = User.builder().id("subscriptionId").nickname("subscriptionNickname").build();
-            mockUser.setSubscriptions(Set.of(mockSubscription.getId()));
-            Post mockPost = getUserPosts().getFirst();
+            List<Post> posts = getUserPosts();
 
             when(userService.getAuthenticatedUser())
                     .thenReturn(mockUser);
-            when(userRepository.findByIdAndFetchSubscriptions(mockUser.getId()))
-                    .thenReturn(List.of(mockSubscription.getId()));
-            when(userRepository.findById(mockSubscription.getId()))
-                    .thenReturn(Optional.of(mockSubscription));
-            when(postRepository.findByUserWithHashtags(mockSubscription, getPageRequest()))
-                    .thenReturn(new PageImpl<>(List.of(mockPost)));
+            when(timelineService.getTimelinePostIds(mockUser.getId(), getPageRequest()))
+                    .thenReturn(new PageImpl<>(List.of("mockPost2", "mockPost1"), getPageRequest(), 2));
+            when(postRepository.findAllByIdInWithDetails(List.of("mockPost2", "mockPost1")))
+                    .thenReturn(posts);
 
             Page<ShortPostResponse> result = postService.personalFlow(getPageRequest());
 
             assertNotNull(result);
-            assertEquals(1, result.getTotalElements());
-            verify(postRepository).findByUserWithHashtags(mockSubscription, getPageRequest());
+            assertEquals(2, result.getTotalElements());
+            assertEquals("mockPost2", result.getContent().getFirst().getId());
+            assertEquals("mockPost1", result.getContent().get(1).getId());
+            verify(postRepository, never()).findByUserWithHashtags(any(User.class), any(Pageable.class));
+        }
+
+        @Test
+        void personalFlow_EmptyTimeline() {
+            User mockUser = getMockUser();
+
+            when(userService.getAuthenticatedUser())
+                    .thenReturn(mockUser);
+            when(timelineService.getTimelinePostIds(mockUser.getId(), getPageRequest()))
+                    .thenReturn(Page.empty(getPageRequest()));
+
+            Page<ShortPostResponse> result = postService.personalFlow(getPageRequest());
+
+            assertTrue(result.isEmpty());
+            verify(postRepository, never()).findAllByIdInWithDetails(any());
         }
     }
 
@@ -529,18 +590,64 @@ public class PostServiceTest {
             Post mockPost2 = getUserPosts().get(1);
 
             when(userService.getAuthenticatedUser()).thenReturn(mockUser);
-            when(cache.get(anyString(), any())).thenReturn(new HashSet<>());
+            when(seenPostsService.seenBy(mockUser.getId())).thenReturn(id -> false);
             when(postRepository.findByUserWithLikes(any(User.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(mockPost2)));
             when(postRepository.findByUserSaved(any(User.class), any(Pageable.class))).thenReturn(new PageImpl<>(new ArrayList<>()));
-            when(postRepository.findByHashtagsContaining(any(HashTag.class), any(Pageable.class)))
-                    .thenReturn(new PageImpl<>(List.of(mockPost1)));
-            when(postRepository.findPopularPosts(any(Pageable.class), any(LocalDateTime.class))).thenReturn(new PageImpl<>(List.of(mockPost1)));
+            when(hashtagIndexService.candidatePostIds(eq(List.of("mockHashtag")), eq(50), any()))
+                    .thenReturn(List.of(mockPost1.getId()));
+            when(trendingService.topPostIds(null, 50)).thenReturn(List.of(mockPost1.getId()));
+            when(postRepository.findAllByIdInWithDetails(List.of(mockPost1.getId()))).thenReturn(List.of(mockPost1));
 
             Set<ShortPostResponse> result = postService.recommendationFlow(getPageRequest());
 
             assertNotNull(result);
             assertEquals(1, result.size());
-            verify(postRepository).findByHashtagsContaining(any(HashTag.class), any(Pageable.class));
+            verify(hashtagIndexService).candidatePostIds(eq(List.of("mockHashtag")), eq(50), any());
+            verify(trendingService).topPostIds(null, 50);
+            verify(seenPostsService).markSeen(mockUser.getId(), List.of(mockPost1.getId()));
+        }
+
+        @Test
+        void recommendationFlow_ShouldSkipAlreadyRecommended() {
+            User mockUser = getMockUser();
+
+            when(userService.getAuthenticatedUser()).thenReturn(mockUser);
+            when(seenPostsService.seenBy(mockUser.getId())).thenReturn("mockPost1"::equals);
+            when(postRepository.findByUserWithLikes(any(User.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+            when(postRepository.findByUserSaved(any(User.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+            when(hashtagIndexService.candidatePostIds(eq(List.of()), eq(50), any())).thenReturn(List.of());
+            when(trendingService.topPostIds(null, 50)).thenReturn(List.of("mockPost1"));
+
+            Set<ShortPostResponse> result = postService.recommendationFlow(getPageRequest());
+
+            assertTrue(result.isEmpty());
+            verify(postRepository, never()).findAllByIdInWithDetails(any());
+        }
+    }
+
+    @Nested
+    class GetTrendingPosts {
+
+        @Test
+        void getTrendingPosts_ShouldKeepLeaderboardOrder() {
+            User mockUser = getMockUser();
+            List<Post> posts = getUserPosts();
+
+            when(userService.getAuthenticatedUser()).thenReturn(mockUser);
+            when(trendingService.topPostIds("Nature", 2)).thenReturn(List.of("mockPost2", "mockPost1"));
+            when(postRepository.findAllByIdInWithDetails(List.of("mockPost2", "mockPost1"))).thenReturn(posts);
+
+            List<ShortPostResponse> result = postService.getTrendingPosts("Nature", 2);
+
+            assertEquals(List.of("mockPost2", "mockPost1"), result.stream().map(ShortPostResponse::getId).toList());
+        }
+
+        @Test
+        void getTrendingPosts_Empty() {
+            when(userService.getAuthenticatedUser()).thenReturn(getMockUser());
+            when(trendingService.topPostIds(null, 20)).thenReturn(List.of());
+
+            assertTrue(postService.getTrendingPosts(null, 20).isEmpty());
         }
     }
 
@@ -554,17 +661,62 @@ public class PostServiceTest {
             when(userService.getAuthenticatedUser()).thenReturn(mockUser);
             when(postRepository.findByUserWithLikes(mockUser, getPageRequest()))
                     .thenReturn(new PageImpl<>(posts, getPageRequest(), posts.size()));
+            when(viewerEngagementService.get(mockUser.getId()))
+                    .thenReturn(new ViewerEngagement(PostIdSet.of(Set.of("mockPost1", "mockPost2")), PostIdSet.of(Set.of())));
 
             Page<ShortPostResponse> result = postService.getLikedPostsResponse(getPageRequest());
 
             assertNotNull(result);
             assertEquals(2, result.getTotalElements());
+            assertTrue(result.getContent().stream().allMatch(ShortPostResponse::getIsLiked));
 
-            verify(userService, times(3)).getAuthenticatedUser();
+            verify(userService).getAuthenticatedUser();
+            verify(placeRepository).findSummariesByPostIdIn(List.of("mockPost1", "mockPost2"));
+            verify(likeRepository, never()).findByUserAndPost(any(User.class), any(Post.class));
             verify(postRepository).findByUserWithLikes(mockUser, getPageRequest());
         }
     }
 
+    @Nested
+    class GetLikedPostsSlice {
+        @Test
+        void getLikedPostsResponse_CursorSlice() {
+            User mockUser = getMockUser();
+            List<Post> posts = getUserPosts();
+            LocalDateTime likedAt = LocalDateTime.of(2024, 1, 1, 12, 0);
+            CursorKey first = cursorKey("mockPost1", likedAt);
+            CursorKey second = cursorKey("mockPost2", likedAt.minusMinutes(1));
+            CursorKey extra = cursorKey("mockPost3", likedAt.minusMinutes(2));
+
+            when(userService.getAuthenticatedUser()).thenReturn(mockUser);
+            when(likeRepository.findKeysByUserIdBefore(mockUser.getId(), Cursor.FIRST.createdAt(), Cursor.FIRST.id(), PageRequest.of(0, 3)))
+                    .thenReturn(List.of(first, second, extra));
+            when(postRepository.findAllByIdInWithDetails(List.of("mockPost1", "mockPost2")))
+                    .thenReturn(posts);
+
+            CursorSlice<ShortPostResponse> result = postService.getLikedPostsResponse(Cursor.FIRST, 2);
+
+            assertTrue(result.hasNext());
+            assertEquals(2, result.content().size());
+            assertEquals(new Cursor(second.getCreatedAt(), "mockPost2"), Cursor.decode(result.nextCursor()));
+            verify(postRepository, never()).findByUserWithLikes(any(User.class), any(Pageable.class));
+        }
+
+        private CursorKey cursorKey(String id, LocalDateTime createdAt) {
+            return new CursorKey() {
+                @Override
+                public String getId() {
+                    return id;
+                }
+
+                @Override
+                public LocalDateTime getCreatedAt() {
+                    return createdAt;
+                }
+            };
+        }
+    }
+
     @Nested
     class GetSavedPostsResponse {
         @Test
@@ -575,13 +727,18 @@ public class PostServiceTest {
             when(userService.getAuthenticatedUser()).thenReturn(mockUser);
             when(postRepository.findByUserSaved(mockUser, getPageRequest()))
                     .thenReturn(new PageImpl<>(posts, getPageRequest(), posts.size()));
+            when(viewerEngagementService.get(mockUser.getId()))
+                    .thenReturn(new ViewerEngagement(PostIdSet.of(Set.of()), PostIdSet.of(Set.of("mockPost2"))));
 
             Page<ShortPostResponse> result = postService.getSavedPostsResponse(getPageRequest());
 
             assertNotNull(result);
             assertEquals(2, result.getTotalElements());
+            assertFalse(result.getContent().getFirst().getIsSaved());
+            assertTrue(result.getContent().get(1).getIsSaved());
 
-            verify(userService, times(3)).getAuthenticatedUser();
+            verify(userService).getAuthenticatedUser();
+            verify(savedPostRepository, never()).findByUserAndPost(any(User.class), any(Post.class));
             verify(postRepository).findByUserSaved(mockUser, getPageRequest());
         }
     }
@@ -590,7 +747,7 @@ public class PostServiceTest {
     class GetPostsByCategory {
         @Test
         void getPostsByCategory_Success() {
-
+            when(userService.getAuthenticatedUser()).thenReturn(getMockUser());
             when(postRepository.findByCategory(any(String.class), any(Pageable.class)))
                     .thenReturn(new PageImpl<>(getUserPosts()));
 
@@ -611,6 +768,7 @@ public class PostServiceTest {
             var postId = "12345";
             var mockPost = getMockPost(postId);
             when(postRepository.findById(postId)).thenReturn(Optional.of(mockPost));
+            when(userService.getAuthenticatedUser()).thenReturn(getMockUser());
             PostResponse result = postService.getPostById(postId);
 
             assertNotNull(result);
@@ -658,6 +816,7 @@ public class PostServiceTest {
 
             verify(postRepository).findById(postId);
             verify(postRepository).save(mockPost);
+            verify(hashtagIndexService).postModified(eq(postId), anyList(), anyList());
         }
 
         @Test
@@ -697,46 +856,6 @@ public class PostServiceTest {
                 .build();
     }
 
-    private Like getLike() {
-        LikeId likeId = new LikeId();
-        likeId.setPost_id("1");
-        likeId.setUser_id("1");
-        Like like = new Like();
-        like.setId(likeId);
-        return like;
-    }
-
-    private SavedPost getSave() {
-        SavedPostId savedPostId = new SavedPostId();
-        savedPostId.setPost_id("1");
-        savedPostId.setUser_id("1");
-        SavedPost savedPost = new SavedPost();
-        savedPost.setId(savedPostId);
-        return savedPost;
-    }
-
-    private Post getSavedPost() {
-        User user = getMockUser();
-
-        Post post1 = new Post();
-        post1.setTitle("title1");
-        post1.setId("mockPost1");
-        post1.setUser(user);
-        var saved = new HashSet<SavedPost>();
-        SavedPost savedPost = new SavedPost();
-        SavedPostId savedPostId = new SavedPostId();
-        savedPostId.setPost_id("1");
-        savedPostId.setUser_id("1");
-        savedPost.setId(savedPostId);
-        savedPost.setUser(user);
-        savedPost.setPost(post1);
-
-        saved.add(savedPost);
-
-        post1.setSavedPosts(saved);
-        return post1;
-    }
-
     private PostRequest getMockPostCreateRequest() {
         PostRequest pr = PostRequest.builder()
                 .hashtags(Set.of(getMockHashtag().getTitle()))
@@ -0,0 +1,175 @@
+package com.dama.wanderwave.post.counter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostCounterService Tests")
+class PostCounterServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PostCounterService postCounterService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        postCounterService = new PostCounterService(jdbcTemplate, meterRegistry);
+        postCounterService.registerMetrics();
+    }
+
+    @Nested
+    @DisplayName("Reads")
+    class ReadTests {
+
+        @Test
+        @DisplayName("Should Merge Pending Deltas Into Persisted Count")
+        void likesCount_ShouldMergePending() {
+            postCounterService.incrementLikes("postId");
+            postCounterService.incrementLikes("postId");
+            postCounterService.decrementLikes("postId");
+            postCounterService.incrementComments("postId");
+
+            assertEquals(6, postCounterService.likesCount("postId", 5));
+            assertEquals(1, postCounterService.commentsCount("postId", 0));
+            assertEquals(3, postCounterService.likesCount("otherId", 3));
+        }
+
+        @Test
+        @DisplayName("Should Never Return Negative Count")
+        void commentsCount_ShouldClampAtZero() {
+            postCounterService.decrementComments("postId");
+
+            assertEquals(0, postCounterService.commentsCount("postId", 0));
+            assertEquals(0, postCounterService.likesCount("postId", null));
+        }
+    }
+
+    @Nested
+    @DisplayName("flush Method")
+    class FlushTests {
+
+        @Test
+        @SuppressWarnings("unchecked")
+        @DisplayName("Should Write One Coalesced Row Per Post")
+        void flush_ShouldBatchDeltas() {
+            for (int i = 0; i < 100; i++) {
+                postCounterService.incrementLikes("first");
+            }
+            postCounterService.incrementComments("second");
+
+            postCounterService.flush();
+
+            ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+            verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+            List<Object[]> batch = captor.getValue();
+            assertEquals(2, batch.size());
+            assertTrue(batch.stream().anyMatch(row -> row[0].equals(100L) && row[1].equals(0L) && row[2].equals("first")));
+            assertTrue(batch.stream().anyMatch(row -> row[0].equals(0L) && row[1].equals(1L) && row[2].equals("second")));
+
+            assertEquals(0, postCounterService.pendingLikes("first"));
+            assertEquals(0, postCounterService.pendingComments("second"));
+            assertEquals(1, meterRegistry.get("posts.counters.flush.batch.size").summary().count());
+            assertEquals(2, meterRegistry.get("posts.counters.flush.batch.size").summary().totalAmount());
+            assertEquals(1, meterRegistry.get("posts.counters.flush.duration").timer().count());
+            assertEquals(1, meterRegistry.get("posts.counters.flush.lag").timer().count());
+        }
+
+        @Test
+        @DisplayName("Should Skip Database When Nothing Is Pending")
+        void flush_ShouldSkipEmpty() {
+            postCounterService.incrementLikes("postId");
+            postCounterService.decrementLikes("postId");
+
+            postCounterService.flush();
+
+            verifyNoInteractions(jdbcTemplate);
+            assertEquals(0, meterRegistry.get("posts.counters.pending").gauge().value());
+        }
+
+        @Test
+        @DisplayName("Should Keep Deltas When Write Fails")
+        void flush_ShouldRetainOnFailure() {
+            postCounterService.incrementLikes("postId");
+            when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new QueryTimeoutException("timeout"));
+
+            postCounterService.flush();
+
+            assertEquals(1, postCounterService.pendingLikes("postId"));
+            assertEquals(1, meterRegistry.get("posts.counters.pending").gauge().value());
+            assertEquals(0, meterRegistry.get("posts.counters.flush.batch.size").summary().count());
+        }
+
+        @Test
+        @DisplayName("Should Not Lose Increments Made Concurrently With Flushes")
+        void flush_ShouldNotLoseConcurrentIncrements() throws InterruptedException {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            for (int t = 0; t < 4; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        postCounterService.incrementLikes("postId");
+                    }
+                });
+            }
+            executor.shutdown();
+            while (!executor.awaitTermination(1, TimeUnit.MILLISECONDS)) {
+                postCounterService.flush();
+            }
+            postCounterService.flush();
+
+            long flushed = 0;
+            ArgumentCaptor<List<Object[]>> captor = captor();
+
+            verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), captor.capture());
+            for (List<Object[]> batch : captor.getAllValues()) {
+                for (Object[] row : batch) {
+                    flushed += (Long) row[0];
+                }
+            }
+            assertEquals(40_000, flushed);
+            assertEquals(0, postCounterService.pendingLikes("postId"));
+        }
+
+        @SuppressWarnings("unchecked")
+        private ArgumentCaptor<List<Object[]>> captor() {
+            return ArgumentCaptor.forClass(List.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("flushOnShutdown Method")
+    class ShutdownTests {
+
+        @Test
+        @DisplayName("Should Persist Pending Deltas")
+        void flushOnShutdown_ShouldFlush() {
+            postCounterService.incrementComments("postId");
+
+            postCounterService.flushOnShutdown();
+
+            verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+            assertEquals(0, postCounterService.pendingComments("postId"));
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.dama.wanderwave.post.engagement;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PostIdSet Tests")
+class PostIdSetTest {
+
+    @Test
+    @DisplayName("Should Contain Exactly The Given Ids")
+    void of_ShouldContainIds() {
+        PostIdSet set = PostIdSet.of(List.of("b", "a", "ccc", "a"));
+
+        assertEquals(3, set.size());
+        assertTrue(set.contains("a"));
+        assertTrue(set.contains("b"));
+        assertTrue(set.contains("ccc"));
+        assertFalse(set.contains("c"));
+        assertFalse(set.contains("cccc"));
+        assertFalse(PostIdSet.of(List.of()).contains("a"));
+    }
+
+    @Test
+    @DisplayName("Should Add And Remove Without Changing The Original")
+    void withAndWithout_ShouldCopy() {
+        PostIdSet original = PostIdSet.of(List.of("a", "c"));
+
+        PostIdSet added = original.with("b");
+        PostIdSet removed = added.without("a");
+
+        assertFalse(original.contains("b"));
+        assertTrue(added.contains("a") && added.contains("b") && added.contains("c"));
+        assertFalse(removed.contains("a"));
+        assertTrue(removed.contains("b") && removed.contains("c"));
+        assertSame(added, added.with("b"));
+        assertSame(removed, removed.without("a"));
+    }
+
+    @Test
+    @DisplayName("Should Match HashSet Under Random Updates")
+    void randomUpdates_ShouldMatchHashSet() {
+        Random random = new Random(42);
+        Set<String> expected = new HashSet<>();
+        PostIdSet set = PostIdSet.of(List.of());
+        List<String> universe = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            universe.add(Long.toString(random.nextLong(), 36));
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            String id = universe.get(random.nextInt(universe.size()));
+            if (random.nextBoolean()) {
+                expected.add(id);
+                set = set.with(id);
+            } else {
+                expected.remove(id);
+                set = set.without(id);
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (String id : universe) {
+            assertEquals(expected.contains(id), set.contains(id), id);
+        }
+        assertEquals(PostIdSet.of(expected).footprintBytes(), set.footprintBytes());
+    }
+
+    @Test
+    @DisplayName("Should Take Far Less Heap Than Strings")
+    void footprint_ShouldBeCompact() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ids.add(String.format("post%012d", i));
+        }
+
+        assertTrue(PostIdSet.of(ids).footprintBytes() < 1000 * 24);
+    }
+}
@@ -0,0 +1,126 @@
+package com.dama.wanderwave.post.engagement;
+
+import com.dama.wanderwave.user.like.LikeRepository;
+import com.dama.wanderwave.user.saved_post.SavedPostRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ViewerEngagementService Tests")
+class ViewerEngagementServiceTest {
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private SavedPostRepository savedPostRepository;
+
+    private final AtomicLong ticker = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private ViewerEngagementService viewerEngagementService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        viewerEngagementService = new ViewerEngagementService(likeRepository, savedPostRepository, meterRegistry);
+        ReflectionTestUtils.setField(viewerEngagementService, "maxBytes", 1_000_000L);
+        ReflectionTestUtils.setField(viewerEngagementService, "expireAfterLoad", Duration.ofMinutes(10));
+        viewerEngagementService.ticker = ticker::get;
+        viewerEngagementService.init();
+    }
+
+    @Nested
+    @DisplayName("get Method")
+    class GetTests {
+
+        @Test
+        @DisplayName("Should Load Once And Serve Later Reads From Memory")
+        void get_ShouldLoadOnce() {
+            when(likeRepository.findPostIdsByUserId("userId")).thenReturn(List.of("liked"));
+            when(savedPostRepository.findPostIdsByUserId("userId")).thenReturn(List.of("saved"));
+
+            ViewerEngagement first = viewerEngagementService.get("userId");
+            ViewerEngagement second = viewerEngagementService.get("userId");
+
+            assertTrue(first.isLiked("liked"));
+            assertFalse(first.isLiked("saved"));
+            assertTrue(second.isSaved("saved"));
+            verify(likeRepository, times(1)).findPostIdsByUserId("userId");
+            verify(savedPostRepository, times(1)).findPostIdsByUserId("userId");
+
+            assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", ViewerEngagementService.CACHE_NAME)
+                    .tag("result", "hit").functionCounter().count());
+            assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", ViewerEngagementService.CACHE_NAME)
+                    .tag("result", "miss").functionCounter().count());
+            assertEquals(first.footprintBytes(), meterRegistry.get("cache.heap.bytes")
+                    .tag("cache", ViewerEngagementService.CACHE_NAME).gauge().value());
+        }
+    }
+
+    @Nested
+    @DisplayName("Updates")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should Patch Cached Entry Without Reloading")
+        void updates_ShouldPatchInPlace() {
+            when(likeRepository.findPostIdsByUserId("userId")).thenReturn(List.of("a"));
+            when(savedPostRepository.findPostIdsByUserId("userId")).thenReturn(List.of());
+            viewerEngagementService.get("userId");
+
+            viewerEngagementService.liked("userId", "b");
+            viewerEngagementService.unliked("userId", "a");
+            viewerEngagementService.saved("userId", "c");
+
+            ViewerEngagement engagement = viewerEngagementService.get("userId");
+            assertTrue(engagement.isLiked("b"));
+            assertFalse(engagement.isLiked("a"));
+            assertTrue(engagement.isSaved("c"));
+
+            viewerEngagementService.unsaved("userId", "c");
+            assertFalse(viewerEngagementService.get("userId").isSaved("c"));
+            verify(likeRepository, times(1)).findPostIdsByUserId("userId");
+        }
+
+        @Test
+        @DisplayName("Should Reload An Entry After The TTL Even While It Is Read And Patched")
+        void get_ShouldReloadAfterTtl() {
+            when(likeRepository.findPostIdsByUserId("userId")).thenReturn(List.of("a"), List.of("a", "remote"));
+            when(savedPostRepository.findPostIdsByUserId("userId")).thenReturn(List.of());
+            viewerEngagementService.get("userId");
+
+            for (int minute = 0; minute < 9; minute++) {
+                ticker.addAndGet(Duration.ofMinutes(1).toNanos());
+                viewerEngagementService.liked("userId", "b" + minute);
+                viewerEngagementService.get("userId");
+            }
+            assertFalse(viewerEngagementService.get("userId").isLiked("remote"));
+
+            ticker.addAndGet(Duration.ofMinutes(2).toNanos());
+            assertTrue(viewerEngagementService.get("userId").isLiked("remote"));
+            verify(likeRepository, times(2)).findPostIdsByUserId("userId");
+        }
+
+        @Test
+        @DisplayName("Should Not Load Users That Are Not Cached")
+        void updates_ShouldIgnoreUncachedUsers() {
+            viewerEngagementService.liked("userId", "b");
+
+            verifyNoInteractions(likeRepository, savedPostRepository);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.dama.wanderwave.post.recommendation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SeenPostsService Tests")
+class SeenPostsServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SeenPostsService seenPostsService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        seenPostsService = new SeenPostsService(meterRegistry);
+        ReflectionTestUtils.setField(seenPostsService, "expectedPerUser", 100);
+        ReflectionTestUtils.setField(seenPostsService, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(seenPostsService, "horizon", Duration.ofHours(6));
+        ReflectionTestUtils.setField(seenPostsService, "maxUsers", 10L);
+        seenPostsService.init();
+    }
+
+    @Test
+    @DisplayName("Should Remember Recommended Posts Per User")
+    void markSeen_ShouldRememberPerUser() {
+        Predicate<String> seen = seenPostsService.seenBy("user");
+        assertFalse(seen.test("p1"));
+
+        seenPostsService.markSeen("user", List.of("p1", "p2"));
+
+        assertTrue(seenPostsService.seenBy("user").test("p1"));
+        assertTrue(seenPostsService.seenBy("user").test("p2"));
+        assertFalse(seenPostsService.seenBy("other").test("p1"));
+    }
+
+    @Test
+    @DisplayName("Should Keep Recent Posts And The False Positive Rate Bounded Past Capacity")
+    void markSeen_ShouldRotateGenerations() {
+        List<String> ids = IntStream.range(0, 250).mapToObj(i -> "post-" + i).toList();
+        seenPostsService.markSeen("user", ids);
+
+        Predicate<String> seen = seenPostsService.seenBy("user");
+        assertTrue(ids.subList(100, 250).stream().allMatch(seen));
+        long falsePositives = IntStream.range(0, 10_000).mapToObj(i -> "other-" + i).filter(seen).count();
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Should Export User Count And Heap Bound")
+    void gauges_ShouldReportSize() {
+        seenPostsService.markSeen("a", List.of("p1"));
+        seenPostsService.markSeen("b", List.of("p1"));
+        seenPostsService.markSeen("c", List.of());
+
+        assertEquals(2, meterRegistry.get("recommendations.seen.users").gauge().value());
+        assertEquals(2 * SeenPosts.footprintBytes(100, 0.01),
+                meterRegistry.get("recommendations.seen.bytes").gauge().value());
+    }
+}
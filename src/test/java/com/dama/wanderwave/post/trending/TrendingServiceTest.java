@@ -0,0 +1,204 @@
+package com.dama.wanderwave.post.trending;
+
+import com.dama.wanderwave.post.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TrendingService Tests")
+class TrendingServiceTest {
+
+    private static final Instant START = Instant.parse("2024-06-01T12:00:00Z");
+
+    @Mock
+    private PostRepository postRepository;
+
+    private TrendingService trendingService;
+
+    @BeforeEach
+    void setUp() {
+        trendingService = new TrendingService(postRepository);
+        ReflectionTestUtils.setField(trendingService, "halfLife", Duration.ofHours(6));
+        ReflectionTestUtils.setField(trendingService, "capacity", 2);
+        ReflectionTestUtils.setField(trendingService, "minScore", 0.05);
+        ReflectionTestUtils.setField(trendingService, "seedWindow", Duration.ofDays(7));
+        setTime(START);
+        trendingService.init();
+    }
+
+    private void setTime(Instant instant) {
+        trendingService.clock = Clock.fixed(instant, ZoneId.of("UTC"));
+    }
+
+    private void stubCategory(String postId, String category) {
+        when(postRepository.findCategoryNameById(postId)).thenReturn(Optional.of(category));
+    }
+
+    @Nested
+    @DisplayName("record Method")
+    class RecordTests {
+
+        @Test
+        @DisplayName("Should Rank By Weighted Score Overall And Per Category")
+        void record_ShouldRankByScore() {
+            stubCategory("a", "Nature");
+            stubCategory("b", "City");
+            stubCategory("c", "Nature");
+
+            trendingService.record("a", TrendingEvent.LIKE);
+            trendingService.record("b", TrendingEvent.SAVE);
+            trendingService.record("c", TrendingEvent.COMMENT);
+
+            assertEquals(List.of("b", "c"), trendingService.topPostIds(null, 10));
+            assertEquals(List.of("c", "a"), trendingService.topPostIds("Nature", 10));
+            assertEquals(List.of("b"), trendingService.topPostIds("City", 10));
+            assertEquals(List.of(), trendingService.topPostIds("Unknown", 10));
+        }
+
+        @Test
+        @DisplayName("Should Resolve Category Only For The First Event Of A Post")
+        void record_ShouldCacheCategory() {
+            stubCategory("a", "Nature");
+
+            trendingService.record("a", TrendingEvent.LIKE);
+            trendingService.record("a", TrendingEvent.LIKE);
+
+            verify(postRepository, times(1)).findCategoryNameById("a");
+        }
+
+        @Test
+        @DisplayName("Should Ignore Events Of Missing Posts")
+        void record_ShouldIgnoreMissingPost() {
+            when(postRepository.findCategoryNameById("gone")).thenReturn(Optional.empty());
+
+            trendingService.record("gone", TrendingEvent.LIKE);
+
+            assertTrue(trendingService.topPostIds(null, 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should Let Fresh Activity Overtake Older Activity")
+        void record_ShouldDecayOverTime() {
+            stubCategory("old", "Nature");
+            stubCategory("new", "Nature");
+
+            trendingService.record("old", TrendingEvent.SAVE);
+            setTime(START.plus(Duration.ofHours(12)));
+            trendingService.record("new", TrendingEvent.LIKE);
+
+            // 3 halved twice is 0.75, below a fresh like
+            assertEquals(List.of("new", "old"), trendingService.topPostIds(null, 10));
+        }
+
+        @Test
+        @DisplayName("Should Drop Post Whose Score Falls To Zero")
+        void record_ShouldDropUndone() {
+            stubCategory("a", "Nature");
+
+            trendingService.record("a", TrendingEvent.LIKE);
+            trendingService.record("a", TrendingEvent.UNLIKE);
+
+            assertTrue(trendingService.topPostIds("Nature", 10).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("rebase Method")
+    class RebaseTests {
+
+        @Test
+        @DisplayName("Should Keep Order And Prune Cold Posts")
+        void rebase_ShouldPruneColdPosts() {
+            stubCategory("a", "Nature");
+            stubCategory("b", "Nature");
+
+            trendingService.record("a", TrendingEvent.LIKE);
+            setTime(START.plus(Duration.ofHours(30)));
+            trendingService.record("b", TrendingEvent.LIKE);
+
+            trendingService.rebase();
+
+            // "a" decayed to 1/32 of a like, under the 0.05 floor
+            assertEquals(List.of("b"), trendingService.topPostIds(null, 10));
+        }
+    }
+
+    @Nested
+    @DisplayName("seed Method")
+    class SeedTests {
+
+        @Test
+        @DisplayName("Should Load Decayed Scores From Database")
+        void seed_ShouldLoadScores() {
+            TrendingSeed first = seed("a", "Nature", 5.0);
+            TrendingSeed second = seed("b", "City", 1.0);
+            when(postRepository.findTrendingSeeds(any(), any(), anyDouble(), eq(1.0), eq(2.0), eq(3.0)))
+                    .thenReturn(List.of(second, first));
+
+            trendingService.seed();
+
+            assertEquals(List.of("a", "b"), trendingService.topPostIds(null, 10));
+            verify(postRepository, never()).findCategoryNameById(anyString());
+        }
+
+        @Test
+        @DisplayName("Should Start Empty When Database Fails")
+        void seed_ShouldSurviveFailure() {
+            when(postRepository.findTrendingSeeds(any(), any(), anyDouble(), anyDouble(), anyDouble(), anyDouble()))
+                    .thenThrow(new QueryTimeoutException("timeout"));
+
+            trendingService.seed();
+
+            assertTrue(trendingService.topPostIds(null, 10).isEmpty());
+        }
+
+        private TrendingSeed seed(String postId, String category, double score) {
+            return new TrendingSeed() {
+                @Override
+                public String getPostId() {
+                    return postId;
+                }
+
+                @Override
+                public String getCategory() {
+                    return category;
+                }
+
+                @Override
+                public double getScore() {
+                    return score;
+                }
+            };
+        }
+    }
+
+    @Test
+    @DisplayName("Should Remove Deleted Post From Every Board")
+    void remove_ShouldDropPost() {
+        stubCategory("a", "Nature");
+        trendingService.record("a", TrendingEvent.LIKE);
+
+        trendingService.remove("a");
+
+        assertTrue(trendingService.topPostIds(null, 10).isEmpty());
+        assertTrue(trendingService.topPostIds("Nature", 10).isEmpty());
+    }
+}
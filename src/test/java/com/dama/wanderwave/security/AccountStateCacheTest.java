@@ -0,0 +1,73 @@
+package com.dama.wanderwave.security;
+
+import com.dama.wanderwave.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountStateCache Tests")
+class AccountStateCacheTest {
+
+    private static final String EMAIL = "user@mail.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AccountStateCache accountStateCache;
+
+    @BeforeEach
+    void setUp() {
+        accountStateCache = new AccountStateCache(userRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(accountStateCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(accountStateCache, "expireAfterWrite", Duration.ofMinutes(5));
+        accountStateCache.init();
+    }
+
+    @Test
+    @DisplayName("Should Query Account Once While Cached")
+    void get_ShouldCacheAccount() {
+        AccountState state = new AccountState("user-1", EMAIL, false, true);
+        when(userRepository.findAccountStateByEmail(EMAIL)).thenReturn(Optional.of(state));
+
+        assertEquals(Optional.of(state), accountStateCache.get(EMAIL));
+        assertEquals(Optional.of(state), accountStateCache.get(EMAIL));
+
+        verify(userRepository, times(1)).findAccountStateByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should Not Cache Missing Account")
+    void get_ShouldNotCacheMissing() {
+        when(userRepository.findAccountStateByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        assertTrue(accountStateCache.get(EMAIL).isEmpty());
+        assertTrue(accountStateCache.get(EMAIL).isEmpty());
+
+        verify(userRepository, times(2)).findAccountStateByEmail(EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should Reload Account After Eviction")
+    void evict_ShouldReload() {
+        when(userRepository.findAccountStateByEmail(EMAIL))
+                .thenReturn(Optional.of(new AccountState("user-1", EMAIL, false, true)))
+                .thenReturn(Optional.of(new AccountState("user-1", EMAIL, true, true)));
+
+        accountStateCache.get(EMAIL);
+        accountStateCache.evict(EMAIL);
+
+        assertTrue(accountStateCache.get(EMAIL).orElseThrow().accountLocked());
+    }
+}
@@ -0,0 +1,121 @@
+package com.dama.wanderwave.security;
+
+import com.dama.wanderwave.user.User;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtFilter Tests")
+class JwtFilterTest {
+
+    private static final String EMAIL = "user@mail.com";
+
+    @Mock
+    private JwtService jwtService;
+    @Mock
+    private UserDetailsService userDetailsService;
+    @Mock
+    private AccountStateCache accountStateCache;
+    @Mock
+    private FilterChain filterChain;
+
+    @InjectMocks
+    private JwtFilter jwtFilter;
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.clearContext();
+        ReflectionTestUtils.setField(jwtFilter, "claimsAuthentication", true);
+        request = new MockHttpServletRequest("GET", "/api/posts");
+        request.setServletPath("/api/posts");
+        request.addHeader("Authorization", "Bearer token");
+        when(jwtService.validate("token")).thenReturn(
+                new ValidatedToken(EMAIL, Instant.now().plusSeconds(60), List.of("ROLE_USER")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication filter() throws Exception {
+        jwtFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+        verify(filterChain).doFilter(any(), any());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Nested
+    @DisplayName("Claims Authentication")
+    class ClaimsAuthenticationTests {
+
+        @Test
+        @DisplayName("Should Authenticate From Claims Without Loading User Details")
+        void shouldAuthenticateFromClaims() throws Exception {
+            when(accountStateCache.get(EMAIL)).thenReturn(Optional.of(new AccountState("user-1", EMAIL, false, true)));
+
+            Authentication authentication = filter();
+
+            assertNotNull(authentication);
+            User principal = (User) authentication.getPrincipal();
+            assertEquals("user-1", principal.getId());
+            assertEquals(EMAIL, authentication.getName());
+            assertEquals(List.of("ROLE_USER"),
+                    authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+            verifyNoInteractions(userDetailsService);
+        }
+
+        @Test
+        @DisplayName("Should Not Authenticate Locked Account")
+        void shouldRejectLockedAccount() throws Exception {
+            when(accountStateCache.get(EMAIL)).thenReturn(Optional.of(new AccountState("user-1", EMAIL, true, true)));
+
+            assertNull(filter());
+        }
+
+        @Test
+        @DisplayName("Should Not Authenticate Unknown Account")
+        void shouldRejectUnknownAccount() throws Exception {
+            when(accountStateCache.get(EMAIL)).thenReturn(Optional.empty());
+
+            assertNull(filter());
+        }
+    }
+
+    @Test
+    @DisplayName("Should Load User Details When Claims Authentication Is Off")
+    void shouldLoadUserDetailsWhenDisabled() throws Exception {
+        ReflectionTestUtils.setField(jwtFilter, "claimsAuthentication", false);
+        User user = User.builder().id("user-1").email(EMAIL).build();
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user);
+
+        Authentication authentication = filter();
+
+        assertSame(user, authentication.getPrincipal());
+        verify(accountStateCache, never()).get(anyString());
+    }
+}
@@ -0,0 +1,90 @@
+package com.dama.wanderwave.security;
+
+import com.dama.wanderwave.role.Role;
+import com.dama.wanderwave.user.User;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JwtService Tests")
+class JwtServiceTest {
+
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdHMtdGhhdC1pcy1sb25nLWVub3VnaC0yNTY=";
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newService(SECRET);
+        user = User.builder()
+                .id("user-1")
+                .email("user@mail.com")
+                .roles(Set.of(Role.builder().name("ROLE_USER").build()))
+                .build();
+    }
+
+    private JwtService newService(String secret) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secretKey", secret);
+        ReflectionTestUtils.setField(service, "accessTokenExpiration", 60_000L);
+        ReflectionTestUtils.setField(service, "refreshTokenExpiration", 120_000L);
+        service.init();
+        return service;
+    }
+
+    @Nested
+    @DisplayName("validate Method")
+    class ValidateTests {
+
+        @Test
+        @DisplayName("Should Return Subject, Expiry And Authorities From One Parse")
+        void validate_ShouldReturnClaims() {
+            String token = jwtService.generateToken(Map.of(), user);
+
+            ValidatedToken validated = jwtService.validate(token);
+
+            assertEquals("user@mail.com", validated.subject());
+            assertTrue(validated.expiresAt().isAfter(Instant.now()));
+            assertEquals(List.of("ROLE_USER"), validated.authorities());
+            assertTrue(validated.isValidFor(user));
+        }
+
+        @Test
+        @DisplayName("Should Reject Token Signed With Another Key")
+        void validate_ShouldRejectForeignSignature() {
+            JwtService other = newService("b3RoZXItc2VjcmV0LWtleS1mb3ItdGVzdHMtdGhhdC1pcy1sb25nLWVub3VnaA==");
+            String token = other.generateToken(Map.of(), user);
+
+            assertThrows(SignatureException.class, () -> jwtService.validate(token));
+        }
+
+        @Test
+        @DisplayName("Should Reject Expired Token")
+        void validate_ShouldRejectExpired() {
+            String token = jwtService.buildToken(Map.of(), user, -1_000L);
+
+            assertThrows(ExpiredJwtException.class, () -> jwtService.validate(token));
+        }
+    }
+
+    @Test
+    @DisplayName("Should Not Be Valid For Another User")
+    void isValidFor_ShouldCheckSubject() {
+        ValidatedToken validated = jwtService.validate(jwtService.generateToken(Map.of(), user));
+        User other = User.builder().email("other@mail.com").build();
+
+        assertFalse(validated.isValidFor(other));
+    }
+}
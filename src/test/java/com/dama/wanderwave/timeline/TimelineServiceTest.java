@@ -0,0 +1,99 @@
+package com.dama.wanderwave.timeline;
+
+import com.dama.wanderwave.post.Post;
+import com.dama.wanderwave.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TimelineService Tests")
+class TimelineServiceTest {
+
+    @InjectMocks
+    private TimelineService timelineService;
+
+    @Mock
+    private TimelineRepository timelineRepository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(timelineService, "capacity", 800);
+        ReflectionTestUtils.setField(timelineService, "backfillSize", 50);
+    }
+
+    @Nested
+    @DisplayName("fanOut Method")
+    class FanOutTests {
+
+        @Test
+        @DisplayName("Should Push Post Into Followers Timelines")
+        void fanOut_ShouldInsertForFollowers() {
+            LocalDateTime createdAt = LocalDateTime.now();
+            Post post = Post.builder()
+                    .id("postId")
+                    .user(User.builder().id("authorId").build())
+                    .createdAt(createdAt)
+                    .build();
+
+            timelineService.fanOut(post);
+
+            verify(timelineRepository).fanOut("postId", "authorId", createdAt);
+            verify(timelineRepository).trimFollowersOf("authorId", 800);
+        }
+    }
+
+    @Nested
+    @DisplayName("Subscription Methods")
+    class SubscriptionTests {
+
+        @Test
+        @DisplayName("Should Backfill Recent Posts On Follow")
+        void follow_ShouldBackfill() {
+            timelineService.follow("followerId", "followedId");
+
+            verify(timelineRepository).backfill("followerId", "followedId", 50);
+            verify(timelineRepository).trimUser("followerId", 800);
+        }
+
+        @Test
+        @DisplayName("Should Prune Author Posts On Unfollow")
+        void unfollow_ShouldPrune() {
+            timelineService.unfollow("followerId", "followedId");
+
+            verify(timelineRepository).deleteByUserIdAndAuthorId("followerId", "followedId");
+        }
+    }
+
+    @Nested
+    @DisplayName("getTimelinePostIds Method")
+    class GetTimelinePostIdsTests {
+
+        @Test
+        @DisplayName("Should Return Ordered Post Ids Page")
+        void getTimelinePostIds_ShouldReturnPage() {
+            PageRequest pageRequest = PageRequest.of(0, 10);
+            when(timelineRepository.findPostIdsByUserId("userId", pageRequest))
+                    .thenReturn(new PageImpl<>(List.of("p2", "p1"), pageRequest, 2));
+
+            Page<String> result = timelineService.getTimelinePostIds("userId", pageRequest);
+
+            assertEquals(List.of("p2", "p1"), result.getContent());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.dama.wanderwave.user;
+
+import com.dama.wanderwave.handler.user.UserNotFoundException;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthenticatedUserHolder Tests")
+class AuthenticatedUserHolderTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AuthenticatedUserHolder holder;
+
+    @BeforeEach
+    void setUp() {
+        holder = new AuthenticatedUserHolder(userRepository);
+        User principal = User.builder().id("user-1").email("user@mail.com").build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private User stubUser() {
+        User user = User.builder().id("user-1").email("user@mail.com").nickname("nick").build();
+        when(userRepository.findById("user-1")).thenReturn(Optional.of(user));
+        return user;
+    }
+
+    @Test
+    @DisplayName("Should Load User Once Per Request By Principal Id")
+    void get_ShouldMemoizeWithinRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        User user = stubUser();
+
+        assertSame(user, holder.get());
+        assertSame(user, holder.get());
+
+        verify(userRepository, times(1)).findById("user-1");
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    @DisplayName("Should Load Again Outside Of A Request")
+    void get_ShouldNotMemoizeOutsideRequest() {
+        stubUser();
+
+        holder.get();
+        holder.get();
+
+        verify(userRepository, times(2)).findById("user-1");
+    }
+
+    @Test
+    @DisplayName("Should Reload After Evicting The Current User")
+    void evict_ShouldDropCurrentUser() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        stubUser();
+
+        holder.get();
+        holder.evict("someone-else");
+        holder.get();
+        holder.evict("user-1");
+        holder.get();
+
+        verify(userRepository, times(2)).findById("user-1");
+    }
+
+    @Test
+    @DisplayName("Should Throw UserNotFoundException When User Is Gone")
+    void get_ShouldThrowWhenMissing() {
+        when(userRepository.findById("user-1")).thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> holder.get());
+    }
+}
@@ -4,6 +4,8 @@ import com.dama.wanderwave.azure.AzureService;
 import com.dama.wanderwave.handler.GlobalExceptionHandler;
 import com.dama.wanderwave.handler.azure.FileTypeException;
 import com.dama.wanderwave.handler.user.UserNotFoundException;
+import com.dama.wanderwave.user.presence.PresenceResponse;
+import com.dama.wanderwave.user.presence.PresenceService;
 import com.dama.wanderwave.user.request.SubscribeRequest;
 import com.dama.wanderwave.user.response.UserResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -22,6 +24,7 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 
@@ -42,7 +45,8 @@ enum ApiUrl {
     SUBSCRIPTIONS("/api/users/subscriptions/{userId}"),
     SUBSCRIBERS("/api/users/subscribers/{userId}"),
     UPLOAD_AVATAR("/api/users/upload-avatar"),
-    RECOMMENDATIONS("/api/users/recommendations");
+    RECOMMENDATIONS("/api/users/recommendations"),
+    PRESENCE("/api/users/presence");
 
     private final String url;
 }
@@ -57,6 +61,9 @@ class UserControllerTest {
     @Mock
     private AzureService azureService;
 
+    @Mock
+    private PresenceService presenceService;
+
     @InjectMocks
     private UserController userController;
 
@@ -692,4 +699,29 @@ class UserControllerTest {
             verify(userService, times(1)).getUserFriendshipRecommendations();
         }
     }
+
+    @Nested
+    @DisplayName("Tests for user presence")
+    class PresenceTests {
+
+        @Test
+        @DisplayName("Should return presence of every requested user")
+        void testGetPresence_Success() throws Exception {
+            Instant lastSeen = Instant.parse("2024-06-01T12:00:00Z");
+            when(presenceService.presenceOf(List.of("u1", "u2"))).thenReturn(List.of(
+                    new PresenceResponse("u1", true, null),
+                    new PresenceResponse("u2", false, lastSeen)));
+
+            mockMvc.perform(get(ApiUrl.PRESENCE.getUrl())
+                            .param("ids", "u1,u2")
+                            .accept(ACCEPT_TYPE))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message[0].userId").value("u1"))
+                    .andExpect(jsonPath("$.message[0].online").value(true))
+                    .andExpect(jsonPath("$.message[1].userId").value("u2"))
+                    .andExpect(jsonPath("$.message[1].online").value(false));
+
+            verify(presenceService, times(1)).presenceOf(List.of("u1", "u2"));
+        }
+    }
 }
@@ -5,6 +5,8 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.dama.wanderwave.handler.user.UserNotFoundException;
 import com.dama.wanderwave.notification.NotificationService;
+import com.dama.wanderwave.security.AccountStateCache;
+import com.dama.wanderwave.timeline.TimelineService;
 import com.dama.wanderwave.user.request.SubscribeRequest;
 import com.dama.wanderwave.user.response.UserResponse;
 import org.junit.jupiter.api.*;
@@ -32,6 +34,12 @@ class UserServiceTest {
     private Authentication authentication;
     @Mock
     private NotificationService notificationService;
+    @Mock
+    private TimelineService timelineService;
+    @Mock
+    private AuthenticatedUserHolder authenticatedUserHolder;
+    @Mock
+    private AccountStateCache accountStateCache;
 
     @InjectMocks
     private UserService userService;
@@ -54,7 +62,7 @@ class UserServiceTest {
             String userId = "mockId";
             User mockUser = getMockUser();
             when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-            when(userRepository.findByEmail(isNull())).thenReturn(Optional.of(mockUser));
+            when(authenticatedUserHolder.get()).thenReturn(mockUser);
             when(userService.userToUserResponse(mockUser)).thenReturn(UserResponse.builder()
                     .id(userId)
                     .nickname(mockUser.getNickname())
@@ -97,6 +105,7 @@ class UserServiceTest {
 
             verify(userRepository).save(mockAuthenticatedUser);
             verify(userRepository).save(mockFollowedUser);
+            verify(timelineService).follow("followerId", "followedId");
         }
 
         @Test
@@ -119,6 +128,7 @@ class UserServiceTest {
 
             verify(userRepository).save(mockAuthenticatedUser);
             verify(userRepository).save(mockFollowedUser);
+            verify(timelineService).unfollow("followerId", "followedId");
         }
 
         @Test
@@ -196,7 +206,7 @@ class UserServiceTest {
             User mockBlocker = getMockUser(blockerId, "blocker@example.com");
             User mockBlocked = getMockUser(blockedId, "blocked@example.com");
 
-            when(userRepository.findByEmail(isNull())).thenReturn(Optional.of(mockBlocker));
+            when(authenticatedUserHolder.get()).thenReturn(mockBlocker);
             when(userRepository.findById(blockerId)).thenReturn(Optional.of(mockBlocker));
             when(userRepository.findById(blockedId)).thenReturn(Optional.of(mockBlocked));
 
@@ -216,7 +226,7 @@ class UserServiceTest {
             User mockBlocked = getMockUser(blockedId, "blocked@example.com");
             mockBlocker.getBlackList().userIds().add(mockBlocked.getId());
 
-            when(userRepository.findByEmail(isNull())).thenReturn(Optional.of(mockBlocker));
+            when(authenticatedUserHolder.get()).thenReturn(mockBlocker);
             when(userRepository.findById(blockerId)).thenReturn(Optional.of(mockBlocker));
             when(userRepository.findById(blockedId)).thenReturn(Optional.of(mockBlocked));
 
@@ -230,6 +240,7 @@ class UserServiceTest {
         @DisplayName("Update blacklist should throw UserNotFoundException when blocker does not exist")
         void updateBlacklist_BlockerNotFound() {
             String blockedId = "blockedId";
+            when(authenticatedUserHolder.get()).thenThrow(new UserNotFoundException("User not found"));
             assertThrows(UserNotFoundException.class, () -> userService.updateBlacklist(blockedId, true));
         }
 
@@ -240,7 +251,7 @@ class UserServiceTest {
             String blockedId = "blockedId";
 
             User mockBlocker = getMockUser(blockerId, "blocker@example.com");
-            when(userRepository.findByEmail(isNull())).thenReturn(Optional.of(mockBlocker));
+            when(authenticatedUserHolder.get()).thenReturn(mockBlocker);
             when(userRepository.findById(blockerId)).thenReturn(Optional.of(mockBlocker));
             when(userRepository.findById(blockedId)).thenReturn(Optional.empty());
 
@@ -262,6 +273,8 @@ class UserServiceTest {
 
             assertEquals("User banned successfully", result);
             verify(userRepository).save(mockUser);
+            verify(authenticatedUserHolder).evict(userId);
+            verify(accountStateCache).evict(mockUser.getEmail());
         }
 
         @Test
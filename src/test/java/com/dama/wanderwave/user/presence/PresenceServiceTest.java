@@ -0,0 +1,103 @@
+package com.dama.wanderwave.user.presence;
+
+import com.dama.wanderwave.websocket.cluster.ClusterSessionRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PresenceService Tests")
+class PresenceServiceTest {
+
+    @Mock
+    private ObjectProvider<ClusterSessionRegistry> clusterSessionRegistryProvider;
+
+    @Mock
+    private ClusterSessionRegistry clusterSessionRegistry;
+
+    private PresenceService presenceService;
+
+    private void start(ClusterSessionRegistry registry) {
+        when(clusterSessionRegistryProvider.getIfAvailable()).thenReturn(registry);
+        presenceService = new PresenceService(clusterSessionRegistryProvider, new SimpleMeterRegistry());
+        presenceService.init();
+    }
+
+    @Nested
+    @DisplayName("Single Instance")
+    class SingleInstanceTests {
+
+        @BeforeEach
+        void setUp() {
+            start(null);
+        }
+
+        @Test
+        @DisplayName("Should Stay Online Until The Last Session Disconnects")
+        void isOnline_ShouldCountSessions() {
+            presenceService.connected("alice", "s1");
+            presenceService.connected("alice", "s2");
+
+            presenceService.disconnected("s1");
+            assertTrue(presenceService.isOnline("alice"));
+            assertNull(presenceService.presenceOf("alice").lastSeen());
+
+            presenceService.disconnected("s2");
+            assertFalse(presenceService.isOnline("alice"));
+            assertNotNull(presenceService.presenceOf("alice").lastSeen());
+        }
+
+        @Test
+        @DisplayName("Should Ignore A Repeated Disconnect Of The Same Session")
+        void disconnected_ShouldBeIdempotent() {
+            presenceService.connected("alice", "s1");
+            presenceService.connected("alice", "s2");
+
+            presenceService.disconnected("s1");
+            presenceService.disconnected("s1");
+
+            assertTrue(presenceService.isOnline("alice"));
+        }
+
+        @Test
+        @DisplayName("Should Report Unknown Users As Offline Without Last Seen")
+        void presenceOf_ShouldHandleUnknownUsers() {
+            presenceService.connected("alice", "s1");
+
+            assertEquals(List.of(new PresenceResponse("alice", true, null), new PresenceResponse("bob", false, null)),
+                    presenceService.presenceOf(List.of("alice", "bob", "alice")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Clustered")
+    class ClusteredTests {
+
+        @BeforeEach
+        void setUp() {
+            start(clusterSessionRegistry);
+        }
+
+        @Test
+        @DisplayName("Should Count Sessions On Other Instances As Online")
+        void isOnline_ShouldAskClusterRegistry() {
+            when(clusterSessionRegistry.remoteNodesOf("bob")).thenReturn(Set.of("node-2"));
+            when(clusterSessionRegistry.remoteNodesOf("carol")).thenReturn(Set.of());
+
+            assertTrue(presenceService.isOnline("bob"));
+            assertFalse(presenceService.isOnline("carol"));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.dama.wanderwave.user.summary;
+
+import com.dama.wanderwave.user.UserRepository;
+import com.dama.wanderwave.user.response.ShortUserResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserSummaryCache Tests")
+class UserSummaryCacheTest {
+
+    private static final ShortUserResponse ALICE = new ShortUserResponse("alice", "Alice", "alice@mail.com", "alice.png");
+    private static final ShortUserResponse BOB = new ShortUserResponse("bob", "Bob", "bob@mail.com", "bob.png");
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserSummaryCache userSummaryCache;
+
+    @BeforeEach
+    void setUp() {
+        userSummaryCache = new UserSummaryCache(userRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userSummaryCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(userSummaryCache, "expireAfterWrite", Duration.ofMinutes(5));
+        userSummaryCache.init();
+    }
+
+    @Test
+    @DisplayName("Should Load Missing Users With One Query And Serve Them From The Cache After")
+    void getAll_ShouldLoadMissesOnce() {
+        when(userRepository.findShortUsersByIdIn(Set.of("alice", "bob", "ghost"))).thenReturn(List.of(ALICE, BOB));
+
+        assertEquals(Map.of("alice", ALICE, "bob", BOB), userSummaryCache.getAll(List.of("alice", "bob", "ghost")));
+        assertEquals(Map.of("alice", ALICE), userSummaryCache.getAll(List.of("alice")));
+        assertEquals(BOB, userSummaryCache.get("bob"));
+
+        verify(userRepository, times(1)).findShortUsersByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Should Reload A User After Eviction")
+    void evict_ShouldReload() {
+        ShortUserResponse renamed = new ShortUserResponse("alice", "Alicia", "alice@mail.com", "alice.png");
+        when(userRepository.findShortUsersByIdIn(Set.of("alice"))).thenReturn(List.of(ALICE), List.of(renamed));
+
+        assertEquals(ALICE, userSummaryCache.get("alice"));
+        userSummaryCache.evict("alice");
+
+        assertEquals(renamed, userSummaryCache.get("alice"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.dama.wanderwave.utils;
+
+import com.dama.wanderwave.handler.cursor.InvalidCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Cursor Tests")
+class CursorTest {
+
+    @Nested
+    @DisplayName("encode and decode")
+    class EncodeDecodeTests {
+
+        @Test
+        @DisplayName("Should Round Trip Position")
+        void decode_ShouldRestoreEncodedCursor() {
+            Cursor cursor = new Cursor(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000), "AbCd-_0123456789");
+
+            Cursor decoded = Cursor.decode(cursor.encode());
+
+            assertEquals(cursor, decoded);
+        }
+
+        @Test
+        @DisplayName("Should Return First Position For Empty Token")
+        void decode_ShouldReturnFirst_WhenTokenIsEmpty() {
+            assertEquals(Cursor.FIRST, Cursor.decode(""));
+            assertEquals(Cursor.FIRST, Cursor.decode(null));
+        }
+
+        @Test
+        @DisplayName("Should Reject Malformed Token")
+        void decode_ShouldThrow_WhenTokenIsMalformed() {
+            assertThrows(InvalidCursorException.class, () -> Cursor.decode("not a cursor!"));
+            assertThrows(InvalidCursorException.class, () -> Cursor.decode("bm8tc2VwYXJhdG9y"));
+        }
+    }
+
+    @Nested
+    @DisplayName("CursorSlice.of")
+    class SliceTests {
+
+        @Test
+        @DisplayName("Should Expose Next Cursor When Extra Row Is Present")
+        void of_ShouldReturnNextCursor_WhenMoreRowsExist() {
+            LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0);
+            List<Cursor> rows = List.of(new Cursor(now, "c"), new Cursor(now, "b"), new Cursor(now, "a"));
+
+            CursorSlice<String> slice = CursorSlice.of(rows, 2, Function.identity(),
+                    page -> page.stream().map(Cursor::id).toList());
+
+            assertTrue(slice.hasNext());
+            assertEquals(List.of("c", "b"), slice.content());
+            assertEquals(new Cursor(now, "b"), Cursor.decode(slice.nextCursor()));
+        }
+
+        @Test
+        @DisplayName("Should Mark Last Slice")
+        void of_ShouldReturnNoCursor_WhenLastSlice() {
+            LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0);
+            List<Cursor> rows = List.of(new Cursor(now, "a"));
+
+            CursorSlice<String> slice = CursorSlice.of(rows, 2, Function.identity(),
+                    page -> page.stream().map(Cursor::id).toList());
+
+            assertFalse(slice.hasNext());
+            assertNull(slice.nextCursor());
+            assertEquals(List.of("a"), slice.content());
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.dama.wanderwave.websocket;
 
+import com.dama.wanderwave.security.AccountState;
+import com.dama.wanderwave.security.AccountStateCache;
 import com.dama.wanderwave.security.JwtService;
+import com.dama.wanderwave.security.ValidatedToken;
+import io.jsonwebtoken.ExpiredJwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -11,14 +15,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.MessageBuilder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 
-import java.util.Collections;
-import java.util.HashMap;
+import java.time.Instant;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -27,6 +30,8 @@ import static org.mockito.Mockito.*;
 @DisplayName("AuthChannelInterceptor Tests")
 class AuthChannelInterceptorTest {
 
+    private static final String EMAIL = "testUser@mail.com";
+
     @InjectMocks
     private AuthChannelInterceptor authChannelInterceptor;
 
@@ -34,96 +39,113 @@ class AuthChannelInterceptorTest {
     private JwtService jwtService;
 
     @Mock
-    private UserDetailsService userDetailsService;
+    private AccountStateCache accountStateCache;
 
-    private Message<?> message;
     private MessageChannel channel;
-    private UserDetails userDetails;
+    private ValidatedToken validToken;
 
     @BeforeEach
     void setUp() {
-        Map<String, List<String>> nativeHeaders = new HashMap<>();
-        nativeHeaders.put("Authorization", Collections.singletonList("Bearer validToken"));
-
-        message = MessageBuilder.withPayload("testPayload")
-                .setHeader("nativeHeaders", nativeHeaders)
-                .build();
         channel = mock(MessageChannel.class);
-        userDetails = mock(UserDetails.class);
+        validToken = new ValidatedToken(EMAIL, Instant.now().plusSeconds(60), List.of("ROLE_USER"));
+    }
+
+    private Message<byte[]> frame(StompCommand command, String authHeader, StompPrincipal user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setSessionId("session-1");
+        if (authHeader != null) {
+            accessor.addNativeHeader("Authorization", authHeader);
+        }
+        accessor.setUser(user);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
     }
 
     @Nested
-    @DisplayName("preSend Method")
-    class PreSendTests {
+    @DisplayName("CONNECT Frame")
+    class ConnectTests {
 
         @Test
-        @DisplayName("Should authenticate and return message if token is valid")
-        void preSendShouldAuthenticateAndReturnMessage() {
-            when(jwtService.extractUsername("validToken")).thenReturn("testUser");
-            when(userDetailsService.loadUserByUsername("testUser")).thenReturn(userDetails);
-            when(jwtService.isTokenValid("validToken", userDetails)).thenReturn(true);
+        @DisplayName("Should bind principal named by user id if token is valid")
+        void preSendShouldBindPrincipal() {
+            when(jwtService.validate("validToken")).thenReturn(validToken);
+            when(accountStateCache.get(EMAIL)).thenReturn(Optional.of(new AccountState("user-1", EMAIL, false, true)));
 
-            Message<?> result = authChannelInterceptor.preSend(message, channel);
+            Message<?> result = authChannelInterceptor.preSend(frame(StompCommand.CONNECT, "Bearer validToken", null), channel);
 
             assertThat(result).isNotNull();
-            assertThat(result).isEqualTo(message);
-            verify(jwtService, times(1)).extractUsername("validToken");
-            verify(userDetailsService, times(1)).loadUserByUsername("testUser");
-            verify(jwtService, times(1)).isTokenValid("validToken", userDetails);
+            assertThat(StompHeaderAccessor.wrap(result).getUser()).isEqualTo(new StompPrincipal("user-1"));
         }
 
         @Test
         @DisplayName("Should return null if token is invalid")
         void preSendShouldReturnNullIfTokenIsInvalid() {
-            when(jwtService.extractUsername("validToken")).thenReturn("testUser");
-            when(userDetailsService.loadUserByUsername("testUser")).thenReturn(userDetails);
-            when(jwtService.isTokenValid("validToken", userDetails)).thenReturn(false);
+            when(jwtService.validate("validToken")).thenThrow(new ExpiredJwtException(null, null, "expired"));
+
+            Message<?> result = authChannelInterceptor.preSend(frame(StompCommand.CONNECT, "Bearer validToken", null), channel);
 
-            Message<?> result = authChannelInterceptor.preSend(message, channel);
+            assertThat(result).isNull();
+            verifyNoInteractions(accountStateCache);
+        }
+
+        @Test
+        @DisplayName("Should return null if account is locked")
+        void preSendShouldReturnNullIfAccountIsLocked() {
+            when(jwtService.validate("validToken")).thenReturn(validToken);
+            when(accountStateCache.get(EMAIL)).thenReturn(Optional.of(new AccountState("user-1", EMAIL, true, true)));
+
+            Message<?> result = authChannelInterceptor.preSend(frame(StompCommand.CONNECT, "Bearer validToken", null), channel);
 
             assertThat(result).isNull();
-            verify(userDetailsService, times(1)).loadUserByUsername("testUser");
-            verify(jwtService, times(1)).isTokenValid("validToken", userDetails);
         }
 
         @Test
         @DisplayName("Should return null if auth header is missing")
         void preSendShouldReturnNullIfAuthHeaderIsMissing() {
-            Message<?> messageWithoutAuthHeader = MessageBuilder.withPayload("testPayload").build();
-
-            Message<?> result = authChannelInterceptor.preSend(messageWithoutAuthHeader, channel);
+            Message<?> result = authChannelInterceptor.preSend(frame(StompCommand.CONNECT, null, null), channel);
 
             assertThat(result).isNull();
-            verifyNoInteractions(jwtService, userDetailsService);
+            verifyNoInteractions(jwtService, accountStateCache);
         }
 
         @Test
         @DisplayName("Should return null if auth header does not start with 'Bearer '")
         void preSendShouldReturnNullIfAuthHeaderDoesNotStartWithBearer() {
-            Map<String, List<String>> nativeHeaders = new HashMap<>();
-            nativeHeaders.put("Authorization", Collections.singletonList("InvalidToken"));
+            Message<?> result = authChannelInterceptor.preSend(frame(StompCommand.CONNECT, "InvalidToken", null), channel);
 
-            Message<?> messageWithInvalidHeader = MessageBuilder.withPayload("testPayload")
-                    .setHeader("nativeHeaders", nativeHeaders)
-                    .build();
+            assertThat(result).isNull();
+            verifyNoInteractions(jwtService, accountStateCache);
+        }
+    }
 
-            Message<?> result = authChannelInterceptor.preSend(messageWithInvalidHeader, channel);
+    @Nested
+    @DisplayName("Frames After CONNECT")
+    class SessionFrameTests {
 
-            assertThat(result).isNull();
-            verifyNoInteractions(jwtService, userDetailsService);
+        @Test
+        @DisplayName("Should pass SEND frame of authenticated session without checking the token")
+        void preSendShouldPassAuthenticatedSend() {
+            Message<byte[]> send = frame(StompCommand.SEND, "Bearer validToken", new StompPrincipal("user-1"));
+
+            Message<?> result = authChannelInterceptor.preSend(send, channel);
+
+            assertThat(result).isSameAs(send);
+            verifyNoInteractions(jwtService, accountStateCache);
         }
 
         @Test
-        @DisplayName("Should return null if user details are null")
-        void preSendShouldReturnNullIfUserDetailsAreNull() {
-            when(jwtService.extractUsername("validToken")).thenReturn("testUser");
-            when(userDetailsService.loadUserByUsername("testUser")).thenReturn(null);
+        @DisplayName("Should return null for SEND and SUBSCRIBE frames of unauthenticated session")
+        void preSendShouldRejectUnauthenticatedFrames() {
+            assertThat(authChannelInterceptor.preSend(frame(StompCommand.SEND, null, null), channel)).isNull();
+            assertThat(authChannelInterceptor.preSend(frame(StompCommand.SUBSCRIBE, null, null), channel)).isNull();
+        }
 
-            Message<?> result = authChannelInterceptor.preSend(message, channel);
+        @Test
+        @DisplayName("Should pass DISCONNECT frame of unauthenticated session")
+        void preSendShouldPassDisconnect() {
+            Message<byte[]> disconnect = frame(StompCommand.DISCONNECT, null, null);
 
-            assertThat(result).isNull();
-            verify(userDetailsService, times(1)).loadUserByUsername("testUser");
-            verifyNoMoreInteractions(jwtService);
+            assertThat(authChannelInterceptor.preSend(disconnect, channel)).isSameAs(disconnect);
         }
     }
-}
\ No newline at end of file
+}
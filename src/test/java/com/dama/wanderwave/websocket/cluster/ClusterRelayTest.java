@@ -0,0 +1,162 @@
+package com.dama.wanderwave.websocket.cluster;
+
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Cluster Relay Tests")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ClusterRelayTest {
+
+    private static final String DESTINATION = "/user/bob/queue/messages";
+
+    private Node first;
+    private Node second;
+
+    private static final class Node {
+        final HazelcastInstance hazelcast;
+        final ClusterSessionRegistry registry;
+        final ClusterRelayInterceptor interceptor;
+        final ClusterRelayReceiver receiver;
+        final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+
+        Node(String clusterName) {
+            hazelcast = Hazelcast.newHazelcastInstance(ClusterConfig.hazelcastConfig(clusterName, List.of("127.0.0.1"), 5701));
+            registry = new ClusterSessionRegistry(hazelcast);
+            registry.init();
+            interceptor = new ClusterRelayInterceptor(registry, hazelcast);
+            receiver = new ClusterRelayReceiver(hazelcast, registry, messagingTemplate);
+            receiver.subscribe();
+        }
+
+        void shutdown() {
+            receiver.unsubscribe();
+            registry.shutdown();
+            hazelcast.shutdown();
+        }
+    }
+
+    @BeforeAll
+    void startCluster() {
+        String clusterName = "relay-test-" + UUID.randomUUID();
+        first = new Node(clusterName);
+        second = new Node(clusterName);
+        assertEquals(2, first.hazelcast.getCluster().getMembers().size());
+    }
+
+    @AfterAll
+    void stopCluster() {
+        second.shutdown();
+        first.shutdown();
+    }
+
+    @BeforeEach
+    void resetTemplates() {
+        reset(first.messagingTemplate, second.messagingTemplate);
+    }
+
+    private Message<byte[]> userMessage(String destination, boolean relayed) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (relayed) {
+            accessor.setHeader(ClusterRelayInterceptor.RELAYED_HEADER, true);
+        }
+        return MessageBuilder.createMessage("{\"content\":\"Hello\"}".getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+
+    @Test
+    @DisplayName("Should Relay A User Message Only To The Member Holding The Session")
+    void preSend_ShouldRelayToSessionMember() {
+        second.registry.register("bob", "session-1");
+        try {
+            Message<byte[]> message = userMessage(DESTINATION, false);
+
+            assertSame(message, first.interceptor.preSend(message, mock(MessageChannel.class)));
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<Message<byte[]>> relayed = ArgumentCaptor.forClass(Message.class);
+            verify(second.messagingTemplate, timeout(5000)).send(eq(DESTINATION), relayed.capture());
+            assertArrayEquals(message.getPayload(), relayed.getValue().getPayload());
+            assertEquals(true, relayed.getValue().getHeaders().get(ClusterRelayInterceptor.RELAYED_HEADER));
+            assertEquals(MimeTypeUtils.APPLICATION_JSON.toString(),
+                    String.valueOf(relayed.getValue().getHeaders().get(MessageHeaders.CONTENT_TYPE)));
+            verify(first.messagingTemplate, after(200).never()).send(anyString(), any(Message.class));
+        } finally {
+            second.registry.unregister("bob", "session-1");
+        }
+    }
+
+    @Test
+    @DisplayName("Should Not Relay When The User Has No Session On Another Member")
+    void preSend_ShouldNotRelayLocalOrUnknownUser() {
+        first.registry.register("bob", "session-2");
+        try {
+            assertEquals(Set.of(), first.registry.remoteNodesOf("bob"));
+            first.interceptor.preSend(userMessage(DESTINATION, false), mock(MessageChannel.class));
+            first.interceptor.preSend(userMessage("/user/nobody/queue/messages", false), mock(MessageChannel.class));
+
+            verify(second.messagingTemplate, after(300).never()).send(anyString(), any(Message.class));
+        } finally {
+            first.registry.unregister("bob", "session-2");
+        }
+    }
+
+    @Test
+    @DisplayName("Should Not Relay A Message That Arrived From Another Member")
+    void preSend_ShouldNotRelayTwice() {
+        first.registry.register("bob", "session-3");
+        try {
+            second.interceptor.preSend(userMessage(DESTINATION, true), mock(MessageChannel.class));
+
+            verify(first.messagingTemplate, after(300).never()).send(anyString(), any(Message.class));
+        } finally {
+            first.registry.unregister("bob", "session-3");
+        }
+    }
+
+    @Test
+    @DisplayName("Should Forget Sessions Once They Disconnect")
+    void unregister_ShouldRemoveSession() {
+        second.registry.register("bob", "session-4");
+        assertEquals(Set.of(second.registry.nodeId()), first.registry.remoteNodesOf("bob"));
+
+        second.registry.unregister("bob", "session-4");
+
+        assertTrue(first.registry.remoteNodesOf("bob").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should Drop Sessions Of A Member That Leaves The Cluster")
+    void memberRemoved_ShouldPurgeSessions() throws InterruptedException {
+        Node third = new Node(first.hazelcast.getConfig().getClusterName());
+        third.registry.register("bob", "session-5");
+        assertEquals(Set.of(third.registry.nodeId()), first.registry.remoteNodesOf("bob"));
+
+        third.hazelcast.getLifecycleService().terminate();
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!first.registry.remoteNodesOf("bob").isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(first.registry.remoteNodesOf("bob").isEmpty());
+    }
+}
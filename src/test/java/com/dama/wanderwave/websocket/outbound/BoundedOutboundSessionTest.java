@@ -0,0 +1,222 @@
+package com.dama.wanderwave.websocket.outbound;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("BoundedOutboundSession Tests")
+class BoundedOutboundSessionTest {
+
+    private static final Map<FrameClass, OverflowPolicy> POLICIES = Map.of(
+            FrameClass.CHAT, OverflowPolicy.DISCONNECT,
+            FrameClass.NOTIFICATION, OverflowPolicy.DROP_OLDEST,
+            FrameClass.OTHER, OverflowPolicy.DISCONNECT);
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private SessionClassMeters meters;
+    private WebSocketSession delegate;
+    private CountDownLatch release;
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        executor = Executors.newSingleThreadExecutor();
+        meterRegistry = new SimpleMeterRegistry();
+        meters = SessionClassMeters.register(meterRegistry, "websocket");
+        release = new CountDownLatch(1);
+        delegate = mock(WebSocketSession.class);
+        when(delegate.getId()).thenReturn("session-1");
+        doAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            TextMessage message = invocation.getArgument(0);
+            sent.add(message.getPayload());
+            return null;
+        }).when(delegate).sendMessage(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    private BoundedOutboundSession session(int capacity, long sendTimeLimitMs) {
+        return new BoundedOutboundSession(delegate, executor, capacity, sendTimeLimitMs, POLICIES, meters);
+    }
+
+    private static TextMessage frame(String destination, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\ncontent-type:application/json\n\n" + body + "\u0000");
+    }
+
+    private static TextMessage notification(String body) {
+        return frame("/user/queue/notifications", body);
+    }
+
+    private static TextMessage chat(String body) {
+        return frame("/user/queue/messages", body);
+    }
+
+    private void awaitSending() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (mockingDetails(delegate).getInvocations().stream().noneMatch(i -> i.getMethod().getName().equals("sendMessage"))
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitSent(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (sent.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).tag("session.class", "websocket").counter().count();
+    }
+
+    @Nested
+    @DisplayName("Overflow Tests")
+    class OverflowTests {
+
+        @Test
+        @DisplayName("Should Drop The Oldest Queued Notification When The Queue Is Full")
+        void sendMessage_ShouldDropOldestNotification() throws Exception {
+            BoundedOutboundSession session = session(2, 10_000);
+            session.sendMessage(notification("n0"));
+            awaitSending();
+
+            session.sendMessage(notification("n1"));
+            session.sendMessage(notification("n2"));
+            session.sendMessage(notification("n3"));
+            assertEquals(2, session.queued());
+
+            release.countDown();
+            awaitSent(3);
+
+            assertEquals(3, sent.size());
+            assertTrue(sent.get(1).contains("n2"));
+            assertTrue(sent.get(2).contains("n3"));
+            assertEquals(1, counter("websocket.outbound.dropped"));
+            verify(delegate, never()).close(any());
+        }
+
+        @Test
+        @DisplayName("Should Make Room For Chat By Dropping A Queued Notification")
+        void sendMessage_ShouldEvictNotificationForChat() throws Exception {
+            BoundedOutboundSession session = session(2, 10_000);
+            session.sendMessage(chat("c0"));
+            awaitSending();
+
+            session.sendMessage(notification("n1"));
+            session.sendMessage(chat("c1"));
+            session.sendMessage(chat("c2"));
+
+            release.countDown();
+            awaitSent(3);
+
+            assertEquals(3, sent.size());
+            assertTrue(sent.get(1).contains("c1"));
+            assertTrue(sent.get(2).contains("c2"));
+            assertEquals(1, counter("websocket.outbound.dropped"));
+            verify(delegate, never()).close(any());
+        }
+
+        @Test
+        @DisplayName("Should Disconnect When Chat Overflows A Queue Holding Only Chat")
+        void sendMessage_ShouldDisconnectOnChatOverflow() throws Exception {
+            BoundedOutboundSession session = session(2, 10_000);
+            session.sendMessage(chat("c0"));
+            awaitSending();
+
+            session.sendMessage(chat("c1"));
+            session.sendMessage(chat("c2"));
+            session.sendMessage(chat("c3"));
+            session.sendMessage(chat("c4"));
+
+            verify(delegate).close(CloseStatus.SESSION_NOT_RELIABLE);
+            assertEquals(0, session.queued());
+            assertEquals(1, counter("websocket.outbound.disconnects"));
+
+            release.countDown();
+            awaitSent(1);
+            Thread.sleep(50);
+            assertEquals(1, sent.size());
+        }
+
+        @Test
+        @DisplayName("Should Drop An Incoming Notification When The Queue Holds Only Chat")
+        void sendMessage_ShouldDropIncomingNotification() throws Exception {
+            BoundedOutboundSession session = session(1, 10_000);
+            session.sendMessage(chat("c0"));
+            awaitSending();
+
+            session.sendMessage(chat("c1"));
+            session.sendMessage(notification("n1"));
+
+            assertEquals(1, session.queued());
+            assertEquals(1, counter("websocket.outbound.dropped"));
+            verify(delegate, never()).close(any());
+        }
+    }
+
+    @Test
+    @DisplayName("Should Disconnect When A Send Is Blocked Beyond The Time Limit")
+    void sendMessage_ShouldDisconnectOnStall() throws Exception {
+        BoundedOutboundSession session = session(16, 20);
+        session.sendMessage(notification("n0"));
+        awaitSending();
+        Thread.sleep(50);
+
+        session.sendMessage(notification("n1"));
+
+        verify(delegate).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals(1, counter("websocket.outbound.disconnects"));
+    }
+
+    @Test
+    @DisplayName("Should Return Queued Frames To The Gauge When Discarded")
+    void discard_ShouldResetGauge() throws Exception {
+        BoundedOutboundSession session = session(16, 10_000);
+        session.sendMessage(notification("n0"));
+        awaitSending();
+        session.sendMessage(notification("n1"));
+        session.sendMessage(notification("n2"));
+        assertEquals(2, meterRegistry.get("websocket.outbound.queued").gauge().value());
+
+        session.discard();
+        session.sendMessage(notification("n3"));
+
+        assertEquals(0, meterRegistry.get("websocket.outbound.queued").gauge().value());
+        assertEquals(0, session.queued());
+    }
+
+    @Test
+    @DisplayName("Should Classify Frames By Their Destination Header")
+    void frameClass_ShouldParseDestination() {
+        assertEquals(FrameClass.NOTIFICATION, FrameClass.of(notification("{}")));
+        assertEquals(FrameClass.NOTIFICATION, FrameClass.of(frame("/user/queue/notifications/batch", "{}")));
+        assertEquals(FrameClass.CHAT, FrameClass.of(chat("{}")));
+        assertEquals(FrameClass.OTHER, FrameClass.of(frame("/user/queue/receipts", "{}")));
+        assertEquals(FrameClass.OTHER, FrameClass.of(new TextMessage("MESSAGE\n\ndestination:/user/queue/messages\n")));
+        WebSocketMessage<?> binary = new BinaryMessage(new byte[]{1});
+        assertEquals(FrameClass.OTHER, FrameClass.of(binary));
+    }
+}